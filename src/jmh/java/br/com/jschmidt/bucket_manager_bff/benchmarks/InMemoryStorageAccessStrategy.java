@@ -0,0 +1,139 @@
+package br.com.jschmidt.bucket_manager_bff.benchmarks;
+
+import br.com.jschmidt.bucket_manager_bff.enums.CloudProviderEnum;
+import br.com.jschmidt.bucket_manager_bff.exceptions.FileNotFoundException;
+import br.com.jschmidt.bucket_manager_bff.models.BucketFileModel;
+import br.com.jschmidt.bucket_manager_bff.models.BucketFilePageModel;
+import br.com.jschmidt.bucket_manager_bff.models.DeleteFailureModel;
+import br.com.jschmidt.bucket_manager_bff.models.FileListingRequestModel;
+import br.com.jschmidt.bucket_manager_bff.models.ResourceDownloadModel;
+import br.com.jschmidt.bucket_manager_bff.models.ResourceUploadModel;
+import br.com.jschmidt.bucket_manager_bff.services.strategies.StorageAccessStrategy;
+import org.springframework.http.MediaType;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Keeps objects in memory so the benchmarks measure the BFF code paths instead of the network.
+ * Uploads are drained and discarded to keep the heap flat across iterations.
+ */
+public class InMemoryStorageAccessStrategy implements StorageAccessStrategy {
+
+    private static final Instant LAST_MODIFIED = Instant.parse("2025-01-01T10:00:00Z");
+
+    private final CloudProviderEnum cloudProvider;
+    private final Map<String, byte[]> objects = new ConcurrentHashMap<>();
+
+    public InMemoryStorageAccessStrategy(CloudProviderEnum cloudProvider) {
+        this.cloudProvider = cloudProvider;
+    }
+
+    public void put(String fileName, byte[] content) {
+        objects.put(fileName, content);
+    }
+
+    @Override
+    public CloudProviderEnum getCloudProviderType() {
+        return cloudProvider;
+    }
+
+    @Override
+    public List<BucketFileModel> getFilesFromBucket(String bucketName) {
+        return streamFilesFromBucket(bucketName, null).toList();
+    }
+
+    @Override
+    public BucketFilePageModel getFilesPageFromBucket(String bucketName, FileListingRequestModel listingRequest) {
+        return BucketFilePageModel.builder()
+                .files(streamFilesFromBucket(bucketName, listingRequest.getPrefix())
+                        .limit(listingRequest.getPageSize())
+                        .toList())
+                .build();
+    }
+
+    @Override
+    public Stream<BucketFileModel> streamFilesFromBucket(String bucketName, String prefix) {
+        return objects.entrySet().stream()
+                .filter(entry -> prefix == null || entry.getKey().startsWith(prefix))
+                .map(entry -> toBucketFileModel(bucketName, entry.getKey(), entry.getValue()));
+    }
+
+    @Override
+    public String generatePresignedUrl(String bucketName, String fileName) {
+        return "https://%s.storage.example.com/%s?signature=benchmark".formatted(bucketName, fileName);
+    }
+
+    @Override
+    public ResourceDownloadModel downloadFile(String bucketName, String fileName) {
+        byte[] content = objects.get(fileName);
+        if (content == null) {
+            throw new FileNotFoundException(fileName);
+        }
+        return ResourceDownloadModel.builder()
+                .content(() -> new ByteArrayInputStream(content))
+                .rangedContent((start, end) ->
+                        new ByteArrayInputStream(content, (int) start, (int) (end - start + 1)))
+                .contentLength((long) content.length)
+                .contentType(MediaType.APPLICATION_OCTET_STREAM_VALUE)
+                .etag("\"" + Integer.toHexString(content.length) + "\"")
+                .lastModified(LAST_MODIFIED)
+                .fileName(fileName)
+                .build();
+    }
+
+    @Override
+    public BucketFileModel uploadFile(ResourceUploadModel upload, String bucketName) {
+        try (InputStream inputStream = upload.getContent().getInputStream()) {
+            long size = inputStream.transferTo(OutputStream.nullOutputStream());
+            return BucketFileModel.builder()
+                    .fileName(upload.getFileName())
+                    .fileSize(size)
+                    .bucketName(bucketName)
+                    .cloudProvider(cloudProvider)
+                    .build();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public BucketFileModel copyFile(String sourceBucketName, String sourceFileName, String bucketName,
+                                    String fileName) {
+        byte[] content = objects.get(sourceFileName);
+        if (content == null) {
+            throw new FileNotFoundException(sourceFileName);
+        }
+        objects.put(fileName, content);
+        return toBucketFileModel(bucketName, fileName, content);
+    }
+
+    @Override
+    public int getDeleteBatchSize() {
+        return 1000;
+    }
+
+    @Override
+    public List<DeleteFailureModel> deleteFiles(String bucketName, List<String> fileNames) {
+        fileNames.forEach(objects::remove);
+        return List.of();
+    }
+
+    private BucketFileModel toBucketFileModel(String bucketName, String fileName, byte[] content) {
+        return BucketFileModel.builder()
+                .fileName(fileName)
+                .fileSize((long) content.length)
+                .bucketName(bucketName)
+                .cloudProvider(cloudProvider)
+                .lastModified(LAST_MODIFIED)
+                .build();
+    }
+}
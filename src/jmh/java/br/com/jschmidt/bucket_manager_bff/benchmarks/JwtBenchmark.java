@@ -0,0 +1,57 @@
+package br.com.jschmidt.bucket_manager_bff.benchmarks;
+
+import br.com.jschmidt.bucket_manager_bff.security.jwt.CachingJwtDecoder;
+import br.com.jschmidt.bucket_manager_bff.security.jwt.JwtUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtBenchmark {
+
+    private static final String SECRET = "benchmark-secret-of-at-least-256-bits!";
+
+    private JwtUtil jwtUtil;
+    private JwtDecoder verifyingDecoder;
+    private CachingJwtDecoder cachingDecoder;
+    private TestingAuthenticationToken authentication;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil(SECRET, 3_600_000);
+        verifyingDecoder = NimbusJwtDecoder.withSecretKey(new SecretKeySpec(SECRET.getBytes(), "HmacSHA256")).build();
+        cachingDecoder = new CachingJwtDecoder(jwtUtil, 10_000);
+        authentication = new TestingAuthenticationToken("user@example.com", null);
+        token = jwtUtil.generateJwtToken(authentication);
+        cachingDecoder.decode(token);
+    }
+
+    @Benchmark
+    public String sign() {
+        return jwtUtil.generateJwtToken(authentication);
+    }
+
+    @Benchmark
+    public Jwt verify() {
+        return verifyingDecoder.decode(token);
+    }
+
+    @Benchmark
+    public Jwt verifyCached() {
+        return cachingDecoder.decode(token);
+    }
+}
@@ -0,0 +1,62 @@
+package br.com.jschmidt.bucket_manager_bff.benchmarks;
+
+import br.com.jschmidt.bucket_manager_bff.controllers.support.NdjsonResponseFactory;
+import br.com.jschmidt.bucket_manager_bff.enums.CloudProviderEnum;
+import br.com.jschmidt.bucket_manager_bff.models.BucketFileModel;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ListingSerializationBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int entries;
+
+    private ObjectMapper objectMapper;
+    private NdjsonResponseFactory ndjsonResponseFactory;
+    private List<BucketFileModel> files;
+
+    @Setup
+    public void setUp() {
+        objectMapper = JsonMapper.builder().findAndAddModules().build();
+        ndjsonResponseFactory = new NdjsonResponseFactory(objectMapper);
+        Instant lastModified = Instant.parse("2025-01-01T10:00:00Z");
+        files = IntStream.range(0, entries)
+                .mapToObj(i -> BucketFileModel.builder()
+                        .fileName("logs/2025/01/01/build-%07d.log".formatted(i))
+                        .fileSize(1024L * i)
+                        .bucketName("benchmark-bucket")
+                        .cloudProvider(CloudProviderEnum.AWS)
+                        .lastModified(lastModified)
+                        .etag("\"9b2cf535f27731c974343645a3985328\"")
+                        .build())
+                .toList();
+    }
+
+    @Benchmark
+    public void jsonArray() throws IOException {
+        objectMapper.writeValue(OutputStream.nullOutputStream(), files);
+    }
+
+    @Benchmark
+    public void ndjson() throws IOException {
+        ndjsonResponseFactory.create(files.stream()).getBody().writeTo(OutputStream.nullOutputStream());
+    }
+}
@@ -0,0 +1,70 @@
+package br.com.jschmidt.bucket_manager_bff.benchmarks;
+
+import br.com.jschmidt.bucket_manager_bff.configuration.ParallelDownloadProperties;
+import br.com.jschmidt.bucket_manager_bff.enums.CloudProviderEnum;
+import br.com.jschmidt.bucket_manager_bff.models.BucketFileModel;
+import br.com.jschmidt.bucket_manager_bff.models.ResourceDownloadModel;
+import br.com.jschmidt.bucket_manager_bff.services.StorageService;
+import br.com.jschmidt.bucket_manager_bff.services.cache.DiskObjectCache;
+import br.com.jschmidt.bucket_manager_bff.services.cache.ListingCache;
+import br.com.jschmidt.bucket_manager_bff.services.cache.PresignedUrlCache;
+import br.com.jschmidt.bucket_manager_bff.services.transfer.ParallelRangedDownloader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class StorageServiceBenchmark {
+
+    private static final String BUCKET = "benchmark-bucket";
+
+    @Param({"true", "false"})
+    private boolean cacheEnabled;
+
+    private StorageService storageService;
+
+    @Setup
+    public void setUp() {
+        InMemoryStorageAccessStrategy aws = new InMemoryStorageAccessStrategy(CloudProviderEnum.AWS);
+        InMemoryStorageAccessStrategy gcp = new InMemoryStorageAccessStrategy(CloudProviderEnum.GCP);
+        for (int i = 0; i < 1000; i++) {
+            aws.put("logs/file-%04d.log".formatted(i), new byte[1024]);
+        }
+        storageService = new StorageService(Set.of(aws, gcp),
+                new ListingCache(cacheEnabled, Duration.ofMinutes(1), 100_000),
+                new PresignedUrlCache(cacheEnabled, Duration.ofMinutes(2), 10_000),
+                new ParallelRangedDownloader(new ParallelDownloadProperties(), ForkJoinPool.commonPool()),
+                new DiskObjectCache(false, Path.of("unused"), DataSize.ofMegabytes(1), DataSize.ofMegabytes(1),
+                        Duration.ZERO));
+    }
+
+    @Benchmark
+    public List<BucketFileModel> listFiles() {
+        return storageService.getFilesFromBucket(CloudProviderEnum.AWS, BUCKET);
+    }
+
+    @Benchmark
+    public ResourceDownloadModel downloadMetadata() {
+        return storageService.downloadFile(CloudProviderEnum.AWS, BUCKET, "logs/file-0042.log");
+    }
+
+    @Benchmark
+    public String presignedUrl() {
+        return storageService.generatePresignedUrl(CloudProviderEnum.AWS, BUCKET, "logs/file-0042.log");
+    }
+}
@@ -0,0 +1,89 @@
+package br.com.jschmidt.bucket_manager_bff.benchmarks;
+
+import br.com.jschmidt.bucket_manager_bff.configuration.ParallelDownloadProperties;
+import br.com.jschmidt.bucket_manager_bff.controllers.support.DownloadResponseFactory;
+import br.com.jschmidt.bucket_manager_bff.enums.CloudProviderEnum;
+import br.com.jschmidt.bucket_manager_bff.models.BucketFileModel;
+import br.com.jschmidt.bucket_manager_bff.models.ResourceUploadModel;
+import br.com.jschmidt.bucket_manager_bff.services.StorageService;
+import br.com.jschmidt.bucket_manager_bff.services.cache.DiskObjectCache;
+import br.com.jschmidt.bucket_manager_bff.services.cache.ListingCache;
+import br.com.jschmidt.bucket_manager_bff.services.cache.PresignedUrlCache;
+import br.com.jschmidt.bucket_manager_bff.services.transfer.ParallelRangedDownloader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TransferBenchmark {
+
+    private static final String BUCKET = "benchmark-bucket";
+    private static final String FILE_NAME = "payload.bin";
+
+    // The largest size goes over the default 64MB threshold and is read as parallel ranges.
+    @Param({"64KB", "16MB", "128MB"})
+    private String size;
+
+    private ExecutorService transferExecutor;
+    private StorageService storageService;
+    private DownloadResponseFactory downloadResponseFactory;
+    private byte[] payload;
+
+    @Setup
+    public void setUp() {
+        payload = new byte[Math.toIntExact(DataSize.parse(size).toBytes())];
+        InMemoryStorageAccessStrategy aws = new InMemoryStorageAccessStrategy(CloudProviderEnum.AWS);
+        aws.put(FILE_NAME, payload);
+        transferExecutor = Executors.newFixedThreadPool(16);
+        storageService = new StorageService(Set.of(aws),
+                new ListingCache(false, Duration.ofMinutes(1), 1),
+                new PresignedUrlCache(false, Duration.ofMinutes(2), 1),
+                new ParallelRangedDownloader(new ParallelDownloadProperties(), transferExecutor),
+                new DiskObjectCache(false, Path.of("unused"), DataSize.ofMegabytes(1), DataSize.ofMegabytes(1),
+                        Duration.ZERO));
+        downloadResponseFactory = new DownloadResponseFactory(DataSize.ofKilobytes(64));
+    }
+
+    @TearDown
+    public void tearDown() {
+        transferExecutor.shutdownNow();
+    }
+
+    @Benchmark
+    public void download() throws IOException {
+        downloadResponseFactory.create(storageService.downloadFile(CloudProviderEnum.AWS, BUCKET, FILE_NAME),
+                        new HttpHeaders())
+                .getBody()
+                .writeTo(OutputStream.nullOutputStream());
+    }
+
+    @Benchmark
+    public BucketFileModel upload() {
+        return storageService.uploadFile(CloudProviderEnum.AWS, BUCKET, ResourceUploadModel.builder()
+                .content(() -> new ByteArrayInputStream(payload))
+                .contentLength((long) payload.length)
+                .fileName(FILE_NAME)
+                .contentType("application/octet-stream")
+                .build());
+    }
+}
@@ -0,0 +1,54 @@
+package br.com.jschmidt.bucket_manager_bff.configuration;
+
+import software.amazon.awssdk.http.HttpMetric;
+import software.amazon.awssdk.metrics.MetricCollection;
+import software.amazon.awssdk.metrics.MetricPublisher;
+import software.amazon.awssdk.metrics.MetricRecord;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The AWS SDK does not expose its connection manager, it reports the pool state with every request instead.
+ * This keeps the latest report so it can be read by {@link ConnectionPoolGauges}.
+ */
+class AwsConnectionPoolMetrics implements MetricPublisher, ConnectionPoolGauges.PoolState {
+
+    private final AtomicLong leased = new AtomicLong();
+    private final AtomicLong available = new AtomicLong();
+    private final AtomicLong pending = new AtomicLong();
+
+    @Override
+    public void publish(MetricCollection metricCollection) {
+        for (MetricRecord<?> metricRecord : metricCollection) {
+            if (metricRecord.value() instanceof Number value) {
+                if (metricRecord.metric() == HttpMetric.LEASED_CONCURRENCY) {
+                    leased.set(value.longValue());
+                } else if (metricRecord.metric() == HttpMetric.AVAILABLE_CONCURRENCY) {
+                    available.set(value.longValue());
+                } else if (metricRecord.metric() == HttpMetric.PENDING_CONCURRENCY_ACQUIRES) {
+                    pending.set(value.longValue());
+                }
+            }
+        }
+        metricCollection.children().forEach(this::publish);
+    }
+
+    @Override
+    public void close() {
+    }
+
+    @Override
+    public long leased() {
+        return leased.get();
+    }
+
+    @Override
+    public long available() {
+        return available.get();
+    }
+
+    @Override
+    public long pending() {
+        return pending.get();
+    }
+}
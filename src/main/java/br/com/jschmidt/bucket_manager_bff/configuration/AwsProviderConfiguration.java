@@ -1,37 +1,94 @@
 package br.com.jschmidt.bucket_manager_bff.configuration;
 
+import br.com.jschmidt.bucket_manager_bff.enums.CloudProviderEnum;
+import br.com.jschmidt.bucket_manager_bff.enums.HttpClientTypeEnum;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBooleanProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
 import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.http.apache.ApacheHttpClient;
+import software.amazon.awssdk.http.urlconnection.UrlConnectionHttpClient;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3ClientBuilder;
+import software.amazon.awssdk.services.s3.S3Configuration;
 import software.amazon.awssdk.services.s3.presigner.S3Presigner;
 
+import java.net.URI;
+
 @Configuration
 @ConditionalOnBooleanProperty(name = "cloud.aws.enabled", havingValue = true, matchIfMissing = false)
+@EnableConfigurationProperties(ProviderTransportProperties.class)
 public class AwsProviderConfiguration {
 
     @Bean
     public S3Client s3Client(@Value("${cloud.aws.region}") String region,
                              @Value("${cloud.aws.credentials.access-key}") String accessKey,
-                             @Value("${cloud.aws.credentials.secret-key}") String accessSecretKey) {
-        return S3Client
+                             @Value("${cloud.aws.credentials.secret-key}") String accessSecretKey,
+                             @Value("${cloud.aws.endpoint:}") String endpoint,
+                             ProviderTransportProperties transportProperties,
+                             MeterRegistry meterRegistry) {
+        ProviderTransportProperties.Settings transport = transportProperties.getAws();
+        AwsConnectionPoolMetrics poolMetrics = new AwsConnectionPoolMetrics();
+        ConnectionPoolGauges.register(meterRegistry, CloudProviderEnum.AWS, transport,
+                transport.getClient() == HttpClientTypeEnum.APACHE ? poolMetrics : null);
+
+        S3ClientBuilder builder = S3Client
                 .builder()
                 .region(Region.of(region))
                 .credentialsProvider(() -> AwsBasicCredentials.create(accessKey, accessSecretKey))
-                .build();
+                .httpClientBuilder(httpClient(transport))
+                .overrideConfiguration(configuration -> configuration.addMetricPublisher(poolMetrics));
+        if (StringUtils.hasText(endpoint)) {
+            // S3 compatible endpoints are not reachable through virtual-hosted bucket names.
+            builder.endpointOverride(URI.create(endpoint)).forcePathStyle(true);
+        }
+        return builder.build();
     }
 
     @Bean
     public S3Presigner s3Presigner(@Value("${cloud.aws.region}") String region,
                                  @Value("${cloud.aws.credentials.access-key}") String accessKey,
-                                 @Value("${cloud.aws.credentials.secret-key}") String accessSecretKey) {
-        return S3Presigner
+                                 @Value("${cloud.aws.credentials.secret-key}") String accessSecretKey,
+                                 @Value("${cloud.aws.endpoint:}") String endpoint) {
+        S3Presigner.Builder builder = S3Presigner
                 .builder()
                 .region(Region.of(region))
-                .credentialsProvider(() -> AwsBasicCredentials.create(accessKey, accessSecretKey))
-                .build();
+                .credentialsProvider(() -> AwsBasicCredentials.create(accessKey, accessSecretKey));
+        if (StringUtils.hasText(endpoint)) {
+            builder.endpointOverride(URI.create(endpoint))
+                    .serviceConfiguration(S3Configuration.builder().pathStyleAccessEnabled(true).build());
+        }
+        return builder.build();
+    }
+
+    private SdkHttpClient.Builder<?> httpClient(ProviderTransportProperties.Settings transport) {
+        return switch (transport.getClient()) {
+            case APACHE -> {
+                ApacheHttpClient.Builder builder = ApacheHttpClient.builder()
+                        .maxConnections(transport.getMaxConnections())
+                        .connectionTimeout(transport.getConnectionTimeout())
+                        .socketTimeout(transport.getSocketTimeout())
+                        .connectionAcquisitionTimeout(transport.getConnectionAcquisitionTimeout())
+                        .connectionMaxIdleTime(transport.getConnectionMaxIdleTime())
+                        .useIdleConnectionReaper(true)
+                        .tcpKeepAlive(transport.isTcpKeepAlive());
+                if (transport.getConnectionTimeToLive() != null) {
+                    builder.connectionTimeToLive(transport.getConnectionTimeToLive());
+                }
+                yield builder;
+            }
+            // Pooling is left to the JDK keep-alive cache, so only the timeouts apply.
+            case URL_CONNECTION -> UrlConnectionHttpClient.builder()
+                    .connectionTimeout(transport.getConnectionTimeout())
+                    .socketTimeout(transport.getSocketTimeout());
+            case NETTY -> throw new IllegalArgumentException(
+                    "The AWS S3 client is synchronous, use the APACHE or URL_CONNECTION HTTP client");
+        };
     }
 }
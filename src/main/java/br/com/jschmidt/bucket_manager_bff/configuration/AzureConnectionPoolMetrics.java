@@ -0,0 +1,48 @@
+package br.com.jschmidt.bucket_manager_bff.configuration;
+
+import reactor.netty.resources.ConnectionPoolMetrics;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.net.SocketAddress;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToIntFunction;
+
+/**
+ * Reactor Netty keeps one pool per remote address, this sums them up so the Azure client reports a single
+ * pool like the other providers do.
+ */
+class AzureConnectionPoolMetrics implements ConnectionProvider.MeterRegistrar, ConnectionPoolGauges.PoolState {
+
+    private final Map<String, ConnectionPoolMetrics> pools = new ConcurrentHashMap<>();
+
+    @Override
+    public void registerMetrics(String poolName, String id, SocketAddress remoteAddress,
+                                ConnectionPoolMetrics metrics) {
+        pools.put(id, metrics);
+    }
+
+    @Override
+    public void deRegisterMetrics(String poolName, String id, SocketAddress remoteAddress) {
+        pools.remove(id);
+    }
+
+    @Override
+    public long leased() {
+        return sum(ConnectionPoolMetrics::acquiredSize);
+    }
+
+    @Override
+    public long available() {
+        return sum(ConnectionPoolMetrics::idleSize);
+    }
+
+    @Override
+    public long pending() {
+        return sum(ConnectionPoolMetrics::pendingAcquireSize);
+    }
+
+    private long sum(ToIntFunction<ConnectionPoolMetrics> size) {
+        return pools.values().stream().mapToLong(size::applyAsInt).sum();
+    }
+}
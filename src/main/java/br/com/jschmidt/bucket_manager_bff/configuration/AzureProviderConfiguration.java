@@ -1,20 +1,78 @@
 package br.com.jschmidt.bucket_manager_bff.configuration;
 
+import br.com.jschmidt.bucket_manager_bff.enums.CloudProviderEnum;
+import br.com.jschmidt.bucket_manager_bff.enums.HttpClientTypeEnum;
+import com.azure.core.http.HttpClient;
+import com.azure.core.http.netty.NettyAsyncHttpClientBuilder;
 import com.azure.storage.blob.BlobServiceClient;
 import com.azure.storage.blob.BlobServiceClientBuilder;
+import com.azure.storage.blob.batch.BlobBatchClient;
+import com.azure.storage.blob.batch.BlobBatchClientBuilder;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.channel.ChannelOption;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBooleanProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+import reactor.netty.resources.ConnectionProvider;
 
 @Configuration
 @ConditionalOnBooleanProperty(name = "cloud.azure.enabled", havingValue = true, matchIfMissing = false)
+@EnableConfigurationProperties(ProviderTransportProperties.class)
 public class AzureProviderConfiguration {
 
     @Bean
-    public BlobServiceClient blobServiceClient(@Value("${cloud.azure.connection-string}") String connectionString) {
-        return new BlobServiceClientBuilder()
+    public BlobServiceClient blobServiceClient(@Value("${cloud.azure.connection-string}") String connectionString,
+                                               @Value("${cloud.azure.endpoint:}") String endpoint,
+                                               ProviderTransportProperties transportProperties,
+                                               MeterRegistry meterRegistry) {
+        BlobServiceClientBuilder builder = new BlobServiceClientBuilder()
                 .connectionString(connectionString)
-                .buildClient();
+                .httpClient(httpClient(transportProperties.getAzure(), meterRegistry));
+        if (StringUtils.hasText(endpoint)) {
+            builder.endpoint(endpoint);
+        }
+        return builder.buildClient();
+    }
+
+    @Bean
+    public BlobBatchClient blobBatchClient(BlobServiceClient blobServiceClient) {
+        return new BlobBatchClientBuilder(blobServiceClient).buildClient();
+    }
+
+    private HttpClient httpClient(ProviderTransportProperties.Settings transport, MeterRegistry meterRegistry) {
+        if (transport.getClient() != HttpClientTypeEnum.NETTY) {
+            throw new IllegalArgumentException("The Azure blob client only ships with the NETTY HTTP client");
+        }
+        AzureConnectionPoolMetrics poolMetrics = new AzureConnectionPoolMetrics();
+        ConnectionPoolGauges.register(meterRegistry, CloudProviderEnum.AZURE, transport, poolMetrics);
+
+        ConnectionProvider.Builder pool = ConnectionProvider.builder("azure-blob")
+                .maxConnections(transport.getMaxConnections())
+                .pendingAcquireTimeout(transport.getConnectionAcquisitionTimeout())
+                .maxIdleTime(transport.getConnectionMaxIdleTime())
+                .evictInBackground(transport.getConnectionMaxIdleTime())
+                .metrics(true, () -> poolMetrics);
+        if (transport.getConnectionTimeToLive() != null) {
+            pool.maxLifeTime(transport.getConnectionTimeToLive());
+        }
+        reactor.netty.http.client.HttpClient nettyClient = reactor.netty.http.client.HttpClient.create(pool.build())
+                .option(ChannelOption.SO_KEEPALIVE, transport.isTcpKeepAlive());
+        if (transport.getSendBufferSize() != null) {
+            nettyClient = nettyClient.option(ChannelOption.SO_SNDBUF,
+                    Math.toIntExact(transport.getSendBufferSize().toBytes()));
+        }
+        if (transport.getReceiveBufferSize() != null) {
+            nettyClient = nettyClient.option(ChannelOption.SO_RCVBUF,
+                    Math.toIntExact(transport.getReceiveBufferSize().toBytes()));
+        }
+        return new NettyAsyncHttpClientBuilder(nettyClient)
+                .connectTimeout(transport.getConnectionTimeout())
+                .readTimeout(transport.getSocketTimeout())
+                .writeTimeout(transport.getSocketTimeout())
+                .responseTimeout(transport.getSocketTimeout())
+                .build();
     }
 }
@@ -0,0 +1,65 @@
+package br.com.jschmidt.bucket_manager_bff.configuration;
+
+import br.com.jschmidt.bucket_manager_bff.enums.CloudProviderEnum;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.TimeGauge;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToLongFunction;
+
+/**
+ * Publishes the transport settings of a provider client and, when its HTTP client reports them, the state of
+ * its connection pool, under the same names whichever client the provider is configured with.
+ */
+public final class ConnectionPoolGauges {
+
+    private ConnectionPoolGauges() {
+    }
+
+    public static void register(MeterRegistry registry, CloudProviderEnum cloudProvider,
+                                ProviderTransportProperties.Settings settings, PoolState pool) {
+        Tags tags = Tags.of("provider", cloudProvider.name(), "client", settings.getClient().name());
+        Gauge.builder("storage.transport.connections.max", settings, s -> s.getMaxConnections())
+                .tags(tags)
+                .register(registry);
+        timeGauge(registry, "storage.transport.connection.timeout", tags, settings.getConnectionTimeout());
+        timeGauge(registry, "storage.transport.socket.timeout", tags, settings.getSocketTimeout());
+        timeGauge(registry, "storage.transport.acquisition.timeout", tags,
+                settings.getConnectionAcquisitionTimeout());
+        timeGauge(registry, "storage.transport.idle.timeout", tags, settings.getConnectionMaxIdleTime());
+        if (pool != null) {
+            connections(registry, tags, "leased", pool, PoolState::leased);
+            connections(registry, tags, "available", pool, PoolState::available);
+            connections(registry, tags, "pending", pool, PoolState::pending);
+        }
+    }
+
+    private static void timeGauge(MeterRegistry registry, String name, Tags tags, Duration value) {
+        TimeGauge.builder(name, value, TimeUnit.MILLISECONDS, Duration::toMillis)
+                .tags(tags)
+                .strongReference(true)
+                .register(registry);
+    }
+
+    private static void connections(MeterRegistry registry, Tags tags, String state, PoolState pool,
+                                    ToLongFunction<PoolState> value) {
+        // The pool views are only referenced by their gauges, which otherwise hold them weakly.
+        Gauge.builder("storage.transport.connections", pool, p -> value.applyAsLong(p))
+                .tags(tags)
+                .tag("state", state)
+                .strongReference(true)
+                .register(registry);
+    }
+
+    public interface PoolState {
+
+        long leased();
+
+        long available();
+
+        long pending();
+    }
+}
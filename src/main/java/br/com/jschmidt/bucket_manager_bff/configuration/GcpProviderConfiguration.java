@@ -1,33 +1,144 @@
 package br.com.jschmidt.bucket_manager_bff.configuration;
 
+import br.com.jschmidt.bucket_manager_bff.enums.CloudProviderEnum;
+import com.google.api.client.http.apache.v2.ApacheHttpTransport;
 import com.google.auth.oauth2.GoogleCredentials;
+import com.google.cloud.http.HttpTransportOptions;
 import com.google.cloud.storage.Storage;
 import com.google.cloud.storage.StorageOptions;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.http.HttpClientConnection;
+import org.apache.http.config.SocketConfig;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.conn.ConnectionRequest;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBooleanProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+import org.springframework.util.unit.DataSize;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.time.Duration;
 import java.util.Base64;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 
 @Configuration
 @ConditionalOnBooleanProperty(name = "cloud.gcp.enabled", havingValue = true, matchIfMissing = false)
+@EnableConfigurationProperties(ProviderTransportProperties.class)
 public class GcpProviderConfiguration {
 
     @Bean
     public Storage gcpStorage(@Value("${cloud.gcp.project-id}") String projectId,
-                              @Value("${cloud.gcp.credentials.encoded-key}") String encodedCredentials) throws IOException {
+                              @Value("${cloud.gcp.credentials.encoded-key}") String encodedCredentials,
+                              @Value("${cloud.gcp.endpoint:}") String endpoint,
+                              ProviderTransportProperties transportProperties,
+                              MeterRegistry meterRegistry) throws IOException {
         byte[] credentialsBytes = Base64.getDecoder().decode(encodedCredentials);
 
         GoogleCredentials credentials = GoogleCredentials
                 .fromStream(new ByteArrayInputStream(credentialsBytes));
 
-        return StorageOptions.newBuilder()
+        StorageOptions.Builder builder = StorageOptions.newBuilder()
                 .setProjectId(projectId)
                 .setCredentials(credentials)
-                .build()
-                .getService();
+                .setTransportOptions(transportOptions(transportProperties.getGcp(), meterRegistry));
+        if (StringUtils.hasText(endpoint)) {
+            builder.setHost(endpoint);
+        }
+        return builder.build().getService();
+    }
+
+    private HttpTransportOptions transportOptions(ProviderTransportProperties.Settings transport,
+                                                  MeterRegistry meterRegistry) {
+        HttpTransportOptions.Builder options = HttpTransportOptions.newBuilder()
+                .setConnectTimeout(millis(transport.getConnectionTimeout()))
+                .setReadTimeout(millis(transport.getSocketTimeout()));
+        switch (transport.getClient()) {
+            case APACHE -> {
+                PoolingHttpClientConnectionManager connectionManager = connectionManager(transport);
+                ApacheHttpTransport httpTransport = new ApacheHttpTransport(ApacheHttpTransport
+                        .newDefaultHttpClientBuilder()
+                        .setConnectionManager(connectionManager)
+                        .evictExpiredConnections()
+                        .evictIdleConnections(transport.getConnectionMaxIdleTime().toMillis(), TimeUnit.MILLISECONDS)
+                        .build());
+                options.setHttpTransportFactory(() -> httpTransport);
+                ConnectionPoolGauges.register(meterRegistry, CloudProviderEnum.GCP, transport,
+                        new ConnectionPoolGauges.PoolState() {
+                            @Override
+                            public long leased() {
+                                return connectionManager.getTotalStats().getLeased();
+                            }
+
+                            @Override
+                            public long available() {
+                                return connectionManager.getTotalStats().getAvailable();
+                            }
+
+                            @Override
+                            public long pending() {
+                                return connectionManager.getTotalStats().getPending();
+                            }
+                        });
+            }
+            // The default NetHttpTransport pools through the JDK keep-alive cache, so only the timeouts apply.
+            case URL_CONNECTION -> ConnectionPoolGauges.register(meterRegistry, CloudProviderEnum.GCP, transport, null);
+            case NETTY -> throw new IllegalArgumentException(
+                    "The GCP storage client is synchronous, use the APACHE or URL_CONNECTION HTTP client");
+        }
+        return options.build();
+    }
+
+    private PoolingHttpClientConnectionManager connectionManager(ProviderTransportProperties.Settings transport) {
+        Duration timeToLive = transport.getConnectionTimeToLive();
+        long acquisitionTimeout = transport.getConnectionAcquisitionTimeout().toMillis();
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager(
+                timeToLive != null ? timeToLive.toMillis() : -1, TimeUnit.MILLISECONDS) {
+            // The Google transport replaces the request config on every call, dropping any connection
+            // request timeout, so an unbounded wait for a pooled connection is capped here instead.
+            @Override
+            public ConnectionRequest requestConnection(HttpRoute route, Object state) {
+                ConnectionRequest request = super.requestConnection(route, state);
+                return new ConnectionRequest() {
+                    @Override
+                    public HttpClientConnection get(long timeout, TimeUnit timeUnit)
+                            throws InterruptedException, ExecutionException, ConnectionPoolTimeoutException {
+                        return timeout > 0
+                                ? request.get(timeout, timeUnit)
+                                : request.get(acquisitionTimeout, TimeUnit.MILLISECONDS);
+                    }
+
+                    @Override
+                    public boolean cancel() {
+                        return request.cancel();
+                    }
+                };
+            }
+        };
+        // Every request goes to the same host, so a per-route limit below the total would be the real cap.
+        connectionManager.setMaxTotal(transport.getMaxConnections());
+        connectionManager.setDefaultMaxPerRoute(transport.getMaxConnections());
+        connectionManager.setDefaultSocketConfig(SocketConfig.custom()
+                .setSoKeepAlive(transport.isTcpKeepAlive())
+                .setSoTimeout(millis(transport.getSocketTimeout()))
+                .setSndBufSize(bytes(transport.getSendBufferSize()))
+                .setRcvBufSize(bytes(transport.getReceiveBufferSize()))
+                .build());
+        return connectionManager;
+    }
+
+    private static int millis(Duration duration) {
+        return Math.toIntExact(duration.toMillis());
+    }
+
+    // Zero leaves the socket buffer at the operating system default.
+    private static int bytes(DataSize size) {
+        return size != null ? Math.toIntExact(size.toBytes()) : 0;
     }
 }
@@ -0,0 +1,43 @@
+package br.com.jschmidt.bucket_manager_bff.configuration;
+
+import br.com.jschmidt.bucket_manager_bff.services.cache.NamedCache;
+import br.com.jschmidt.bucket_manager_bff.services.strategies.InstrumentedStorageAccessStrategy;
+import br.com.jschmidt.bucket_manager_bff.services.strategies.StorageAccessStrategy;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+
+import java.util.List;
+import java.util.Set;
+
+@Configuration
+public class MetricsConfiguration {
+
+    @Bean
+    public static BeanPostProcessor storageAccessStrategyInstrumentation(
+            ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${storage.metrics.tagged-buckets:}") String taggedBuckets) {
+        Set<String> buckets = StringUtils.commaDelimitedListToSet(taggedBuckets);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof StorageAccessStrategy strategy) {
+                    return new InstrumentedStorageAccessStrategy(strategy, meterRegistry.getObject(), buckets);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder cacheMetrics(List<NamedCache> caches) {
+        return registry -> caches.forEach(cache ->
+                CaffeineCacheMetrics.monitor(registry, cache.getNativeCache(), cache.getName()));
+    }
+}
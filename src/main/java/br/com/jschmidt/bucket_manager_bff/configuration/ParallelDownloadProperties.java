@@ -0,0 +1,40 @@
+package br.com.jschmidt.bucket_manager_bff.configuration;
+
+import br.com.jschmidt.bucket_manager_bff.enums.CloudProviderEnum;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+@Data
+@ConfigurationProperties(prefix = "storage.download.parallel")
+public class ParallelDownloadProperties {
+
+    private Settings aws = new Settings();
+    private Settings gcp = new Settings();
+    private Settings azure = new Settings();
+    // Local files are served straight from disk, splitting them into ranges would only add seeks.
+    private Settings local = Settings.disabled();
+
+    public Settings forProvider(CloudProviderEnum cloudProvider) {
+        return switch (cloudProvider) {
+            case AWS -> aws;
+            case GCP -> gcp;
+            case AZURE -> azure;
+            case LOCAL -> local;
+        };
+    }
+
+    @Data
+    public static class Settings {
+        private boolean enabled = true;
+        private DataSize threshold = DataSize.ofMegabytes(64);
+        private DataSize chunkSize = DataSize.ofMegabytes(8);
+        private int window = 4;
+
+        static Settings disabled() {
+            Settings settings = new Settings();
+            settings.setEnabled(false);
+            return settings;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package br.com.jschmidt.bucket_manager_bff.configuration;
+
+import br.com.jschmidt.bucket_manager_bff.enums.CloudProviderEnum;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "cloud.resilience")
+public class ProviderResilienceProperties {
+
+    private Settings aws = new Settings();
+    private Settings gcp = new Settings();
+    private Settings azure = new Settings();
+    private Settings local = new Settings();
+
+    public Settings forProvider(CloudProviderEnum cloudProvider) {
+        return switch (cloudProvider) {
+            case AWS -> aws;
+            case GCP -> gcp;
+            case AZURE -> azure;
+            case LOCAL -> local;
+        };
+    }
+
+    @Data
+    public static class Settings {
+        private boolean enabled = true;
+        private int maxConcurrentCalls = 100;
+        // Uploads and copies, which hold their permit for the whole transfer, are limited separately.
+        private int maxConcurrentTransfers = 20;
+        private Duration maxWaitDuration = Duration.ofMillis(500);
+        // Keyed by operation; operations without an entry run without a deadline on the calling thread. Uploads
+        // and copies have none by default, their duration follows the object size.
+        private Map<String, Duration> timeouts = new HashMap<>(Map.of(
+                "list", Duration.ofSeconds(30),
+                "list-page", Duration.ofSeconds(10),
+                "stream", Duration.ofSeconds(10),
+                "presign", Duration.ofSeconds(5),
+                "download", Duration.ofSeconds(10),
+                "delete", Duration.ofSeconds(30)));
+        private int retryMaxAttempts = 3;
+        private Duration retryWaitDuration = Duration.ofMillis(200);
+        private float failureRateThreshold = 50;
+        private int slidingWindowSize = 50;
+        private int minimumNumberOfCalls = 20;
+        private Duration waitDurationInOpenState = Duration.ofSeconds(30);
+        private int permittedCallsInHalfOpenState = 5;
+        // Hedged reads send a second attempt when the first has not answered within the percentile latency.
+        private boolean hedgingEnabled = false;
+        private double hedgingPercentile = 95;
+        private Duration hedgingMinimumDelay = Duration.ofMillis(20);
+        private double hedgingBudget = 0.05;
+        private int hedgingWindow = 1000;
+    }
+}
@@ -0,0 +1,41 @@
+package br.com.jschmidt.bucket_manager_bff.configuration;
+
+import br.com.jschmidt.bucket_manager_bff.enums.HttpClientTypeEnum;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "cloud.transport")
+public class ProviderTransportProperties {
+
+    private Settings aws = Settings.using(HttpClientTypeEnum.APACHE);
+    private Settings gcp = Settings.using(HttpClientTypeEnum.APACHE);
+    private Settings azure = Settings.using(HttpClientTypeEnum.NETTY);
+
+    @Data
+    public static class Settings {
+        private HttpClientTypeEnum client;
+        // Sized for parallel ranged downloads and part uploads, the SDK defaults (50 on AWS, 5 kept alive
+        // per host on GCP) queue requests long before the transfer executors are busy.
+        private int maxConnections = 200;
+        private Duration connectionTimeout = Duration.ofSeconds(5);
+        private Duration socketTimeout = Duration.ofSeconds(60);
+        private Duration connectionAcquisitionTimeout = Duration.ofSeconds(10);
+        private Duration connectionMaxIdleTime = Duration.ofSeconds(60);
+        // Unset keeps pooled connections for as long as they stay healthy.
+        private Duration connectionTimeToLive;
+        private boolean tcpKeepAlive = true;
+        // Unset leaves the socket buffers to the operating system, which usually auto-tunes them.
+        private DataSize sendBufferSize;
+        private DataSize receiveBufferSize;
+
+        static Settings using(HttpClientTypeEnum client) {
+            Settings settings = new Settings();
+            settings.setClient(client);
+            return settings;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package br.com.jschmidt.bucket_manager_bff.configuration;
+
+import br.com.jschmidt.bucket_manager_bff.services.strategies.ProviderResilience;
+import br.com.jschmidt.bucket_manager_bff.services.strategies.StorageAccessStrategy;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Configuration
+@EnableConfigurationProperties(ProviderResilienceProperties.class)
+public class ResilienceConfiguration {
+
+    // Declared with its concrete type: Spring reads Ordered from the return type before creating the processor.
+    @Bean
+    public static ResiliencePostProcessor storageAccessStrategyResilience(
+            ObjectProvider<ProviderResilience> resilience) {
+        return new ResiliencePostProcessor(resilience);
+    }
+
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService providerCallExecutor(
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        // Runs provider calls that have a deadline. Unbounded on purpose: the bulkheads already cap how many
+        // calls each provider gets, and a capped pool would let one stuck provider delay the others.
+        if (virtualThreads) {
+            return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("provider-call-", 0).factory());
+        }
+        return Executors.newCachedThreadPool(new CustomizableThreadFactory("provider-call-"));
+    }
+
+    // Ordered so it runs before the unordered metrics post processor, which then also times rejected calls.
+    record ResiliencePostProcessor(ObjectProvider<ProviderResilience> resilience)
+            implements BeanPostProcessor, Ordered {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof StorageAccessStrategy strategy) {
+                return resilience.getObject().apply(strategy);
+            }
+            return bean;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.LOWEST_PRECEDENCE;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package br.com.jschmidt.bucket_manager_bff.configuration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Configuration
+@EnableConfigurationProperties(ParallelDownloadProperties.class)
+public class TransferConfiguration {
+
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService transferExecutor(@Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+                                            @Value("${storage.transfer.threads:16}") int threads) {
+        // Part uploads and ranged downloads are bounded by their own semaphores and windows,
+        // so with virtual threads there is no need to cap the executor as well.
+        if (virtualThreads) {
+            return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("transfer-", 0).factory());
+        }
+        return Executors.newFixedThreadPool(threads, new CustomizableThreadFactory("transfer-"));
+    }
+
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService batchUploadExecutor(@Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+                                               @Value("${storage.upload.batch.threads:16}") int threads) {
+        // Runs batch uploads and copies. Kept apart from transferExecutor: these tasks block on the part
+        // uploads and ranged reads they submit there, so sharing one fixed pool could leave every thread
+        // waiting on work that never gets scheduled.
+        if (virtualThreads) {
+            return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("batch-upload-", 0).factory());
+        }
+        return Executors.newFixedThreadPool(threads, new CustomizableThreadFactory("batch-upload-"));
+    }
+}
@@ -0,0 +1,41 @@
+package br.com.jschmidt.bucket_manager_bff.controllers;
+
+import br.com.jschmidt.bucket_manager_bff.models.CacheStatsModel;
+import br.com.jschmidt.bucket_manager_bff.services.cache.NamedCache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1")
+public class CacheController {
+
+    private final List<NamedCache> caches;
+
+    public CacheController(List<NamedCache> caches) {
+        this.caches = caches;
+    }
+
+    @GetMapping("/caches")
+    public @ResponseBody List<CacheStatsModel> getCacheStats() {
+        return caches.stream()
+                .map(this::toCacheStatsModel)
+                .toList();
+    }
+
+    private CacheStatsModel toCacheStatsModel(NamedCache cache) {
+        CacheStats stats = cache.getNativeCache().stats();
+        return CacheStatsModel.builder()
+                .name(cache.getName())
+                .size(cache.getNativeCache().estimatedSize())
+                .hitCount(stats.hitCount())
+                .missCount(stats.missCount())
+                .evictionCount(stats.evictionCount())
+                .hitRate(stats.hitRate())
+                .build();
+    }
+}
@@ -1,26 +1,61 @@
 package br.com.jschmidt.bucket_manager_bff.controllers;
 
+import br.com.jschmidt.bucket_manager_bff.controllers.support.DownloadResponseFactory;
+import br.com.jschmidt.bucket_manager_bff.controllers.support.NdjsonResponseFactory;
+import br.com.jschmidt.bucket_manager_bff.controllers.support.ZipResponseFactory;
 import br.com.jschmidt.bucket_manager_bff.enums.CloudProviderEnum;
+import br.com.jschmidt.bucket_manager_bff.models.ArchiveRequestModel;
 import br.com.jschmidt.bucket_manager_bff.models.BucketFileModel;
+import br.com.jschmidt.bucket_manager_bff.models.BucketFilePageModel;
+import br.com.jschmidt.bucket_manager_bff.models.CopyRequestModel;
+import br.com.jschmidt.bucket_manager_bff.models.DeleteRequestModel;
+import br.com.jschmidt.bucket_manager_bff.models.FileListingRequestModel;
+import br.com.jschmidt.bucket_manager_bff.models.ResourceUploadModel;
+import br.com.jschmidt.bucket_manager_bff.models.UploadResultModel;
+import br.com.jschmidt.bucket_manager_bff.services.BatchUploadService;
+import br.com.jschmidt.bucket_manager_bff.services.BulkDeleteService;
+import br.com.jschmidt.bucket_manager_bff.services.CopyService;
 import br.com.jschmidt.bucket_manager_bff.services.StorageService;
-import org.springframework.core.io.Resource;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 @RestController
 @RequestMapping("/api/v1")
 public class StorageController {
 
     private final StorageService storageService;
+    private final BatchUploadService batchUploadService;
+    private final BulkDeleteService bulkDeleteService;
+    private final CopyService copyService;
+    private final DownloadResponseFactory downloadResponseFactory;
+    private final NdjsonResponseFactory ndjsonResponseFactory;
+    private final ZipResponseFactory zipResponseFactory;
 
-    public StorageController(StorageService storageService) {
+    public StorageController(StorageService storageService,
+                             BatchUploadService batchUploadService,
+                             BulkDeleteService bulkDeleteService,
+                             CopyService copyService,
+                             DownloadResponseFactory downloadResponseFactory,
+                             NdjsonResponseFactory ndjsonResponseFactory,
+                             ZipResponseFactory zipResponseFactory) {
         this.storageService = storageService;
+        this.batchUploadService = batchUploadService;
+        this.bulkDeleteService = bulkDeleteService;
+        this.copyService = copyService;
+        this.downloadResponseFactory = downloadResponseFactory;
+        this.ndjsonResponseFactory = ndjsonResponseFactory;
+        this.zipResponseFactory = zipResponseFactory;
     }
 
     @GetMapping("/providers/{provider}/buckets/{bucketName}/files")
@@ -29,16 +64,49 @@ public class StorageController {
         return storageService.getFilesFromBucket(provider, bucketName);
     }
 
+    @GetMapping("/providers/{provider}/buckets/{bucketName}/files/page")
+    public @ResponseBody BucketFilePageModel getFilesPageFromStorage(@PathVariable CloudProviderEnum provider,
+                                                                     @PathVariable String bucketName,
+                                                                     @RequestParam(required = false) String prefix,
+                                                                     @RequestParam(required = false) String delimiter,
+                                                                     @RequestParam(defaultValue = "100") @Min(1) @Max(1000) int pageSize,
+                                                                     @RequestParam(required = false) String continuationToken) {
+        return storageService.getFilesPageFromBucket(provider, bucketName, FileListingRequestModel.builder()
+                .prefix(prefix)
+                .delimiter(delimiter)
+                .pageSize(pageSize)
+                .continuationToken(continuationToken)
+                .build());
+    }
+
+    @GetMapping(value = "/providers/{provider}/buckets/{bucketName}/files/stream",
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamFilesFromStorage(@PathVariable CloudProviderEnum provider,
+                                                                        @PathVariable String bucketName,
+                                                                        @RequestParam(required = false) String prefix) {
+        return ndjsonResponseFactory.create(storageService.streamFilesFromBucket(provider, bucketName, prefix));
+    }
+
     @GetMapping(value = "/providers/{provider}/buckets/{bucketName}/files/{fileName}/download")
-    public ResponseEntity<Resource> downloadFile(@PathVariable CloudProviderEnum provider,
-                                                 @PathVariable String bucketName,
-                                                 @PathVariable String fileName) {
+    public ResponseEntity<StreamingResponseBody> downloadFile(@PathVariable CloudProviderEnum provider,
+                                                              @PathVariable String bucketName,
+                                                              @PathVariable String fileName,
+                                                              @RequestHeader HttpHeaders headers) {
         var resourceDownloadModel = storageService.downloadFile(provider, bucketName, fileName);
-        return ResponseEntity.ok()
-                .header(HttpHeaders.CONTENT_DISPOSITION,
-                        "attachment; filename=\"" + resourceDownloadModel.getFileName() + "\"")
-                .contentType(MediaType.parseMediaType(resourceDownloadModel.getContentType()))
-                .body(resourceDownloadModel.getResource());
+        return downloadResponseFactory.create(resourceDownloadModel, headers);
+    }
+
+    @PostMapping(value = "/providers/{provider}/buckets/{bucketName}/files/archive", produces = "application/zip")
+    public ResponseEntity<StreamingResponseBody> downloadArchive(@PathVariable CloudProviderEnum provider,
+                                                                 @PathVariable String bucketName,
+                                                                 @RequestBody ArchiveRequestModel archiveRequest) {
+        Stream<String> fileNames = archiveRequest.getFileNames() != null && !archiveRequest.getFileNames().isEmpty()
+                ? archiveRequest.getFileNames().stream().distinct()
+                : storageService.streamFilesFromBucket(provider, bucketName, archiveRequest.getPrefix())
+                        .map(BucketFileModel::getFileName);
+        return zipResponseFactory.create(bucketName + ".zip", fileNames,
+                fileName -> storageService.downloadArchiveEntry(provider, bucketName, fileName),
+                archiveRequest.isStoreOnly());
     }
 
     @PutMapping(value = "/providers/{provider}/buckets/{bucketName}/upload")
@@ -48,6 +116,46 @@ public class StorageController {
         storageService.uploadFile(provider, bucketName, file);
     }
 
+    @PostMapping(value = "/providers/{provider}/buckets/{bucketName}/files/batch",
+            consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public @ResponseBody List<UploadResultModel> uploadFiles(@PathVariable CloudProviderEnum provider,
+                                                             @PathVariable String bucketName,
+                                                             @RequestParam("files") List<MultipartFile> files) {
+        return batchUploadService.uploadFiles(provider, bucketName, files);
+    }
+
+    @PutMapping(value = "/providers/{provider}/buckets/{bucketName}/files/{fileName}")
+    public void uploadFileContent(@PathVariable CloudProviderEnum provider,
+                                  @PathVariable String bucketName,
+                                  @PathVariable String fileName,
+                                  @RequestHeader(HttpHeaders.CONTENT_LENGTH) long contentLength,
+                                  @RequestHeader(value = HttpHeaders.CONTENT_TYPE,
+                                          defaultValue = MediaType.APPLICATION_OCTET_STREAM_VALUE) String contentType,
+                                  InputStream body) {
+        storageService.uploadFile(provider, bucketName, ResourceUploadModel.builder()
+                .content(() -> body)
+                .contentLength(contentLength)
+                .fileName(fileName)
+                .contentType(contentType)
+                .build());
+    }
+
+    @PostMapping(value = "/providers/{provider}/buckets/{bucketName}/files/copy",
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> copyFiles(@PathVariable CloudProviderEnum provider,
+                                                           @PathVariable String bucketName,
+                                                           @RequestBody CopyRequestModel copyRequest) {
+        return ndjsonResponseFactory.create(copyService.copyFiles(provider, bucketName, copyRequest));
+    }
+
+    @PostMapping(value = "/providers/{provider}/buckets/{bucketName}/files/delete",
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> deleteFiles(@PathVariable CloudProviderEnum provider,
+                                                             @PathVariable String bucketName,
+                                                             @RequestBody DeleteRequestModel deleteRequest) {
+        return ndjsonResponseFactory.create(bulkDeleteService.deleteFiles(provider, bucketName, deleteRequest));
+    }
+
     @GetMapping("/providers/{provider}/buckets/{bucketName}/files/{fileName}/presigned-url")
     public @ResponseBody Map<String, String> getPresignedUrl(@PathVariable CloudProviderEnum provider,
                                                              @PathVariable String bucketName,
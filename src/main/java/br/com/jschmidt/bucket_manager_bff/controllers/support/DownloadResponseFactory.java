@@ -0,0 +1,284 @@
+package br.com.jschmidt.bucket_manager_bff.controllers.support;
+
+import br.com.jschmidt.bucket_manager_bff.models.ResourceDownloadModel;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.NoSuchFileException;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+@Component
+@Slf4j
+public class DownloadResponseFactory {
+
+    private static final String BYTES_UNIT = "bytes";
+    private static final String SENDFILE_SUPPORT_ATTRIBUTE = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME_ATTRIBUTE = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START_ATTRIBUTE = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END_ATTRIBUTE = "org.apache.tomcat.sendfile.end";
+
+    private final int bufferSize;
+
+    public DownloadResponseFactory(@Value("${storage.download.buffer-size:64KB}") DataSize bufferSize) {
+        this.bufferSize = Math.toIntExact(bufferSize.toBytes());
+    }
+
+    public ResponseEntity<StreamingResponseBody> create(ResourceDownloadModel model, HttpHeaders requestHeaders) {
+        // Only the provider metadata has been fetched so far, the content sources are never opened for a 304.
+        if (isNotModified(model, requestHeaders)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .headers(cacheValidators(model))
+                    .build();
+        }
+
+        List<HttpRange> ranges = requestedRanges(model, requestHeaders);
+        if (ranges.isEmpty()) {
+            return fullContent(model);
+        }
+
+        long contentLength = model.getContentLength();
+        if (!isSatisfiable(ranges, contentLength)) {
+            return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+                    .header(HttpHeaders.CONTENT_RANGE, "%s */%d".formatted(BYTES_UNIT, contentLength))
+                    .build();
+        }
+
+        return ranges.size() == 1
+                ? singleRange(model, ranges.getFirst())
+                : multipleRanges(model, ranges);
+    }
+
+    private ResponseEntity<StreamingResponseBody> fullContent(ResourceDownloadModel model) {
+        var response = ResponseEntity.ok()
+                .headers(validatorHeaders(model))
+                .contentType(MediaType.parseMediaType(model.getContentType()));
+        if (model.getContentLength() != null) {
+            response.contentLength(model.getContentLength());
+            if (sendfile(model, 0, model.getContentLength() - 1)) {
+                return response.build();
+            }
+        }
+        return response.body(outputStream -> {
+            if (model.getLocalFile() != null
+                    && transferLocalFile(model, 0, model.getContentLength() - 1, outputStream)) {
+                return;
+            }
+            try (InputStream inputStream = model.getContent().getInputStream()) {
+                copy(inputStream, outputStream);
+            }
+        });
+    }
+
+    private ResponseEntity<StreamingResponseBody> singleRange(ResourceDownloadModel model, HttpRange range) {
+        long contentLength = model.getContentLength();
+        long start = range.getRangeStart(contentLength);
+        long end = range.getRangeEnd(contentLength);
+
+        var response = ResponseEntity.status(HttpStatus.PARTIAL_CONTENT)
+                .headers(validatorHeaders(model))
+                .contentType(MediaType.parseMediaType(model.getContentType()))
+                .contentLength(end - start + 1)
+                .header(HttpHeaders.CONTENT_RANGE, contentRange(start, end, contentLength));
+        if (sendfile(model, start, end)) {
+            return response.build();
+        }
+        return response.body(outputStream -> writeRange(model, start, end, outputStream));
+    }
+
+    private ResponseEntity<StreamingResponseBody> multipleRanges(ResourceDownloadModel model, List<HttpRange> ranges) {
+        long contentLength = model.getContentLength();
+        String boundary = MimeTypeUtils.generateMultipartBoundaryString();
+
+        return ResponseEntity.status(HttpStatus.PARTIAL_CONTENT)
+                .headers(validatorHeaders(model))
+                .contentType(MediaType.parseMediaType("multipart/byteranges; boundary=" + boundary))
+                .body(outputStream -> {
+                    for (HttpRange range : ranges) {
+                        long start = range.getRangeStart(contentLength);
+                        long end = range.getRangeEnd(contentLength);
+                        String partHeaders = "\r\n--" + boundary + "\r\n"
+                                + HttpHeaders.CONTENT_TYPE + ": " + model.getContentType() + "\r\n"
+                                + HttpHeaders.CONTENT_RANGE + ": " + contentRange(start, end, contentLength) + "\r\n\r\n";
+                        outputStream.write(partHeaders.getBytes(StandardCharsets.US_ASCII));
+                        writeRange(model, start, end, outputStream);
+                    }
+                    outputStream.write(("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.US_ASCII));
+                });
+    }
+
+    private void writeRange(ResourceDownloadModel model, long start, long end, OutputStream outputStream)
+            throws IOException {
+        if (model.getLocalFile() != null && transferLocalFile(model, start, end, outputStream)) {
+            return;
+        }
+        try (InputStream inputStream = model.getRangedContent().getInputStream(start, end)) {
+            copy(inputStream, outputStream);
+        }
+    }
+
+    private boolean sendfile(ResourceDownloadModel model, long start, long end) {
+        // Tomcat sends the file from the kernel once the handler returns, the body stays empty here.
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (model.getLocalFile() == null || request == null
+                || !Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST))) {
+            return false;
+        }
+        request.setAttribute(SENDFILE_FILENAME_ATTRIBUTE, model.getLocalFile().toAbsolutePath().toString(),
+                RequestAttributes.SCOPE_REQUEST);
+        request.setAttribute(SENDFILE_START_ATTRIBUTE, start, RequestAttributes.SCOPE_REQUEST);
+        request.setAttribute(SENDFILE_END_ATTRIBUTE, end + 1, RequestAttributes.SCOPE_REQUEST);
+        return true;
+    }
+
+    private boolean transferLocalFile(ResourceDownloadModel model, long start, long end, OutputStream outputStream)
+            throws IOException {
+        try (FileChannel channel = FileChannel.open(model.getLocalFile())) {
+            WritableByteChannel target = Channels.newChannel(outputStream);
+            long position = start;
+            while (position <= end) {
+                long transferred = channel.transferTo(position, end - position + 1, target);
+                if (transferred <= 0) {
+                    throw new EOFException("Cached copy of %s ended at byte %d".formatted(model.getFileName(), position));
+                }
+                position += transferred;
+            }
+            return true;
+        } catch (NoSuchFileException e) {
+            log.debug("Cached copy of {} was evicted, reading it from the provider", model.getFileName());
+            return false;
+        }
+    }
+
+    private HttpHeaders validatorHeaders(ResourceDownloadModel model) {
+        HttpHeaders headers = cacheValidators(model);
+        headers.setContentDisposition(ContentDisposition.attachment()
+                .filename(model.getFileName())
+                .build());
+        if (model.getRangedContent() != null && model.getContentLength() != null) {
+            headers.set(HttpHeaders.ACCEPT_RANGES, BYTES_UNIT);
+        }
+        return headers;
+    }
+
+    private HttpHeaders cacheValidators(ResourceDownloadModel model) {
+        HttpHeaders headers = new HttpHeaders();
+        if (model.getEtag() != null) {
+            headers.setETag(quoted(model.getEtag()));
+        }
+        if (model.getLastModified() != null) {
+            headers.setLastModified(model.getLastModified());
+        }
+        return headers;
+    }
+
+    private List<HttpRange> requestedRanges(ResourceDownloadModel model, HttpHeaders requestHeaders) {
+        if (model.getRangedContent() == null || model.getContentLength() == null
+                || !requestHeaders.containsKey(HttpHeaders.RANGE) || !ifRangeMatches(model, requestHeaders)) {
+            return List.of();
+        }
+        try {
+            return requestHeaders.getRange();
+        } catch (IllegalArgumentException e) {
+            log.debug("Ignoring invalid Range header: {}", e.getMessage());
+            return List.of();
+        }
+    }
+
+    private boolean isNotModified(ResourceDownloadModel model, HttpHeaders requestHeaders) {
+        // If-Modified-Since is only considered when If-None-Match is absent (RFC 9110, section 13.2.2).
+        if (requestHeaders.containsKey(HttpHeaders.IF_NONE_MATCH)) {
+            return requestHeaders.getIfNoneMatch().stream()
+                    .anyMatch(etag -> etag.equals("*") || model.getEtag() != null
+                            && opaqueTag(etag).equals(opaqueTag(quoted(model.getEtag()))));
+        }
+        long ifModifiedSince = requestHeaders.getIfModifiedSince();
+        return ifModifiedSince >= 0 && model.getLastModified() != null
+                && model.getLastModified().truncatedTo(ChronoUnit.SECONDS).toEpochMilli() <= ifModifiedSince;
+    }
+
+    private boolean ifRangeMatches(ResourceDownloadModel model, HttpHeaders requestHeaders) {
+        String ifRange = requestHeaders.getFirst(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("W/")) {
+            return false;
+        }
+        if (ifRange.startsWith("\"")) {
+            return model.getEtag() != null && ifRange.equals(quoted(model.getEtag()));
+        }
+        try {
+            Instant validator = ZonedDateTime.parse(ifRange, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant();
+            return model.getLastModified() != null
+                    && model.getLastModified().truncatedTo(ChronoUnit.SECONDS).equals(validator);
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+    }
+
+    private boolean isSatisfiable(List<HttpRange> ranges, long contentLength) {
+        long requestedBytes = 0;
+        for (HttpRange range : ranges) {
+            long start;
+            long end;
+            try {
+                start = range.getRangeStart(contentLength);
+                end = range.getRangeEnd(contentLength);
+            } catch (IllegalArgumentException e) {
+                return false;
+            }
+            // Checked here rather than left to Spring, which resolves a zero-length suffix ("bytes=-0") or any range
+            // of an empty file to an end before its start without complaining.
+            if (start >= contentLength || start > end) {
+                return false;
+            }
+            requestedBytes += end - start + 1;
+        }
+        return ranges.size() == 1 || requestedBytes <= contentLength;
+    }
+
+    private String contentRange(long start, long end, long contentLength) {
+        return "%s %d-%d/%d".formatted(BYTES_UNIT, start, end, contentLength);
+    }
+
+    private String quoted(String etag) {
+        return etag.startsWith("\"") || etag.startsWith("W/") ? etag : "\"" + etag + "\"";
+    }
+
+    private String opaqueTag(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+
+    private void copy(InputStream inputStream, OutputStream outputStream) throws IOException {
+        byte[] buffer = new byte[bufferSize];
+        int read;
+        while ((read = inputStream.read(buffer)) != -1) {
+            outputStream.write(buffer, 0, read);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package br.com.jschmidt.bucket_manager_bff.controllers.support;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Component
+public class NdjsonResponseFactory {
+
+    private static final byte LINE_SEPARATOR = '\n';
+
+    private final ObjectMapper objectMapper;
+
+    public NdjsonResponseFactory(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public ResponseEntity<StreamingResponseBody> create(Stream<?> lines) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(outputStream -> {
+                    try (lines) {
+                        Iterator<?> iterator = lines.iterator();
+                        while (iterator.hasNext()) {
+                            writeLine(outputStream, iterator.next());
+                        }
+                    }
+                });
+    }
+
+    private void writeLine(OutputStream outputStream, Object line) throws IOException {
+        outputStream.write(objectMapper.writeValueAsBytes(line));
+        outputStream.write(LINE_SEPARATOR);
+    }
+}
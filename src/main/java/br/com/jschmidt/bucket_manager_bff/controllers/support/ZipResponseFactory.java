@@ -0,0 +1,156 @@
+package br.com.jschmidt.bucket_manager_bff.controllers.support;
+
+import br.com.jschmidt.bucket_manager_bff.exceptions.FileNotFoundException;
+import br.com.jschmidt.bucket_manager_bff.models.ResourceDownloadModel;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+@Component
+@Slf4j
+public class ZipResponseFactory {
+
+    private static final MediaType APPLICATION_ZIP = MediaType.parseMediaType("application/zip");
+
+    private final int bufferSize;
+    private final int prefetchWindow;
+    private final ExecutorService transferExecutor;
+
+    public ZipResponseFactory(@Value("${storage.download.buffer-size:64KB}") DataSize bufferSize,
+                              @Value("${storage.archive.prefetch-window:4}") int prefetchWindow,
+                              @Qualifier("transferExecutor") ExecutorService transferExecutor) {
+        this.bufferSize = Math.toIntExact(bufferSize.toBytes());
+        this.prefetchWindow = prefetchWindow;
+        this.transferExecutor = transferExecutor;
+    }
+
+    public ResponseEntity<StreamingResponseBody> create(String archiveName, Stream<String> fileNames,
+                                                        Function<String, ResourceDownloadModel> downloader,
+                                                        boolean storeOnly) {
+        return ResponseEntity.ok()
+                .contentType(APPLICATION_ZIP)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(archiveName)
+                        .build()
+                        .toString())
+                .body(outputStream -> {
+                    // ZipOutputStream switches to ZIP64 records by itself once sizes or entry counts need it.
+                    try (fileNames; ZipOutputStream zipOutputStream = new ZipOutputStream(outputStream)) {
+                        if (storeOnly) {
+                            zipOutputStream.setLevel(Deflater.NO_COMPRESSION);
+                        }
+                        writeEntries(zipOutputStream, fileNames.iterator(), downloader);
+                    }
+                });
+    }
+
+    private void writeEntries(ZipOutputStream zipOutputStream, Iterator<String> fileNames,
+                              Function<String, ResourceDownloadModel> downloader) throws IOException {
+        Deque<Future<ArchiveEntry>> window = new ArrayDeque<>();
+        try {
+            prefetch(window, fileNames, downloader);
+            while (!window.isEmpty()) {
+                ArchiveEntry entry = await(window.poll());
+                prefetch(window, fileNames, downloader);
+                if (entry != null) {
+                    writeEntry(zipOutputStream, entry);
+                }
+            }
+        } finally {
+            window.forEach(this::closeQuietly);
+        }
+    }
+
+    private void prefetch(Deque<Future<ArchiveEntry>> window, Iterator<String> fileNames,
+                          Function<String, ResourceDownloadModel> downloader) {
+        while (window.size() < prefetchWindow && fileNames.hasNext()) {
+            String fileName = fileNames.next();
+            window.add(transferExecutor.submit(() -> open(fileName, downloader)));
+        }
+    }
+
+    private ArchiveEntry open(String fileName, Function<String, ResourceDownloadModel> downloader) throws IOException {
+        try {
+            ResourceDownloadModel model = downloader.apply(fileName);
+            return new ArchiveEntry(fileName, model, model.getContent().getInputStream());
+        } catch (FileNotFoundException e) {
+            log.warn("Skipping archive entry {}: {}", fileName, e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeEntry(ZipOutputStream zipOutputStream, ArchiveEntry entry) throws IOException {
+        try (InputStream inputStream = entry.content()) {
+            ZipEntry zipEntry = new ZipEntry(entry.fileName());
+            if (entry.model().getLastModified() != null) {
+                zipEntry.setLastModifiedTime(FileTime.from(entry.model().getLastModified()));
+            }
+            zipOutputStream.putNextEntry(zipEntry);
+            copy(inputStream, zipOutputStream);
+            zipOutputStream.closeEntry();
+        }
+    }
+
+    private ArchiveEntry await(Future<ArchiveEntry> entry) throws IOException {
+        try {
+            return entry.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while opening the next archive entry");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException ioException) {
+                throw ioException;
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+
+    private void closeQuietly(Future<ArchiveEntry> pendingEntry) {
+        // Entries already being opened would leak their connection if simply cancelled.
+        try {
+            ArchiveEntry entry = pendingEntry.get();
+            if (entry != null) {
+                entry.content().close();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | IOException e) {
+            log.debug("Ignoring failure of abandoned archive entry: {}", e.getMessage());
+        }
+    }
+
+    private void copy(InputStream inputStream, OutputStream outputStream) throws IOException {
+        byte[] buffer = new byte[bufferSize];
+        int read;
+        while ((read = inputStream.read(buffer)) != -1) {
+            outputStream.write(buffer, 0, read);
+        }
+    }
+
+    private record ArchiveEntry(String fileName, ResourceDownloadModel model, InputStream content) {
+    }
+}
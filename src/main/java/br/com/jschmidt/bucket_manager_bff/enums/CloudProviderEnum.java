@@ -3,5 +3,6 @@ package br.com.jschmidt.bucket_manager_bff.enums;
 public enum CloudProviderEnum {
     AWS,
     GCP,
-    AZURE;
+    AZURE,
+    LOCAL;
 }
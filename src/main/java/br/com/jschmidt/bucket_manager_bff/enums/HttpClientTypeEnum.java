@@ -0,0 +1,7 @@
+package br.com.jschmidt.bucket_manager_bff.enums;
+
+public enum HttpClientTypeEnum {
+    APACHE,
+    URL_CONNECTION,
+    NETTY;
+}
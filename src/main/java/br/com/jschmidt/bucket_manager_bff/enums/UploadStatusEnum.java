@@ -0,0 +1,6 @@
+package br.com.jschmidt.bucket_manager_bff.enums;
+
+public enum UploadStatusEnum {
+    SUCCESS,
+    FAILED;
+}
@@ -0,0 +1,18 @@
+package br.com.jschmidt.bucket_manager_bff.exceptions;
+
+import br.com.jschmidt.bucket_manager_bff.enums.CloudProviderEnum;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.io.Serial;
+
+@ResponseStatus(HttpStatus.NOT_IMPLEMENTED)
+public class OperationNotSupportedException extends RuntimeException {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public OperationNotSupportedException(CloudProviderEnum cloudProvider, String operation) {
+        super("Cloud Provider %s does not support %s".formatted(cloudProvider, operation));
+    }
+}
@@ -0,0 +1,18 @@
+package br.com.jschmidt.bucket_manager_bff.exceptions;
+
+import br.com.jschmidt.bucket_manager_bff.enums.CloudProviderEnum;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.io.Serial;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class ProviderUnavailableException extends RuntimeException {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public ProviderUnavailableException(CloudProviderEnum cloudProvider, String reason, Throwable cause) {
+        super("Cloud Provider %s is unavailable: %s".formatted(cloudProvider, reason), cause);
+    }
+}
@@ -0,0 +1,14 @@
+package br.com.jschmidt.bucket_manager_bff.models;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class BucketFilePageModel {
+    private List<BucketFileModel> files;
+    private List<String> commonPrefixes;
+    private String nextContinuationToken;
+}
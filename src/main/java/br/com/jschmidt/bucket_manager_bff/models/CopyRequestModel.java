@@ -0,0 +1,19 @@
+package br.com.jschmidt.bucket_manager_bff.models;
+
+import br.com.jschmidt.bucket_manager_bff.enums.CloudProviderEnum;
+import lombok.Builder;
+import lombok.Data;
+import lombok.extern.jackson.Jacksonized;
+
+import java.util.List;
+
+@Data
+@Builder
+@Jacksonized
+public class CopyRequestModel {
+    private String prefix;
+    private List<String> fileNames;
+    private CloudProviderEnum destinationProvider;
+    private String destinationBucket;
+    private String destinationPrefix;
+}
@@ -0,0 +1,16 @@
+package br.com.jschmidt.bucket_manager_bff.models;
+
+import br.com.jschmidt.bucket_manager_bff.enums.UploadStatusEnum;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class CopyResultModel {
+    private String sourceFileName;
+    private String fileName;
+    private UploadStatusEnum status;
+    private String etag;
+    private Long fileSize;
+    private String error;
+}
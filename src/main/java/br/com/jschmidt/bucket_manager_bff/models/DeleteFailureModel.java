@@ -0,0 +1,11 @@
+package br.com.jschmidt.bucket_manager_bff.models;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class DeleteFailureModel {
+    private String fileName;
+    private String error;
+}
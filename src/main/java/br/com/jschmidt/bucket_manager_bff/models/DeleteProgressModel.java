@@ -0,0 +1,16 @@
+package br.com.jschmidt.bucket_manager_bff.models;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class DeleteProgressModel {
+    private int batch;
+    private int deletedCount;
+    private List<DeleteFailureModel> failures;
+    private long totalDeleted;
+    private long totalFailed;
+}
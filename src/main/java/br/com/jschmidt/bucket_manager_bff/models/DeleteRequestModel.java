@@ -0,0 +1,15 @@
+package br.com.jschmidt.bucket_manager_bff.models;
+
+import lombok.Builder;
+import lombok.Data;
+import lombok.extern.jackson.Jacksonized;
+
+import java.util.List;
+
+@Data
+@Builder
+@Jacksonized
+public class DeleteRequestModel {
+    private String prefix;
+    private List<String> fileNames;
+}
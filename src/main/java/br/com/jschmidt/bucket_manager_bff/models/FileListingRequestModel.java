@@ -0,0 +1,13 @@
+package br.com.jschmidt.bucket_manager_bff.models;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class FileListingRequestModel {
+    private String prefix;
+    private String delimiter;
+    private int pageSize;
+    private String continuationToken;
+}
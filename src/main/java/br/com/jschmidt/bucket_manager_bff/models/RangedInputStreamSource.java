@@ -0,0 +1,14 @@
+package br.com.jschmidt.bucket_manager_bff.models;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@FunctionalInterface
+public interface RangedInputStreamSource {
+
+    /**
+     * Opens a stream over the bytes between {@code start} and {@code end}, both inclusive,
+     * asking the provider for that range only.
+     */
+    InputStream getInputStream(long start, long end) throws IOException;
+}
@@ -2,12 +2,20 @@ package br.com.jschmidt.bucket_manager_bff.models;
 
 import lombok.Builder;
 import lombok.Data;
-import org.springframework.core.io.Resource;
+import org.springframework.core.io.InputStreamSource;
+
+import java.nio.file.Path;
+import java.time.Instant;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 public class ResourceDownloadModel {
-    private Resource resource;
+    private InputStreamSource content;
+    private RangedInputStreamSource rangedContent;
+    private Long contentLength;
     private String fileName;
     private String contentType;
+    private String etag;
+    private Instant lastModified;
+    private Path localFile;
 }
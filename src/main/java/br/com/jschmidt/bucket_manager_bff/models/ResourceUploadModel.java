@@ -0,0 +1,14 @@
+package br.com.jschmidt.bucket_manager_bff.models;
+
+import lombok.Builder;
+import lombok.Data;
+import org.springframework.core.io.InputStreamSource;
+
+@Data
+@Builder
+public class ResourceUploadModel {
+    private InputStreamSource content;
+    private long contentLength;
+    private String fileName;
+    private String contentType;
+}
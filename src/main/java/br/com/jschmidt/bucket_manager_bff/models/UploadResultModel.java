@@ -0,0 +1,15 @@
+package br.com.jschmidt.bucket_manager_bff.models;
+
+import br.com.jschmidt.bucket_manager_bff.enums.UploadStatusEnum;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class UploadResultModel {
+    private String fileName;
+    private UploadStatusEnum status;
+    private String etag;
+    private Long fileSize;
+    private String error;
+}
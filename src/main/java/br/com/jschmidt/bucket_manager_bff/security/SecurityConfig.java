@@ -1,33 +1,25 @@
 package br.com.jschmidt.bucket_manager_bff.security;
 
-import br.com.jschmidt.bucket_manager_bff.security.jwt.JwtAuthenticationFilter;
+import br.com.jschmidt.bucket_manager_bff.security.jwt.CachingJwtDecoder;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
-import org.springframework.security.oauth2.jwt.JwtDecoder;
-import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
 import org.springframework.security.web.SecurityFilterChain;
-import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
-
-import javax.crypto.spec.SecretKeySpec;
 
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
 
-    private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final CachingJwtDecoder jwtDecoder;
     private final boolean securityEnabled;
-    private final String secret;
 
-    public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter,
-                          @Value("${security.enabled:true}") boolean securityEnabled,
-                          @Value("${jwt.secret}") String secret) {
-        this.jwtAuthenticationFilter = jwtAuthenticationFilter;
+    public SecurityConfig(CachingJwtDecoder jwtDecoder,
+                          @Value("${security.enabled:true}") boolean securityEnabled) {
+        this.jwtDecoder = jwtDecoder;
         this.securityEnabled = securityEnabled;
-        this.secret = secret;
     }
 
     @Bean
@@ -41,7 +33,8 @@ public class SecurityConfig {
         http
                 .authorizeHttpRequests(authz -> authz
                         // Public endpoints
-                        .requestMatchers("/login", "/session", "/error", "/actuator/health").permitAll()
+                        .requestMatchers("/login", "/session", "/error").permitAll()
+                        .requestMatchers("/actuator/health").permitAll()
                         .requestMatchers("/auth/**").permitAll()
                         // Protected API endpoints
                         .requestMatchers("/api/**").authenticated()
@@ -52,19 +45,10 @@ public class SecurityConfig {
                         .defaultSuccessUrl("/session", true)
                         .failureUrl("/login?error=true")
                 )
-                .oauth2ResourceServer(oauth2 -> oauth2.jwt(jwt -> {
-                    jwt.decoder(jwtDecoder(secret));
-                }))
-                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+                .oauth2ResourceServer(oauth2 -> oauth2.jwt(jwt -> jwt.decoder(jwtDecoder)))
                 .csrf(AbstractHttpConfigurer::disable);
 
         return http.build();
     }
 
-    public JwtDecoder jwtDecoder(String secret) {
-        return NimbusJwtDecoder
-                .withSecretKey(new SecretKeySpec(secret.getBytes(), "HmacSHA256"))
-                .build();
-    }
-
 }
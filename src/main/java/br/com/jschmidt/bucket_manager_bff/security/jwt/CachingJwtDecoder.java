@@ -0,0 +1,98 @@
+package br.com.jschmidt.bucket_manager_bff.security.jwt;
+
+import br.com.jschmidt.bucket_manager_bff.services.cache.NamedCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+
+@Component
+public class CachingJwtDecoder implements JwtDecoder, NamedCache {
+
+    private final JwtDecoder delegate;
+    private final Ticker ticker;
+    private final Cache<String, VerifiedJwt> cache;
+
+    @Autowired
+    public CachingJwtDecoder(JwtUtil jwtUtil,
+                             @Value("${jwt.cache.maximum-size:10000}") long maximumSize) {
+        this(NimbusJwtDecoder.withSecretKey(jwtUtil.getSecretKey()).build(), maximumSize, Ticker.systemTicker());
+    }
+
+    CachingJwtDecoder(JwtDecoder delegate, long maximumSize, Ticker ticker) {
+        this.delegate = delegate;
+        this.ticker = ticker;
+        this.cache = Caffeine.newBuilder()
+                .expireAfter(new VerifiedJwtExpiry())
+                .maximumSize(maximumSize)
+                .ticker(ticker)
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public String getName() {
+        return "jwt";
+    }
+
+    @Override
+    public Cache<?, ?> getNativeCache() {
+        return cache;
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        // Keyed by a digest so raw bearer tokens are never used as map keys.
+        return cache.get(digest(token), ignored -> {
+            Jwt jwt = delegate.decode(token);
+            long usableUntil = jwt.getExpiresAt() == null
+                    ? ticker.read()
+                    : ticker.read() + Math.max(0, Duration.between(Instant.now(), jwt.getExpiresAt()).toNanos());
+            return new VerifiedJwt(jwt, usableUntil);
+        }).jwt();
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record VerifiedJwt(Jwt jwt, long usableUntilNanos) {
+    }
+
+    private static class VerifiedJwtExpiry implements Expiry<String, VerifiedJwt> {
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedJwt value, long currentTime) {
+            return Math.max(0, value.usableUntilNanos() - currentTime);
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedJwt value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedJwt value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package br.com.jschmidt.bucket_manager_bff.services;
+
+import br.com.jschmidt.bucket_manager_bff.enums.CloudProviderEnum;
+import br.com.jschmidt.bucket_manager_bff.enums.UploadStatusEnum;
+import br.com.jschmidt.bucket_manager_bff.models.BucketFileModel;
+import br.com.jschmidt.bucket_manager_bff.models.UploadResultModel;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+@Service
+@Slf4j
+public class BatchUploadService {
+
+    private final StorageService storageService;
+    private final ExecutorService executor;
+    private final int concurrency;
+
+    public BatchUploadService(StorageService storageService,
+                              @Qualifier("batchUploadExecutor") ExecutorService executor,
+                              @Value("${storage.upload.batch.concurrency:8}") int concurrency) {
+        this.storageService = storageService;
+        this.executor = executor;
+        this.concurrency = concurrency;
+    }
+
+    public List<UploadResultModel> uploadFiles(CloudProviderEnum cloudProvider, String bucketName,
+                                               List<MultipartFile> files) {
+        log.info("Uploading batch of {} files to bucket: {} for cloud provider: {}",
+                files.size(), bucketName, cloudProvider);
+        Semaphore permits = new Semaphore(concurrency);
+        List<CompletableFuture<UploadResultModel>> results = new ArrayList<>(files.size());
+        for (MultipartFile file : files) {
+            results.add(dispatch(cloudProvider, bucketName, file, permits));
+        }
+        return results.stream()
+                .map(CompletableFuture::join)
+                .toList();
+    }
+
+    private CompletableFuture<UploadResultModel> dispatch(CloudProviderEnum cloudProvider, String bucketName,
+                                                          MultipartFile file, Semaphore permits) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return CompletableFuture.completedFuture(failed(file, "Batch upload interrupted"));
+        }
+        try {
+            return CompletableFuture.supplyAsync(() -> upload(cloudProvider, bucketName, file), executor)
+                    .whenComplete((result, error) -> permits.release());
+        } catch (RejectedExecutionException e) {
+            permits.release();
+            return CompletableFuture.completedFuture(failed(file, "Upload rejected: " + e.getMessage()));
+        }
+    }
+
+    private UploadResultModel upload(CloudProviderEnum cloudProvider, String bucketName, MultipartFile file) {
+        try {
+            BucketFileModel uploadedFile = storageService.uploadFile(cloudProvider, bucketName, file);
+            return UploadResultModel.builder()
+                    .fileName(file.getOriginalFilename())
+                    .status(UploadStatusEnum.SUCCESS)
+                    .etag(uploadedFile.getEtag())
+                    .fileSize(file.getSize())
+                    .build();
+        } catch (Exception e) {
+            // Content read failures surface as sneaky IOExceptions and must not abort the batch either.
+            log.warn("Failed to upload file: {} to bucket: {}", file.getOriginalFilename(), bucketName, e);
+            return failed(file, e.getMessage());
+        }
+    }
+
+    private UploadResultModel failed(MultipartFile file, String error) {
+        return UploadResultModel.builder()
+                .fileName(file.getOriginalFilename())
+                .status(UploadStatusEnum.FAILED)
+                .fileSize(file.getSize())
+                .error(error)
+                .build();
+    }
+}
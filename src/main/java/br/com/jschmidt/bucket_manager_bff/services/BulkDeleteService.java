@@ -0,0 +1,121 @@
+package br.com.jschmidt.bucket_manager_bff.services;
+
+import br.com.jschmidt.bucket_manager_bff.enums.CloudProviderEnum;
+import br.com.jschmidt.bucket_manager_bff.models.BucketFileModel;
+import br.com.jschmidt.bucket_manager_bff.models.DeleteFailureModel;
+import br.com.jschmidt.bucket_manager_bff.models.DeleteProgressModel;
+import br.com.jschmidt.bucket_manager_bff.models.DeleteRequestModel;
+import br.com.jschmidt.bucket_manager_bff.services.transfer.WindowedStreams;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+@Service
+@Slf4j
+public class BulkDeleteService {
+
+    private final StorageService storageService;
+    private final ExecutorService transferExecutor;
+    private final int concurrency;
+
+    public BulkDeleteService(StorageService storageService,
+                             @Qualifier("transferExecutor") ExecutorService transferExecutor,
+                             @Value("${storage.delete.concurrency:4}") int concurrency) {
+        this.storageService = storageService;
+        this.transferExecutor = transferExecutor;
+        this.concurrency = concurrency;
+    }
+
+    public Stream<DeleteProgressModel> deleteFiles(CloudProviderEnum cloudProvider, String bucketName,
+                                                   DeleteRequestModel deleteRequest) {
+        int batchSize = storageService.getDeleteBatchSize(cloudProvider);
+        Stream<List<String>> batches = batches(fileNamesToDelete(cloudProvider, bucketName, deleteRequest), batchSize);
+        DeleteProgress progress = new DeleteProgress();
+        return WindowedStreams.mapConcurrently(batches, concurrency, transferExecutor,
+                        batch -> new DeleteBatchResult(batch.size(), deleteBatch(cloudProvider, bucketName, batch)))
+                .map(progress::next);
+    }
+
+    private Stream<String> fileNamesToDelete(CloudProviderEnum cloudProvider, String bucketName,
+                                             DeleteRequestModel deleteRequest) {
+        if (deleteRequest.getFileNames() != null && !deleteRequest.getFileNames().isEmpty()) {
+            return deleteRequest.getFileNames().stream().distinct();
+        }
+        if (!StringUtils.hasText(deleteRequest.getPrefix())) {
+            throw new IllegalArgumentException("Either fileNames or a non-empty prefix must be informed");
+        }
+        // Listing continues from the last returned key, so deleting pages as they arrive does not skip any.
+        return storageService.streamFilesFromBucket(cloudProvider, bucketName, deleteRequest.getPrefix())
+                .map(BucketFileModel::getFileName);
+    }
+
+    private List<DeleteFailureModel> deleteBatch(CloudProviderEnum cloudProvider, String bucketName,
+                                                 List<String> fileNames) {
+        try {
+            return storageService.deleteFiles(cloudProvider, bucketName, fileNames);
+        } catch (RuntimeException e) {
+            log.warn("Failed to delete batch of {} files from bucket: {}", fileNames.size(), bucketName, e);
+            return fileNames.stream()
+                    .map(fileName -> DeleteFailureModel.builder()
+                            .fileName(fileName)
+                            .error(e.getMessage())
+                            .build())
+                    .toList();
+        }
+    }
+
+    private Stream<List<String>> batches(Stream<String> fileNames, int batchSize) {
+        Iterator<String> iterator = fileNames.iterator();
+        Iterator<List<String>> batches = new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public List<String> next() {
+                List<String> batch = new ArrayList<>(batchSize);
+                while (batch.size() < batchSize && iterator.hasNext()) {
+                    batch.add(iterator.next());
+                }
+                return batch;
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(batches, Spliterator.ORDERED), false)
+                .onClose(fileNames::close);
+    }
+
+    private static class DeleteProgress {
+
+        private int batch;
+        private long totalDeleted;
+        private long totalFailed;
+
+        DeleteProgressModel next(DeleteBatchResult result) {
+            int deletedCount = result.requested() - result.failures().size();
+            totalDeleted += deletedCount;
+            totalFailed += result.failures().size();
+            return DeleteProgressModel.builder()
+                    .batch(++batch)
+                    .deletedCount(deletedCount)
+                    .failures(result.failures())
+                    .totalDeleted(totalDeleted)
+                    .totalFailed(totalFailed)
+                    .build();
+        }
+    }
+
+    private record DeleteBatchResult(int requested, List<DeleteFailureModel> failures) {
+    }
+}
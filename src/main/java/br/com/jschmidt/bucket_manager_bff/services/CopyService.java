@@ -0,0 +1,104 @@
+package br.com.jschmidt.bucket_manager_bff.services;
+
+import br.com.jschmidt.bucket_manager_bff.enums.CloudProviderEnum;
+import br.com.jschmidt.bucket_manager_bff.enums.UploadStatusEnum;
+import br.com.jschmidt.bucket_manager_bff.models.BucketFileModel;
+import br.com.jschmidt.bucket_manager_bff.models.CopyRequestModel;
+import br.com.jschmidt.bucket_manager_bff.models.CopyResultModel;
+import br.com.jschmidt.bucket_manager_bff.models.ResourceDownloadModel;
+import br.com.jschmidt.bucket_manager_bff.models.ResourceUploadModel;
+import br.com.jschmidt.bucket_manager_bff.services.transfer.WindowedStreams;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Stream;
+
+@Service
+@Slf4j
+public class CopyService {
+
+    private final StorageService storageService;
+    private final ExecutorService executor;
+    private final int concurrency;
+
+    public CopyService(StorageService storageService,
+                       @Qualifier("batchUploadExecutor") ExecutorService executor,
+                       @Value("${storage.copy.concurrency:4}") int concurrency) {
+        this.storageService = storageService;
+        this.executor = executor;
+        this.concurrency = concurrency;
+    }
+
+    public Stream<CopyResultModel> copyFiles(CloudProviderEnum sourceProvider, String sourceBucketName,
+                                             CopyRequestModel copyRequest) {
+        if (copyRequest.getDestinationProvider() == null || !StringUtils.hasText(copyRequest.getDestinationBucket())) {
+            throw new IllegalArgumentException("destinationProvider and destinationBucket must be informed");
+        }
+        // Without a prefix every file would be its own destination: providers either reject that or rewrite the
+        // object in place, and a streamed copy would read the object while replacing it.
+        if (sourceProvider == copyRequest.getDestinationProvider()
+                && sourceBucketName.equals(copyRequest.getDestinationBucket())
+                && !StringUtils.hasLength(copyRequest.getDestinationPrefix())) {
+            throw new IllegalArgumentException("files cannot be copied onto themselves, inform a destinationPrefix");
+        }
+        log.info("Copying files from bucket: {} for cloud provider: {} to bucket: {} for cloud provider: {}",
+                sourceBucketName, sourceProvider, copyRequest.getDestinationBucket(),
+                copyRequest.getDestinationProvider());
+
+        Stream<String> fileNames = copyRequest.getFileNames() != null && !copyRequest.getFileNames().isEmpty()
+                ? copyRequest.getFileNames().stream().distinct()
+                : storageService.streamFilesFromBucket(sourceProvider, sourceBucketName, copyRequest.getPrefix())
+                        .map(BucketFileModel::getFileName);
+        return WindowedStreams.mapConcurrently(fileNames, concurrency, executor,
+                fileName -> copyFile(sourceProvider, sourceBucketName, fileName, copyRequest));
+    }
+
+    private CopyResultModel copyFile(CloudProviderEnum sourceProvider, String sourceBucketName, String sourceFileName,
+                                     CopyRequestModel copyRequest) {
+        String fileName = Objects.toString(copyRequest.getDestinationPrefix(), "") + sourceFileName;
+        try {
+            BucketFileModel copiedFile = sourceProvider == copyRequest.getDestinationProvider()
+                    ? storageService.copyFile(sourceProvider, sourceBucketName, sourceFileName,
+                            copyRequest.getDestinationBucket(), fileName)
+                    : streamFile(sourceProvider, sourceBucketName, sourceFileName, copyRequest, fileName);
+            return CopyResultModel.builder()
+                    .sourceFileName(sourceFileName)
+                    .fileName(fileName)
+                    .status(UploadStatusEnum.SUCCESS)
+                    .etag(copiedFile.getEtag())
+                    .fileSize(copiedFile.getFileSize())
+                    .build();
+        } catch (Exception e) {
+            log.warn("Failed to copy file: {} from bucket: {} to bucket: {}",
+                    sourceFileName, sourceBucketName, copyRequest.getDestinationBucket(), e);
+            return CopyResultModel.builder()
+                    .sourceFileName(sourceFileName)
+                    .fileName(fileName)
+                    .status(UploadStatusEnum.FAILED)
+                    .error(e.getMessage())
+                    .build();
+        }
+    }
+
+    private BucketFileModel streamFile(CloudProviderEnum sourceProvider, String sourceBucketName,
+                                       String sourceFileName, CopyRequestModel copyRequest, String fileName) {
+        // The download is piped into the upload: large objects are read as parallel ranges and written
+        // as parallel parts, so at most the download window and the part buffer pool are held in memory.
+        ResourceDownloadModel download = storageService.downloadFile(sourceProvider, sourceBucketName, sourceFileName);
+        if (download.getContentLength() == null) {
+            throw new IllegalStateException("Size of %s is unknown".formatted(sourceFileName));
+        }
+        return storageService.uploadFile(copyRequest.getDestinationProvider(), copyRequest.getDestinationBucket(),
+                ResourceUploadModel.builder()
+                        .content(download.getContent())
+                        .contentLength(download.getContentLength())
+                        .fileName(fileName)
+                        .contentType(download.getContentType())
+                        .build());
+    }
+}
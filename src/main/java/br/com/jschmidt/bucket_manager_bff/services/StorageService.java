@@ -2,8 +2,18 @@ package br.com.jschmidt.bucket_manager_bff.services;
 
 import br.com.jschmidt.bucket_manager_bff.enums.CloudProviderEnum;
 import br.com.jschmidt.bucket_manager_bff.models.BucketFileModel;
+import br.com.jschmidt.bucket_manager_bff.models.BucketFilePageModel;
+import br.com.jschmidt.bucket_manager_bff.models.DeleteFailureModel;
+import br.com.jschmidt.bucket_manager_bff.models.FileListingRequestModel;
 import br.com.jschmidt.bucket_manager_bff.models.ResourceDownloadModel;
+import br.com.jschmidt.bucket_manager_bff.models.ResourceUploadModel;
+import br.com.jschmidt.bucket_manager_bff.services.cache.DiskObjectCache;
+import br.com.jschmidt.bucket_manager_bff.services.cache.ListingCache;
+import br.com.jschmidt.bucket_manager_bff.services.cache.ListingCacheKey;
+import br.com.jschmidt.bucket_manager_bff.services.cache.PresignedUrlCache;
+import br.com.jschmidt.bucket_manager_bff.services.cache.SingleFlight;
 import br.com.jschmidt.bucket_manager_bff.services.strategies.StorageAccessStrategy;
+import br.com.jschmidt.bucket_manager_bff.services.transfer.ParallelRangedDownloader;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
@@ -13,39 +23,129 @@ import java.util.Map;
 import java.util.Set;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Slf4j
 public class StorageService {
 
     private final Map<CloudProviderEnum, StorageAccessStrategy> storageAccessStrategies;
+    private final ListingCache listingCache;
+    private final PresignedUrlCache presignedUrlCache;
+    private final ParallelRangedDownloader parallelRangedDownloader;
+    private final DiskObjectCache diskObjectCache;
+    private final SingleFlight<InFlightKey> inFlightCalls = new SingleFlight<>();
 
-    public StorageService(Set<StorageAccessStrategy> storageAccessStrategies) {
+    public StorageService(Set<StorageAccessStrategy> storageAccessStrategies, ListingCache listingCache,
+                          PresignedUrlCache presignedUrlCache, ParallelRangedDownloader parallelRangedDownloader,
+                          DiskObjectCache diskObjectCache) {
         this.storageAccessStrategies = storageAccessStrategies.stream()
                 .collect(Collectors
                         .toUnmodifiableMap(StorageAccessStrategy::getCloudProviderType, Function.identity()));
+        this.listingCache = listingCache;
+        this.presignedUrlCache = presignedUrlCache;
+        this.parallelRangedDownloader = parallelRangedDownloader;
+        this.diskObjectCache = diskObjectCache;
     }
 
     public List<BucketFileModel> getFilesFromBucket(CloudProviderEnum cloudProvider, String bucketName) {
         log.info("Fetching files from bucket: {} for cloud provider: {}", bucketName, cloudProvider);
-        return getStrategyInstance(cloudProvider).getFilesFromBucket(bucketName);
+        StorageAccessStrategy strategy = getStrategyInstance(cloudProvider);
+        return listingCache.get(ListingCacheKey.ofBucket(cloudProvider, bucketName),
+                () -> inFlightCalls.execute(new InFlightKey("listing", cloudProvider, bucketName, null),
+                        () -> strategy.getFilesFromBucket(bucketName)));
+    }
+
+    public BucketFilePageModel getFilesPageFromBucket(CloudProviderEnum cloudProvider, String bucketName,
+                                                      FileListingRequestModel listingRequest) {
+        log.info("Fetching files page from bucket: {} with prefix: {} for cloud provider: {}",
+                bucketName, listingRequest.getPrefix(), cloudProvider);
+        StorageAccessStrategy strategy = getStrategyInstance(cloudProvider);
+        return listingCache.get(ListingCacheKey.ofPage(cloudProvider, bucketName, listingRequest),
+                () -> inFlightCalls.execute(new InFlightKey("page", cloudProvider, bucketName, listingRequest),
+                        () -> strategy.getFilesPageFromBucket(bucketName, listingRequest)));
+    }
+
+    public Stream<BucketFileModel> streamFilesFromBucket(CloudProviderEnum cloudProvider, String bucketName,
+                                                         String prefix) {
+        log.info("Streaming files from bucket: {} with prefix: {} for cloud provider: {}",
+                bucketName, prefix, cloudProvider);
+        return getStrategyInstance(cloudProvider).streamFilesFromBucket(bucketName, prefix);
     }
 
     public ResourceDownloadModel downloadFile(CloudProviderEnum cloudProvider, String bucketName, String fileName) {
         log.info("Downloading file: {} from bucket: {} for cloud provider: {}", fileName, bucketName, cloudProvider);
-        return getStrategyInstance(cloudProvider).downloadFile(bucketName, fileName);
+        ResourceDownloadModel model = fetchDownload(cloudProvider, bucketName, fileName);
+        return diskObjectCache.apply(cloudProvider, bucketName, parallelRangedDownloader.apply(cloudProvider, model));
+    }
+
+    public ResourceDownloadModel downloadArchiveEntry(CloudProviderEnum cloudProvider, String bucketName,
+                                                      String fileName) {
+        log.info("Downloading archive entry: {} from bucket: {} for cloud provider: {}",
+                fileName, bucketName, cloudProvider);
+        // Read as a single sequential stream: archives already open several entries ahead, and a parallel
+        // ranged stream would hold its whole chunk window in memory for each of them.
+        return diskObjectCache.apply(cloudProvider, bucketName, fetchDownload(cloudProvider, bucketName, fileName));
+    }
+
+    private ResourceDownloadModel fetchDownload(CloudProviderEnum cloudProvider, String bucketName, String fileName) {
+        StorageAccessStrategy strategy = getStrategyInstance(cloudProvider);
+        // Waiters share the metadata call; the content sources are lazy, so each one opens its own stream
+        // and gets its own copy of the model to decorate.
+        InFlightKey key = new InFlightKey("download", cloudProvider, bucketName, fileName);
+        return inFlightCalls.execute(key, () -> strategy.downloadFile(bucketName, fileName))
+                .toBuilder()
+                .build();
     }
 
     public String generatePresignedUrl(CloudProviderEnum cloudProvider, String bucketName, String fileName) {
         log.info("Generating presigned URL for file: {} in bucket: {} for cloud provider: {}",
                 fileName, bucketName, cloudProvider);
-        return getStrategyInstance(cloudProvider).generatePresignedUrl(bucketName, fileName);
+        StorageAccessStrategy strategy = getStrategyInstance(cloudProvider);
+        return presignedUrlCache.get(cloudProvider, bucketName, fileName,
+                () -> strategy.generatePresignedUrl(bucketName, fileName));
     }
 
-    public void uploadFile(CloudProviderEnum cloudProvider, String bucketName, MultipartFile file) {
+    public BucketFileModel uploadFile(CloudProviderEnum cloudProvider, String bucketName, MultipartFile file) {
         log.info("Uploading file: {} to bucket: {} for cloud provider: {}",
                 file.getOriginalFilename(), bucketName, cloudProvider);
-        getStrategyInstance(cloudProvider).uploadFile(file, bucketName);
+        BucketFileModel uploadedFile = getStrategyInstance(cloudProvider).uploadFile(file, bucketName);
+        listingCache.invalidate(cloudProvider, bucketName, file.getOriginalFilename());
+        return uploadedFile;
+    }
+
+    public BucketFileModel uploadFile(CloudProviderEnum cloudProvider, String bucketName, ResourceUploadModel upload) {
+        log.info("Streaming upload of file: {} ({} bytes) to bucket: {} for cloud provider: {}",
+                upload.getFileName(), upload.getContentLength(), bucketName, cloudProvider);
+        BucketFileModel uploadedFile = getStrategyInstance(cloudProvider).uploadFile(upload, bucketName);
+        listingCache.invalidate(cloudProvider, bucketName, upload.getFileName());
+        return uploadedFile;
+    }
+
+    public BucketFileModel copyFile(CloudProviderEnum cloudProvider, String sourceBucketName, String sourceFileName,
+                                    String bucketName, String fileName) {
+        log.info("Copying file: {} from bucket: {} to file: {} in bucket: {} for cloud provider: {}",
+                sourceFileName, sourceBucketName, fileName, bucketName, cloudProvider);
+        BucketFileModel copiedFile = getStrategyInstance(cloudProvider)
+                .copyFile(sourceBucketName, sourceFileName, bucketName, fileName);
+        listingCache.invalidate(cloudProvider, bucketName, fileName);
+        return copiedFile;
+    }
+
+    public int getDeleteBatchSize(CloudProviderEnum cloudProvider) {
+        return getStrategyInstance(cloudProvider).getDeleteBatchSize();
+    }
+
+    public List<DeleteFailureModel> deleteFiles(CloudProviderEnum cloudProvider, String bucketName,
+                                                List<String> fileNames) {
+        log.info("Deleting {} files from bucket: {} for cloud provider: {}", fileNames.size(), bucketName, cloudProvider);
+        try {
+            return getStrategyInstance(cloudProvider).deleteFiles(bucketName, fileNames);
+        } finally {
+            // Even a failed batch may have removed some of its files.
+            listingCache.invalidate(cloudProvider, bucketName, null);
+            presignedUrlCache.invalidate(cloudProvider, bucketName, fileNames);
+        }
     }
 
     private StorageAccessStrategy getStrategyInstance(CloudProviderEnum cloudProvider) {
@@ -56,4 +156,7 @@ public class StorageService {
         }
         return storageProvider;
     }
+
+    private record InFlightKey(String operation, CloudProviderEnum cloudProvider, String bucketName, Object key) {
+    }
 }
@@ -0,0 +1,309 @@
+package br.com.jschmidt.bucket_manager_bff.services.cache;
+
+import br.com.jschmidt.bucket_manager_bff.enums.CloudProviderEnum;
+import br.com.jschmidt.bucket_manager_bff.models.ResourceDownloadModel;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+@Component
+@Slf4j
+public class DiskObjectCache implements NamedCache {
+
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final int KEY_LENGTH = 64;
+
+    private final boolean enabled;
+    private final Path directory;
+    private final long maximumObjectSize;
+    private final Cache<String, CachedObject> index;
+    private final Set<String> filling = ConcurrentHashMap.newKeySet();
+
+    public DiskObjectCache(@Value("${storage.cache.disk.enabled:false}") boolean enabled,
+                           @Value("${storage.cache.disk.directory:${java.io.tmpdir}/bucket-manager-bff-cache}") Path directory,
+                           @Value("${storage.cache.disk.maximum-size:1GB}") DataSize maximumSize,
+                           @Value("${storage.cache.disk.maximum-object-size:64MB}") DataSize maximumObjectSize,
+                           @Value("${storage.cache.disk.deletion-delay:1m}") Duration deletionDelay) {
+        this.enabled = enabled;
+        this.directory = directory;
+        this.maximumObjectSize = maximumObjectSize.toBytes();
+        // A download may already have handed an evicted file to sendfile, which only opens it once the handler
+        // returns; deleting it right away would abort a response whose status was already sent.
+        Executor deletions = deletionDelay.isZero()
+                ? Runnable::run
+                : CompletableFuture.delayedExecutor(deletionDelay.toMillis(), TimeUnit.MILLISECONDS);
+        this.index = Caffeine.newBuilder()
+                .maximumWeight(maximumSize.toBytes())
+                .weigher((String key, CachedObject object) -> (int) Math.min(Integer.MAX_VALUE, object.size()))
+                .removalListener((String key, CachedObject object, RemovalCause cause) -> {
+                    if (object != null) {
+                        deletions.execute(() -> deleteQuietly(object.path()));
+                    }
+                })
+                .executor(Runnable::run)
+                .recordStats()
+                .build();
+        if (enabled) {
+            loadExistingObjects();
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "disk-object";
+    }
+
+    @Override
+    public Cache<?, ?> getNativeCache() {
+        return index;
+    }
+
+    public ResourceDownloadModel apply(CloudProviderEnum cloudProvider, String bucketName, ResourceDownloadModel model) {
+        if (!enabled || model.getLocalFile() != null || model.getEtag() == null || model.getContentLength() == null
+                || model.getContentLength() > maximumObjectSize) {
+            return model;
+        }
+
+        // The etag is part of the key, so a changed object simply misses and the stale copy ages out.
+        String key = keyOf(cloudProvider, bucketName, model.getFileName(), model.getEtag());
+        InputStreamSource providerContent = model.getContent();
+        CachedObject cached = index.getIfPresent(key);
+        if (cached != null) {
+            model.setLocalFile(cached.path());
+            model.setContent(() -> openCached(cached.path(), providerContent));
+            return model;
+        }
+
+        // Only one download at a time writes a given object; concurrent ones stream straight from the provider.
+        long contentLength = model.getContentLength();
+        model.setContent(() -> openFilling(providerContent, key, contentLength));
+        return model;
+    }
+
+    private InputStream openFilling(InputStreamSource providerContent, String key, long contentLength)
+            throws IOException {
+        if (!filling.add(key)) {
+            return providerContent.getInputStream();
+        }
+        try {
+            return new CacheFillingInputStream(providerContent.getInputStream(), key, contentLength);
+        } catch (IOException | RuntimeException e) {
+            filling.remove(key);
+            throw e;
+        }
+    }
+
+    private InputStream openCached(Path path, InputStreamSource providerContent) throws IOException {
+        try {
+            return Files.newInputStream(path);
+        } catch (NoSuchFileException e) {
+            log.debug("Cached object {} was evicted before being read, falling back to the provider", path);
+            return providerContent.getInputStream();
+        }
+    }
+
+    private void store(String key, Path tempFile, long size) throws IOException {
+        if (index.asMap().containsKey(key)) {
+            Files.delete(tempFile);
+            return;
+        }
+        String fileName = tempFile.getFileName().toString();
+        Path target = tempFile.resolveSibling(fileName.substring(0, fileName.length() - TEMP_SUFFIX.length()));
+        Files.move(tempFile, target, StandardCopyOption.ATOMIC_MOVE);
+        if (index.asMap().putIfAbsent(key, new CachedObject(target, size)) != null) {
+            Files.delete(target);
+        }
+    }
+
+    private void loadExistingObjects() {
+        try {
+            Files.createDirectories(directory);
+            try (Stream<Path> files = Files.list(directory)) {
+                files.filter(Files::isRegularFile).forEach(this::loadExistingObject);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not prepare the disk object cache at " + directory, e);
+        }
+        log.info("Disk object cache at {} started with {} objects", directory, index.estimatedSize());
+    }
+
+    private void loadExistingObject(Path file) {
+        String fileName = file.getFileName().toString();
+        int separator = fileName.indexOf('.');
+        if (separator != KEY_LENGTH) {
+            return;
+        }
+        if (fileName.endsWith(TEMP_SUFFIX)) {
+            deleteQuietly(file);
+            return;
+        }
+        try {
+            CachedObject object = new CachedObject(file, Files.size(file));
+            if (index.asMap().putIfAbsent(fileName.substring(0, separator), object) != null) {
+                deleteQuietly(file);
+            }
+        } catch (IOException e) {
+            log.warn("Ignoring unreadable cached object {}: {}", file, e.getMessage());
+        }
+    }
+
+    private static String keyOf(CloudProviderEnum cloudProvider, String bucketName, String fileName, String etag) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            String identity = String.join("|", cloudProvider.name(), bucketName, fileName, etag);
+            return HexFormat.of().formatHex(digest.digest(identity.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Could not delete cached object {}: {}", path, e.getMessage());
+        }
+    }
+
+    private record CachedObject(Path path, long size) {
+    }
+
+    private class CacheFillingInputStream extends FilterInputStream {
+
+        private final String key;
+        private final long expectedSize;
+        private Path tempFile;
+        private OutputStream cacheOutput;
+        private long written;
+        private boolean claimed = true;
+
+        CacheFillingInputStream(InputStream in, String key, long expectedSize) {
+            super(in);
+            this.key = key;
+            this.expectedSize = expectedSize;
+            try {
+                tempFile = Files.createTempFile(directory, key + ".", TEMP_SUFFIX);
+                cacheOutput = Files.newOutputStream(tempFile);
+            } catch (IOException e) {
+                log.warn("Not caching object {}: {}", key, e.getMessage());
+                abandon();
+            }
+        }
+
+        @Override
+        public int read() throws IOException {
+            int read = super.read();
+            if (read == -1) {
+                complete();
+            } else if (cacheOutput != null) {
+                tee(new byte[]{(byte) read}, 0, 1);
+            }
+            return read;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read == -1) {
+                complete();
+            } else if (read > 0 && cacheOutput != null) {
+                tee(buffer, offset, read);
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            // Skipped bytes never reach the cache file, so it could only ever be incomplete.
+            abandon();
+            return super.skip(n);
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                abandon();
+            }
+        }
+
+        private void tee(byte[] buffer, int offset, int length) {
+            try {
+                cacheOutput.write(buffer, offset, length);
+                written += length;
+            } catch (IOException e) {
+                log.warn("Not caching object {}: {}", key, e.getMessage());
+                abandon();
+            }
+        }
+
+        private void complete() {
+            if (cacheOutput == null) {
+                return;
+            }
+            try {
+                cacheOutput.close();
+                cacheOutput = null;
+                if (written == expectedSize) {
+                    store(key, tempFile, written);
+                    tempFile = null;
+                }
+            } catch (IOException e) {
+                log.warn("Not caching object {}: {}", key, e.getMessage());
+            } finally {
+                abandon();
+            }
+        }
+
+        private void abandon() {
+            if (cacheOutput != null) {
+                try {
+                    cacheOutput.close();
+                } catch (IOException e) {
+                    log.debug("Ignoring failure to close cache file of {}: {}", key, e.getMessage());
+                }
+                cacheOutput = null;
+            }
+            if (tempFile != null) {
+                deleteQuietly(tempFile);
+                tempFile = null;
+            }
+            if (claimed) {
+                filling.remove(key);
+                claimed = false;
+            }
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package br.com.jschmidt.bucket_manager_bff.services.cache;
+
+import br.com.jschmidt.bucket_manager_bff.enums.CloudProviderEnum;
+import br.com.jschmidt.bucket_manager_bff.models.BucketFilePageModel;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Supplier;
+
+@Component
+@Slf4j
+public class ListingCache implements NamedCache {
+
+    private final boolean enabled;
+    private final Cache<ListingCacheKey, Object> cache;
+
+    public ListingCache(@Value("${storage.cache.listing.enabled:true}") boolean enabled,
+                        @Value("${storage.cache.listing.ttl:30s}") Duration ttl,
+                        @Value("${storage.cache.listing.maximum-entries:100000}") long maximumEntries) {
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumWeight(maximumEntries)
+                .weigher(ListingCache::weigh)
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public String getName() {
+        return "listing";
+    }
+
+    @Override
+    public Cache<?, ?> getNativeCache() {
+        return cache;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T get(ListingCacheKey key, Supplier<T> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        return (T) cache.get(key, ignored -> loader.get());
+    }
+
+    public void invalidate(CloudProviderEnum cloudProvider, String bucketName, String fileName) {
+        if (!enabled) {
+            return;
+        }
+        cache.asMap().keySet().removeIf(key -> key.covers(cloudProvider, bucketName, fileName));
+        log.debug("Invalidated listings of bucket: {} for cloud provider: {} covering file: {}",
+                bucketName, cloudProvider, fileName);
+    }
+
+    private static int weigh(ListingCacheKey key, Object listing) {
+        return switch (listing) {
+            case List<?> files -> files.size() + 1;
+            case BucketFilePageModel page -> sizeOf(page.getFiles()) + sizeOf(page.getCommonPrefixes()) + 1;
+            default -> 1;
+        };
+    }
+
+    private static int sizeOf(List<?> items) {
+        return items == null ? 0 : items.size();
+    }
+}
@@ -0,0 +1,28 @@
+package br.com.jschmidt.bucket_manager_bff.services.cache;
+
+import br.com.jschmidt.bucket_manager_bff.enums.CloudProviderEnum;
+import br.com.jschmidt.bucket_manager_bff.models.FileListingRequestModel;
+
+public record ListingCacheKey(CloudProviderEnum cloudProvider,
+                              String bucketName,
+                              String prefix,
+                              String delimiter,
+                              Integer pageSize,
+                              String continuationToken) {
+
+    public static ListingCacheKey ofBucket(CloudProviderEnum cloudProvider, String bucketName) {
+        return new ListingCacheKey(cloudProvider, bucketName, null, null, null, null);
+    }
+
+    public static ListingCacheKey ofPage(CloudProviderEnum cloudProvider, String bucketName,
+                                         FileListingRequestModel listingRequest) {
+        return new ListingCacheKey(cloudProvider, bucketName, listingRequest.getPrefix(),
+                listingRequest.getDelimiter(), listingRequest.getPageSize(), listingRequest.getContinuationToken());
+    }
+
+    public boolean covers(CloudProviderEnum cloudProvider, String bucketName, String fileName) {
+        return this.cloudProvider == cloudProvider
+                && this.bucketName.equals(bucketName)
+                && (prefix == null || fileName == null || fileName.startsWith(prefix));
+    }
+}
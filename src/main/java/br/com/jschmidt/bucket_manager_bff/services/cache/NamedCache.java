@@ -0,0 +1,9 @@
+package br.com.jschmidt.bucket_manager_bff.services.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+
+public interface NamedCache {
+
+    String getName();
+    Cache<?, ?> getNativeCache();
+}
@@ -0,0 +1,99 @@
+package br.com.jschmidt.bucket_manager_bff.services.cache;
+
+import br.com.jschmidt.bucket_manager_bff.enums.CloudProviderEnum;
+import br.com.jschmidt.bucket_manager_bff.services.strategies.StorageAccessStrategy;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.function.Supplier;
+
+@Component
+public class PresignedUrlCache implements NamedCache {
+
+    private final boolean enabled;
+    private final Ticker ticker;
+    private final Duration usableLifetime;
+    private final Cache<PresignedUrlKey, PresignedUrl> cache;
+
+    @Autowired
+    public PresignedUrlCache(@Value("${storage.cache.presigned-url.enabled:true}") boolean enabled,
+                             @Value("${storage.cache.presigned-url.safety-margin:2m}") Duration safetyMargin,
+                             @Value("${storage.cache.presigned-url.maximum-size:10000}") long maximumSize) {
+        this(enabled, safetyMargin, maximumSize, Ticker.systemTicker());
+    }
+
+    PresignedUrlCache(boolean enabled, Duration safetyMargin, long maximumSize, Ticker ticker) {
+        this.enabled = enabled && safetyMargin.compareTo(StorageAccessStrategy.PRESIGNED_URL_DURATION) < 0;
+        this.ticker = ticker;
+        this.usableLifetime = StorageAccessStrategy.PRESIGNED_URL_DURATION.minus(safetyMargin);
+        this.cache = Caffeine.newBuilder()
+                .expireAfter(new PresignedUrlExpiry())
+                .maximumSize(maximumSize)
+                .ticker(ticker)
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public String getName() {
+        return "presigned-url";
+    }
+
+    @Override
+    public Cache<?, ?> getNativeCache() {
+        return cache;
+    }
+
+    public String get(CloudProviderEnum cloudProvider, String bucketName, String fileName, Supplier<String> signer) {
+        if (!enabled) {
+            return signer.get();
+        }
+        return cache.get(new PresignedUrlKey(cloudProvider, bucketName, fileName), ignored -> {
+            // Read the clock before signing so the entry never outlives the signature.
+            long usableUntil = ticker.read() + usableLifetime.toNanos();
+            return new PresignedUrl(signer.get(), usableUntil);
+        }).url();
+    }
+
+    public void invalidate(CloudProviderEnum cloudProvider, String bucketName, Collection<String> fileNames) {
+        if (!enabled) {
+            return;
+        }
+        cache.invalidateAll(fileNames.stream()
+                .map(fileName -> new PresignedUrlKey(cloudProvider, bucketName, fileName))
+                .toList());
+    }
+
+    private record PresignedUrlKey(CloudProviderEnum cloudProvider, String bucketName, String fileName) {
+    }
+
+    private record PresignedUrl(String url, long usableUntilNanos) {
+    }
+
+    private static class PresignedUrlExpiry implements Expiry<PresignedUrlKey, PresignedUrl> {
+
+        @Override
+        public long expireAfterCreate(PresignedUrlKey key, PresignedUrl value, long currentTime) {
+            return Math.max(0, value.usableUntilNanos() - currentTime);
+        }
+
+        @Override
+        public long expireAfterUpdate(PresignedUrlKey key, PresignedUrl value, long currentTime,
+                                      long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(PresignedUrlKey key, PresignedUrl value, long currentTime,
+                                    long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
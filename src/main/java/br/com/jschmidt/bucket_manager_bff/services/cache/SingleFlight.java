@@ -0,0 +1,46 @@
+package br.com.jschmidt.bucket_manager_bff.services.cache;
+
+import lombok.SneakyThrows;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent calls with the same key: the first caller runs the call and every caller
+ * arriving while it is in flight receives the same result or exception. Nothing is kept afterwards.
+ */
+public class SingleFlight<K> {
+
+    private final ConcurrentMap<K, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    @SuppressWarnings("unchecked")
+    public <V> V execute(K key, Supplier<V> call) {
+        CompletableFuture<Object> result = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, result);
+        if (existing != null) {
+            return (V) await(existing);
+        }
+        try {
+            V value = call.get();
+            result.complete(value);
+            return value;
+        } catch (Throwable e) {
+            result.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, result);
+        }
+    }
+
+    @SneakyThrows
+    private static Object await(CompletableFuture<Object> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            throw e.getCause();
+        }
+    }
+}
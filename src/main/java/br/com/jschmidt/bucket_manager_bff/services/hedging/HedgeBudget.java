@@ -0,0 +1,40 @@
+package br.com.jschmidt.bucket_manager_bff.services.hedging;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket capping hedges to a fraction of the requests: every request earns {@code ratio} of a token,
+ * every hedge spends a whole one, and at most {@code burst} tokens are saved up. A slow provider therefore
+ * gets at most {@code ratio} more load, instead of twice as much.
+ */
+public class HedgeBudget {
+
+    private static final long SCALE = 1000;
+
+    private final long earnedPerRequest;
+    private final long maximum;
+    private final AtomicLong tokens = new AtomicLong();
+
+    public HedgeBudget(double ratio, int burst) {
+        if (ratio < 0 || burst < 1) {
+            throw new IllegalArgumentException("ratio must not be negative and burst must be at least 1");
+        }
+        this.earnedPerRequest = Math.round(ratio * SCALE);
+        this.maximum = burst * SCALE;
+    }
+
+    public void onRequest() {
+        tokens.getAndUpdate(current -> Math.min(maximum, current + earnedPerRequest));
+    }
+
+    public boolean tryAcquire() {
+        long current;
+        do {
+            current = tokens.get();
+            if (current < SCALE) {
+                return false;
+            }
+        } while (!tokens.compareAndSet(current, current - SCALE));
+        return true;
+    }
+}
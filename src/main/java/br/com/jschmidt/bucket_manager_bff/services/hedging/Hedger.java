@@ -0,0 +1,149 @@
+package br.com.jschmidt.bucket_manager_bff.services.hedging;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Runs an idempotent call and, when it has not answered within the tracked latency percentile, sends an
+ * identical second attempt if the budget allows it. The first attempt to succeed wins; the other one is
+ * interrupted, and a result it still produces is handed to {@code discard}, e.g. to close a stream. An attempt
+ * cancelled that way is recorded with the time it had taken so far, so slow losers still count towards the
+ * percentile.
+ */
+public class Hedger {
+
+    private static final String HEDGES = "storage.hedge.requests";
+
+    private final ExecutorService executor;
+    private final LatencyTracker latencies;
+    private final HedgeBudget budget;
+    private final long minimumDelayNanos;
+    private final Counter sent;
+    private final Counter won;
+    private final Counter throttled;
+
+    public Hedger(ExecutorService executor, LatencyTracker latencies, HedgeBudget budget, Duration minimumDelay,
+                  MeterRegistry meterRegistry, String provider, String operation) {
+        this.executor = executor;
+        this.latencies = latencies;
+        this.budget = budget;
+        this.minimumDelayNanos = minimumDelay.toNanos();
+        this.sent = hedges(meterRegistry, provider, operation, "sent");
+        this.won = hedges(meterRegistry, provider, operation, "won");
+        this.throttled = hedges(meterRegistry, provider, operation, "throttled");
+    }
+
+    public <T> T call(Callable<T> call, Consumer<? super T> discard) throws Exception {
+        budget.onRequest();
+        long percentileNanos = latencies.percentileNanos();
+        if (percentileNanos < 0) {
+            // Still learning the latency of the operation, so there is no delay to hedge after yet.
+            long start = System.nanoTime();
+            T result = call.call();
+            latencies.record(System.nanoTime() - start);
+            return result;
+        }
+
+        ExecutorCompletionService<T> completion = new ExecutorCompletionService<>(executor);
+        AtomicBoolean answered = new AtomicBoolean();
+        List<Attempt<T>> attempts = new ArrayList<>(2);
+        List<Future<T>> futures = new ArrayList<>(2);
+        try {
+            attempts.add(new Attempt<>(call, answered, discard));
+            futures.add(completion.submit(attempts.getFirst()));
+            Future<T> done = completion.poll(Math.max(percentileNanos, minimumDelayNanos), TimeUnit.NANOSECONDS);
+            if (done == null) {
+                if (budget.tryAcquire()) {
+                    sent.increment();
+                    attempts.add(new Attempt<>(call, answered, discard));
+                    futures.add(completion.submit(attempts.getLast()));
+                } else {
+                    throttled.increment();
+                }
+                done = completion.take();
+            }
+            try {
+                T result = done.get();
+                if (done != futures.getFirst()) {
+                    won.increment();
+                }
+                return result;
+            } catch (ExecutionException e) {
+                if (futures.size() == 1) {
+                    throw unwrap(e);
+                }
+                // One attempt failed or lost the race, the outcome is whatever the other one answers.
+                try {
+                    return completion.take().get();
+                } catch (ExecutionException other) {
+                    throw unwrap(other);
+                }
+            }
+        } finally {
+            for (int i = 0; i < futures.size(); i++) {
+                if (futures.get(i).cancel(true)) {
+                    attempts.get(i).measure();
+                }
+            }
+        }
+    }
+
+    private static Exception unwrap(ExecutionException e) throws Exception {
+        if (e.getCause() instanceof Error error) {
+            throw error;
+        }
+        return e.getCause() instanceof Exception cause ? cause : e;
+    }
+
+    private class Attempt<T> implements Callable<T> {
+
+        private final Callable<T> call;
+        private final AtomicBoolean answered;
+        private final Consumer<? super T> discard;
+        private final AtomicBoolean measured = new AtomicBoolean();
+        private final long start = System.nanoTime();
+
+        Attempt(Callable<T> call, AtomicBoolean answered, Consumer<? super T> discard) {
+            this.call = call;
+            this.answered = answered;
+            this.discard = discard;
+        }
+
+        @Override
+        public T call() throws Exception {
+            T result = call.call();
+            measure();
+            if (!answered.compareAndSet(false, true)) {
+                discard.accept(result);
+                throw new CancellationException("Another attempt answered first");
+            }
+            return result;
+        }
+
+        // Once per attempt: either when it returns or when it is cancelled, whichever comes first.
+        void measure() {
+            if (measured.compareAndSet(false, true)) {
+                latencies.record(System.nanoTime() - start);
+            }
+        }
+    }
+
+    private static Counter hedges(MeterRegistry meterRegistry, String provider, String operation, String outcome) {
+        return Counter.builder(HEDGES)
+                .tags("provider", provider, "operation", operation, "outcome", outcome)
+                .register(meterRegistry);
+    }
+}
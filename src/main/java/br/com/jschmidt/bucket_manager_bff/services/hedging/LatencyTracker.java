@@ -0,0 +1,55 @@
+package br.com.jschmidt.bucket_manager_bff.services.hedging;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps the latest latencies of an operation and a percentile over them. The percentile is recomputed every
+ * few samples instead of on every read, and stays unknown until enough samples were seen.
+ */
+public class LatencyTracker {
+
+    private static final int RECOMPUTE_EVERY = 32;
+
+    private final long[] samples;
+    private final double percentile;
+    private final int minimumSamples;
+    private final ReentrantLock lock = new ReentrantLock();
+    private int next;
+    private int count;
+    private int sinceRecompute;
+    private volatile long percentileNanos = -1;
+
+    public LatencyTracker(int window, double percentile) {
+        if (window <= 0 || percentile <= 0 || percentile > 100) {
+            throw new IllegalArgumentException("window must be positive and percentile between 0 and 100");
+        }
+        this.samples = new long[window];
+        this.percentile = percentile;
+        this.minimumSamples = Math.min(window, 100);
+    }
+
+    public void record(long nanos) {
+        lock.lock();
+        try {
+            samples[next] = nanos;
+            next = (next + 1) % samples.length;
+            count = Math.min(count + 1, samples.length);
+            if (++sinceRecompute >= RECOMPUTE_EVERY && count >= minimumSamples) {
+                sinceRecompute = 0;
+                long[] sorted = Arrays.copyOf(samples, count);
+                Arrays.sort(sorted);
+                percentileNanos = sorted[(int) Math.ceil(percentile / 100 * count) - 1];
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the percentile in nanoseconds, or -1 while there are not enough samples
+     */
+    public long percentileNanos() {
+        return percentileNanos;
+    }
+}
@@ -0,0 +1,10 @@
+package br.com.jschmidt.bucket_manager_bff.services.strategies;
+
+public interface AbortableStream {
+
+    /**
+     * Drops the connection under a content stream that will not be read any further, without reading the
+     * rest of the body as closing it may do to reuse the connection.
+     */
+    void abort();
+}
@@ -0,0 +1,122 @@
+package br.com.jschmidt.bucket_manager_bff.services.strategies;
+
+import br.com.jschmidt.bucket_manager_bff.enums.CloudProviderEnum;
+import br.com.jschmidt.bucket_manager_bff.models.BucketFileModel;
+import br.com.jschmidt.bucket_manager_bff.models.BucketFilePageModel;
+import br.com.jschmidt.bucket_manager_bff.models.DeleteFailureModel;
+import br.com.jschmidt.bucket_manager_bff.models.FileListingRequestModel;
+import br.com.jschmidt.bucket_manager_bff.models.RangedInputStreamSource;
+import br.com.jschmidt.bucket_manager_bff.models.ResourceDownloadModel;
+import br.com.jschmidt.bucket_manager_bff.models.ResourceUploadModel;
+import br.com.jschmidt.bucket_manager_bff.services.hedging.Hedger;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.InputStreamSource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.stream.Stream;
+
+@Slf4j
+public class HedgingStorageAccessStrategy implements StorageAccessStrategy {
+
+    public static final List<String> HEDGED_OPERATIONS = List.of("list", "list-page", "download", "content");
+
+    private final StorageAccessStrategy delegate;
+    private final Map<String, Hedger> hedgers;
+
+    public HedgingStorageAccessStrategy(StorageAccessStrategy delegate, Map<String, Hedger> hedgers) {
+        this.delegate = delegate;
+        this.hedgers = hedgers;
+    }
+
+    @Override
+    public CloudProviderEnum getCloudProviderType() {
+        return delegate.getCloudProviderType();
+    }
+
+    @Override
+    public List<BucketFileModel> getFilesFromBucket(String bucketName) {
+        return hedge("list", () -> delegate.getFilesFromBucket(bucketName));
+    }
+
+    @Override
+    public BucketFilePageModel getFilesPageFromBucket(String bucketName, FileListingRequestModel listingRequest) {
+        return hedge("list-page", () -> delegate.getFilesPageFromBucket(bucketName, listingRequest));
+    }
+
+    @Override
+    public Stream<BucketFileModel> streamFilesFromBucket(String bucketName, String prefix) {
+        return delegate.streamFilesFromBucket(bucketName, prefix);
+    }
+
+    @Override
+    public String generatePresignedUrl(String bucketName, String fileName) {
+        return delegate.generatePresignedUrl(bucketName, fileName);
+    }
+
+    @Override
+    public ResourceDownloadModel downloadFile(String bucketName, String fileName) {
+        ResourceDownloadModel model = hedge("download", () -> delegate.downloadFile(bucketName, fileName));
+        // Opening the content waits for the first byte of the provider response, so that is what gets hedged;
+        // once a stream is returned the body is read from that single response.
+        InputStreamSource content = model.getContent();
+        if (content != null) {
+            model.setContent(() -> open(content::getInputStream));
+        }
+        RangedInputStreamSource rangedContent = model.getRangedContent();
+        if (rangedContent != null) {
+            model.setRangedContent((start, end) -> open(() -> rangedContent.getInputStream(start, end)));
+        }
+        return model;
+    }
+
+    @Override
+    public BucketFileModel uploadFile(ResourceUploadModel upload, String bucketName) {
+        return delegate.uploadFile(upload, bucketName);
+    }
+
+    @Override
+    public BucketFileModel copyFile(String sourceBucketName, String sourceFileName, String bucketName,
+                                    String fileName) {
+        return delegate.copyFile(sourceBucketName, sourceFileName, bucketName, fileName);
+    }
+
+    @Override
+    public int getDeleteBatchSize() {
+        return delegate.getDeleteBatchSize();
+    }
+
+    @Override
+    public List<DeleteFailureModel> deleteFiles(String bucketName, List<String> fileNames) {
+        return delegate.deleteFiles(bucketName, fileNames);
+    }
+
+    @SneakyThrows
+    private <T> T hedge(String operation, Callable<T> call) {
+        return hedgers.get(operation).call(call, result -> {
+        });
+    }
+
+    @SneakyThrows
+    private InputStream open(Callable<InputStream> call) {
+        return hedgers.get("content").call(call, HedgingStorageAccessStrategy::closeQuietly);
+    }
+
+    private static void closeQuietly(InputStream stream) {
+        // Closing a provider stream may read the rest of the body to reuse the connection, which is what hedging
+        // tries to avoid, so it is aborted instead where the provider can.
+        if (stream instanceof AbortableStream abortable) {
+            abortable.abort();
+            return;
+        }
+        try {
+            stream.close();
+        } catch (IOException e) {
+            log.debug("Ignoring failure to close the stream of a losing hedge: {}", e.getMessage());
+        }
+    }
+}
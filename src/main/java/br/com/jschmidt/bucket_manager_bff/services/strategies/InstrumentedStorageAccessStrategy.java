@@ -0,0 +1,270 @@
+package br.com.jschmidt.bucket_manager_bff.services.strategies;
+
+import br.com.jschmidt.bucket_manager_bff.enums.CloudProviderEnum;
+import br.com.jschmidt.bucket_manager_bff.models.BucketFileModel;
+import br.com.jschmidt.bucket_manager_bff.models.BucketFilePageModel;
+import br.com.jschmidt.bucket_manager_bff.models.DeleteFailureModel;
+import br.com.jschmidt.bucket_manager_bff.models.FileListingRequestModel;
+import br.com.jschmidt.bucket_manager_bff.models.ResourceDownloadModel;
+import br.com.jschmidt.bucket_manager_bff.models.ResourceUploadModel;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.util.unit.DataSize;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+public class InstrumentedStorageAccessStrategy implements StorageAccessStrategy {
+
+    private static final String OPERATION_TIMER = "storage.operation";
+    private static final String OPERATION_ERRORS = "storage.operation.errors";
+    private static final String TRANSFERRED_BYTES = "storage.transfer.bytes";
+    private static final String OBJECT_SIZE = "storage.object.size";
+    private static final String OTHER_BUCKETS = "other";
+
+    private final StorageAccessStrategy delegate;
+    private final MeterRegistry meterRegistry;
+    private final String provider;
+    private final Set<String> taggedBuckets;
+
+    // Bucket names come from the request path, so only the configured ones become tag values; any other
+    // name would add a histogram series per bucket a caller cares to make up.
+    public InstrumentedStorageAccessStrategy(StorageAccessStrategy delegate, MeterRegistry meterRegistry,
+                                             Set<String> taggedBuckets) {
+        this.delegate = delegate;
+        this.meterRegistry = meterRegistry;
+        this.provider = delegate.getCloudProviderType().name();
+        this.taggedBuckets = taggedBuckets;
+    }
+
+    @Override
+    public CloudProviderEnum getCloudProviderType() {
+        return delegate.getCloudProviderType();
+    }
+
+    @Override
+    public List<BucketFileModel> getFilesFromBucket(String bucketName) {
+        return record("list", bucketName, () -> delegate.getFilesFromBucket(bucketName));
+    }
+
+    @Override
+    public BucketFilePageModel getFilesPageFromBucket(String bucketName, FileListingRequestModel listingRequest) {
+        return record("list-page", bucketName, () -> delegate.getFilesPageFromBucket(bucketName, listingRequest));
+    }
+
+    @Override
+    public Stream<BucketFileModel> streamFilesFromBucket(String bucketName, String prefix) {
+        // Pages are fetched while the stream is consumed, so the listing is timed until it is closed, with
+        // the outcome of fetching them rather than of opening the stream.
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Stream<BucketFileModel> files = record("stream", bucketName, sample,
+                () -> delegate.streamFilesFromBucket(bucketName, prefix));
+        FailureTrackingSpliterator<BucketFileModel> pages = new FailureTrackingSpliterator<>(files.spliterator());
+        return StreamSupport.stream(pages, false)
+                .onClose(files::close)
+                .onClose(() -> {
+                    if (pages.failure == null) {
+                        sample.stop(timer("stream", bucketName, "success"));
+                    } else {
+                        sample.stop(timer("stream", bucketName, "error"));
+                        countError("stream", bucketName, pages.failure);
+                    }
+                });
+    }
+
+    @Override
+    public String generatePresignedUrl(String bucketName, String fileName) {
+        return record("presign", bucketName, () -> delegate.generatePresignedUrl(bucketName, fileName));
+    }
+
+    @Override
+    public ResourceDownloadModel downloadFile(String bucketName, String fileName) {
+        ResourceDownloadModel model = record("download", bucketName, () -> delegate.downloadFile(bucketName, fileName));
+        if (model.getContentLength() != null) {
+            objectSize("download").record(model.getContentLength());
+        }
+        Counter bytesIn = transferredBytes(bucketName, "in");
+        InputStreamSource content = model.getContent();
+        if (content != null) {
+            model.setContent(() -> new CountingInputStream(content.getInputStream(), bytesIn));
+        }
+        if (model.getRangedContent() != null) {
+            var rangedContent = model.getRangedContent();
+            model.setRangedContent((start, end) ->
+                    new CountingInputStream(rangedContent.getInputStream(start, end), bytesIn));
+        }
+        return model;
+    }
+
+    @Override
+    public BucketFileModel uploadFile(ResourceUploadModel upload, String bucketName) {
+        BucketFileModel uploadedFile = record("upload", bucketName, () -> delegate.uploadFile(upload, bucketName));
+        objectSize("upload").record(upload.getContentLength());
+        transferredBytes(bucketName, "out").increment(upload.getContentLength());
+        return uploadedFile;
+    }
+
+    @Override
+    public BucketFileModel copyFile(String sourceBucketName, String sourceFileName, String bucketName,
+                                    String fileName) {
+        return record("copy", bucketName,
+                () -> delegate.copyFile(sourceBucketName, sourceFileName, bucketName, fileName));
+    }
+
+    @Override
+    public int getDeleteBatchSize() {
+        return delegate.getDeleteBatchSize();
+    }
+
+    @Override
+    public List<DeleteFailureModel> deleteFiles(String bucketName, List<String> fileNames) {
+        return record("delete", bucketName, () -> delegate.deleteFiles(bucketName, fileNames));
+    }
+
+    private <T> T record(String operation, String bucketName, Supplier<T> call) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        T result = record(operation, bucketName, sample, call);
+        sample.stop(timer(operation, bucketName, "success"));
+        return result;
+    }
+
+    private <T> T record(String operation, String bucketName, Timer.Sample sample, Supplier<T> call) {
+        try {
+            return call.get();
+        } catch (Throwable e) {
+            // Strategies may throw checked exceptions sneakily, so everything is counted and rethrown.
+            sample.stop(timer(operation, bucketName, "error"));
+            countError(operation, bucketName, e);
+            throw e;
+        }
+    }
+
+    private void countError(String operation, String bucketName, Throwable e) {
+        Counter.builder(OPERATION_ERRORS)
+                .tags("provider", provider, "operation", operation, "bucket", bucketTag(bucketName),
+                        "exception", e.getClass().getSimpleName())
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private String bucketTag(String bucketName) {
+        return taggedBuckets.contains(bucketName) ? bucketName : OTHER_BUCKETS;
+    }
+
+    private Timer timer(String operation, String bucketName, String outcome) {
+        return Timer.builder(OPERATION_TIMER)
+                .tags("provider", provider, "operation", operation, "bucket", bucketTag(bucketName),
+                        "outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private Counter transferredBytes(String bucketName, String direction) {
+        return Counter.builder(TRANSFERRED_BYTES)
+                .baseUnit("bytes")
+                .tags("provider", provider, "bucket", bucketTag(bucketName), "direction", direction)
+                .register(meterRegistry);
+    }
+
+    private DistributionSummary objectSize(String operation) {
+        return DistributionSummary.builder(OBJECT_SIZE)
+                .baseUnit("bytes")
+                .tags("provider", provider, "operation", operation)
+                .publishPercentileHistogram()
+                .minimumExpectedValue((double) DataSize.ofKilobytes(1).toBytes())
+                .maximumExpectedValue((double) DataSize.ofGigabytes(5).toBytes())
+                .register(meterRegistry);
+    }
+
+    private static class FailureTrackingSpliterator<T> extends Spliterators.AbstractSpliterator<T> {
+
+        private final Spliterator<T> delegate;
+        private boolean inAction;
+        private Throwable failure;
+
+        FailureTrackingSpliterator(Spliterator<T> delegate) {
+            super(delegate.estimateSize(), delegate.characteristics() & ~Spliterator.SIZED);
+            this.delegate = delegate;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            try {
+                return delegate.tryAdvance(element -> {
+                    inAction = true;
+                    action.accept(element);
+                    inAction = false;
+                });
+            } catch (RuntimeException | Error e) {
+                // Failures of whoever consumes the stream, such as a client going away, are not the provider's.
+                if (!inAction && failure == null) {
+                    failure = e;
+                }
+                inAction = false;
+                throw e;
+            }
+        }
+    }
+
+    // An AbortableStream so a hedge that lost the race can still abort the provider stream underneath instead of
+    // draining it.
+    private static class CountingInputStream extends FilterInputStream implements AbortableStream {
+
+        private final Counter counter;
+
+        CountingInputStream(InputStream in, Counter counter) {
+            super(in);
+            this.counter = counter;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int read = super.read();
+            if (read != -1) {
+                counter.increment();
+            }
+            return read;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read > 0) {
+                counter.increment(read);
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            counter.increment(skipped);
+            return skipped;
+        }
+
+        @Override
+        public void abort() {
+            if (in instanceof AbortableStream abortable) {
+                abortable.abort();
+                return;
+            }
+            try {
+                close();
+            } catch (IOException e) {
+                // Nothing to abort underneath, and a failure to close the stream being discarded does not matter.
+            }
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package br.com.jschmidt.bucket_manager_bff.services.strategies;
+
+import br.com.jschmidt.bucket_manager_bff.configuration.ProviderResilienceProperties;
+import br.com.jschmidt.bucket_manager_bff.enums.CloudProviderEnum;
+import br.com.jschmidt.bucket_manager_bff.exceptions.BucketNotFoundException;
+import br.com.jschmidt.bucket_manager_bff.exceptions.FileNotFoundException;
+import br.com.jschmidt.bucket_manager_bff.exceptions.OperationNotSupportedException;
+import br.com.jschmidt.bucket_manager_bff.services.hedging.HedgeBudget;
+import br.com.jschmidt.bucket_manager_bff.services.hedging.Hedger;
+import br.com.jschmidt.bucket_manager_bff.services.hedging.LatencyTracker;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.core.IntervalFunction;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedRetryMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedTimeLimiterMetrics;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiter;
+import io.github.resilience4j.timelimiter.TimeLimiterConfig;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Component
+public class ProviderResilience {
+
+    // Caused by the request rather than the provider: neither retried nor counted against its health.
+    private static final List<Class<? extends Throwable>> CLIENT_ERRORS = List.of(FileNotFoundException.class,
+            BucketNotFoundException.class, IllegalArgumentException.class, OperationNotSupportedException.class);
+
+    private static final int HEDGE_BURST = 10;
+
+    private final ProviderResilienceProperties properties;
+    private final ExecutorService executor;
+    private final MeterRegistry meterRegistry;
+    private final BulkheadRegistry bulkheads = BulkheadRegistry.ofDefaults();
+    private final RetryRegistry retries = RetryRegistry.ofDefaults();
+    private final CircuitBreakerRegistry circuitBreakers = CircuitBreakerRegistry.ofDefaults();
+    private final TimeLimiterRegistry timeLimiters = TimeLimiterRegistry.ofDefaults();
+
+    public ProviderResilience(ProviderResilienceProperties properties,
+                              @Qualifier("providerCallExecutor") ExecutorService executor,
+                              MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.executor = executor;
+        this.meterRegistry = meterRegistry;
+        TaggedBulkheadMetrics.ofBulkheadRegistry(bulkheads).bindTo(meterRegistry);
+        TaggedRetryMetrics.ofRetryRegistry(retries).bindTo(meterRegistry);
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(circuitBreakers).bindTo(meterRegistry);
+        TaggedTimeLimiterMetrics.ofTimeLimiterRegistry(timeLimiters).bindTo(meterRegistry);
+    }
+
+    public StorageAccessStrategy apply(StorageAccessStrategy strategy) {
+        CloudProviderEnum cloudProvider = strategy.getCloudProviderType();
+        ProviderResilienceProperties.Settings settings = properties.forProvider(cloudProvider);
+        // Hedges go inside the isolation: the deadline and the circuit breaker see one call, whichever
+        // attempt answers it.
+        StorageAccessStrategy target = settings.isHedgingEnabled() ? hedging(strategy, settings) : strategy;
+        if (!settings.isEnabled()) {
+            return target;
+        }
+
+        String name = cloudProvider.name();
+        Bulkhead bulkhead = bulkheads.bulkhead(name, BulkheadConfig.custom()
+                .maxConcurrentCalls(settings.getMaxConcurrentCalls())
+                .maxWaitDuration(settings.getMaxWaitDuration())
+                .build());
+        Bulkhead transferBulkhead = bulkheads.bulkhead(name + "-transfers", BulkheadConfig.custom()
+                .maxConcurrentCalls(settings.getMaxConcurrentTransfers())
+                .maxWaitDuration(settings.getMaxWaitDuration())
+                .build());
+        Retry retry = retries.retry(name, RetryConfig.custom()
+                .maxAttempts(settings.getRetryMaxAttempts())
+                .intervalFunction(IntervalFunction.ofExponentialRandomBackoff(settings.getRetryWaitDuration(), 2, 0.5))
+                .retryOnException(ProviderResilience::isRetryable)
+                .build());
+        CircuitBreaker circuitBreaker = circuitBreakers.circuitBreaker(name, CircuitBreakerConfig.custom()
+                .failureRateThreshold(settings.getFailureRateThreshold())
+                .slidingWindowSize(settings.getSlidingWindowSize())
+                .minimumNumberOfCalls(settings.getMinimumNumberOfCalls())
+                .waitDurationInOpenState(settings.getWaitDurationInOpenState())
+                .permittedNumberOfCallsInHalfOpenState(settings.getPermittedCallsInHalfOpenState())
+                .ignoreException(ProviderResilience::isClientError)
+                .build());
+        Map<String, TimeLimiter> operationTimeLimiters = settings.getTimeouts().entrySet().stream()
+                .collect(Collectors.toUnmodifiableMap(Map.Entry::getKey,
+                        timeout -> timeLimiters.timeLimiter(name + "-" + timeout.getKey(), TimeLimiterConfig.custom()
+                                .timeoutDuration(timeout.getValue())
+                                .cancelRunningFuture(true)
+                                .build())));
+        return new ResilientStorageAccessStrategy(target, bulkhead, transferBulkhead, retry, circuitBreaker,
+                operationTimeLimiters, executor);
+    }
+
+    private StorageAccessStrategy hedging(StorageAccessStrategy strategy,
+                                          ProviderResilienceProperties.Settings settings) {
+        String provider = strategy.getCloudProviderType().name();
+        HedgeBudget budget = new HedgeBudget(settings.getHedgingBudget(), HEDGE_BURST);
+        Map<String, Hedger> hedgers = HedgingStorageAccessStrategy.HEDGED_OPERATIONS.stream()
+                .collect(Collectors.toUnmodifiableMap(Function.identity(), operation -> new Hedger(executor,
+                        new LatencyTracker(settings.getHedgingWindow(), settings.getHedgingPercentile()), budget,
+                        settings.getHedgingMinimumDelay(), meterRegistry, provider, operation)));
+        return new HedgingStorageAccessStrategy(strategy, hedgers);
+    }
+
+    private static boolean isRetryable(Throwable e) {
+        return !isClientError(e) && !(e instanceof CallNotPermittedException);
+    }
+
+    private static boolean isClientError(Throwable e) {
+        return CLIENT_ERRORS.stream().anyMatch(type -> type.isInstance(e));
+    }
+}
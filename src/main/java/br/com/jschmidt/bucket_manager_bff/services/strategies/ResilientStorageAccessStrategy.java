@@ -0,0 +1,162 @@
+package br.com.jschmidt.bucket_manager_bff.services.strategies;
+
+import br.com.jschmidt.bucket_manager_bff.enums.CloudProviderEnum;
+import br.com.jschmidt.bucket_manager_bff.exceptions.ProviderUnavailableException;
+import br.com.jschmidt.bucket_manager_bff.models.BucketFileModel;
+import br.com.jschmidt.bucket_manager_bff.models.BucketFilePageModel;
+import br.com.jschmidt.bucket_manager_bff.models.DeleteFailureModel;
+import br.com.jschmidt.bucket_manager_bff.models.FileListingRequestModel;
+import br.com.jschmidt.bucket_manager_bff.models.ResourceDownloadModel;
+import br.com.jschmidt.bucket_manager_bff.models.ResourceUploadModel;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.timelimiter.TimeLimiter;
+import lombok.SneakyThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+public class ResilientStorageAccessStrategy implements StorageAccessStrategy {
+
+    private final StorageAccessStrategy delegate;
+    private final Bulkhead bulkhead;
+    private final Bulkhead transferBulkhead;
+    private final Retry retry;
+    private final CircuitBreaker circuitBreaker;
+    private final Map<String, TimeLimiter> timeLimiters;
+    private final ExecutorService executor;
+
+    public ResilientStorageAccessStrategy(StorageAccessStrategy delegate, Bulkhead bulkhead, Bulkhead transferBulkhead,
+                                          Retry retry, CircuitBreaker circuitBreaker,
+                                          Map<String, TimeLimiter> timeLimiters, ExecutorService executor) {
+        this.delegate = delegate;
+        this.bulkhead = bulkhead;
+        this.transferBulkhead = transferBulkhead;
+        this.retry = retry;
+        this.circuitBreaker = circuitBreaker;
+        this.timeLimiters = timeLimiters;
+        this.executor = executor;
+    }
+
+    @Override
+    public CloudProviderEnum getCloudProviderType() {
+        return delegate.getCloudProviderType();
+    }
+
+    @Override
+    public List<BucketFileModel> getFilesFromBucket(String bucketName) {
+        return read("list", () -> delegate.getFilesFromBucket(bucketName));
+    }
+
+    @Override
+    public BucketFilePageModel getFilesPageFromBucket(String bucketName, FileListingRequestModel listingRequest) {
+        return read("list-page", () -> delegate.getFilesPageFromBucket(bucketName, listingRequest));
+    }
+
+    @Override
+    public Stream<BucketFileModel> streamFilesFromBucket(String bucketName, String prefix) {
+        // Only the first page is guarded, later pages are fetched by whoever consumes the stream.
+        return read("stream", () -> firstPageFetched(delegate.streamFilesFromBucket(bucketName, prefix)));
+    }
+
+    @Override
+    public String generatePresignedUrl(String bucketName, String fileName) {
+        return read("presign", () -> delegate.generatePresignedUrl(bucketName, fileName));
+    }
+
+    @Override
+    public ResourceDownloadModel downloadFile(String bucketName, String fileName) {
+        // Covers the metadata call, the content is streamed afterwards by the response.
+        return read("download", () -> delegate.downloadFile(bucketName, fileName));
+    }
+
+    @Override
+    public BucketFileModel uploadFile(ResourceUploadModel upload, String bucketName) {
+        // The content may be a one-shot stream, so uploads are never retried.
+        return transfer("upload", () -> delegate.uploadFile(upload, bucketName));
+    }
+
+    @Override
+    public BucketFileModel copyFile(String sourceBucketName, String sourceFileName, String bucketName,
+                                    String fileName) {
+        return transfer("copy", () -> delegate.copyFile(sourceBucketName, sourceFileName, bucketName, fileName));
+    }
+
+    @Override
+    public int getDeleteBatchSize() {
+        return delegate.getDeleteBatchSize();
+    }
+
+    @Override
+    public List<DeleteFailureModel> deleteFiles(String bucketName, List<String> fileNames) {
+        return write("delete", () -> delegate.deleteFiles(bucketName, fileNames));
+    }
+
+    private <T> T read(String operation, Supplier<T> call) {
+        return isolate(bulkhead, Retry.decorateSupplier(retry, guard(operation, call)));
+    }
+
+    private <T> T write(String operation, Supplier<T> call) {
+        return isolate(bulkhead, guard(operation, call));
+    }
+
+    // Uploads and copies hold their permit for as long as the object takes to move, so they get a bulkhead of
+    // their own and cannot use up the permits that reads need.
+    private <T> T transfer(String operation, Supplier<T> call) {
+        return isolate(transferBulkhead, guard(operation, call));
+    }
+
+    private <T> Supplier<T> guard(String operation, Supplier<T> call) {
+        TimeLimiter timeLimiter = timeLimiters.get(operation);
+        Supplier<T> attempt = timeLimiter == null ? call : () -> callWithin(timeLimiter, operation, call);
+        return CircuitBreaker.decorateSupplier(circuitBreaker, attempt);
+    }
+
+    // One bulkhead permit covers every attempt, so retries never add to the concurrency of a provider.
+    private <T> T isolate(Bulkhead bulkhead, Supplier<T> call) {
+        try {
+            return Bulkhead.decorateSupplier(bulkhead, call).get();
+        } catch (BulkheadFullException e) {
+            throw new ProviderUnavailableException(getCloudProviderType(), bulkhead == transferBulkhead
+                    ? "too many concurrent transfers" : "too many concurrent calls", e);
+        } catch (CallNotPermittedException e) {
+            throw new ProviderUnavailableException(getCloudProviderType(), "circuit breaker is open", e);
+        }
+    }
+
+    // Provider paginators are lazy and send no request until the stream is consumed, so the first element is
+    // pulled here for the first page to be fetched within the deadline, the retries and the circuit breaker.
+    private static <T> Stream<T> firstPageFetched(Stream<T> stream) {
+        Spliterator<T> spliterator = stream.spliterator();
+        List<T> first = new ArrayList<>(1);
+        try {
+            spliterator.tryAdvance(first::add);
+        } catch (RuntimeException e) {
+            stream.close();
+            throw e;
+        }
+        return Stream.concat(first.stream(), StreamSupport.stream(spliterator, false)).onClose(stream::close);
+    }
+
+    @SneakyThrows
+    private <T> T callWithin(TimeLimiter timeLimiter, String operation, Supplier<T> call) {
+        // The call runs on the executor so the request thread is released at the deadline; the provider
+        // call itself is interrupted and is bounded by the transport socket timeout.
+        try {
+            return timeLimiter.executeFutureSupplier(() -> executor.submit(call::get));
+        } catch (TimeoutException e) {
+            throw new ProviderUnavailableException(getCloudProviderType(), "%s did not complete within %s"
+                    .formatted(operation, timeLimiter.getTimeLimiterConfig().getTimeoutDuration()), e);
+        }
+    }
+}
@@ -2,16 +2,38 @@ package br.com.jschmidt.bucket_manager_bff.services.strategies;
 
 import br.com.jschmidt.bucket_manager_bff.enums.CloudProviderEnum;
 import br.com.jschmidt.bucket_manager_bff.models.BucketFileModel;
+import br.com.jschmidt.bucket_manager_bff.models.BucketFilePageModel;
+import br.com.jschmidt.bucket_manager_bff.models.DeleteFailureModel;
+import br.com.jschmidt.bucket_manager_bff.models.FileListingRequestModel;
 import br.com.jschmidt.bucket_manager_bff.models.ResourceDownloadModel;
+import br.com.jschmidt.bucket_manager_bff.models.ResourceUploadModel;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface StorageAccessStrategy {
 
+    Duration PRESIGNED_URL_DURATION = Duration.ofMinutes(15);
+
     CloudProviderEnum getCloudProviderType();
     List<BucketFileModel> getFilesFromBucket(String bucketName);
+    BucketFilePageModel getFilesPageFromBucket(String bucketName, FileListingRequestModel listingRequest);
+    Stream<BucketFileModel> streamFilesFromBucket(String bucketName, String prefix);
     String generatePresignedUrl(String bucketName, String fileName);
     ResourceDownloadModel downloadFile(String bucketName, String fileName);
-    void uploadFile(MultipartFile file, String bucketName);
+    BucketFileModel uploadFile(ResourceUploadModel upload, String bucketName);
+    BucketFileModel copyFile(String sourceBucketName, String sourceFileName, String bucketName, String fileName);
+    int getDeleteBatchSize();
+    List<DeleteFailureModel> deleteFiles(String bucketName, List<String> fileNames);
+
+    default BucketFileModel uploadFile(MultipartFile file, String bucketName) {
+        return uploadFile(ResourceUploadModel.builder()
+                .content(file)
+                .contentLength(file.getSize())
+                .fileName(file.getOriginalFilename())
+                .contentType(file.getContentType())
+                .build(), bucketName);
+    }
 }
@@ -1,38 +1,76 @@
 package br.com.jschmidt.bucket_manager_bff.services.strategies.impl;
 
 import br.com.jschmidt.bucket_manager_bff.enums.CloudProviderEnum;
+import br.com.jschmidt.bucket_manager_bff.exceptions.BucketNotFoundException;
+import br.com.jschmidt.bucket_manager_bff.exceptions.FileNotFoundException;
 import br.com.jschmidt.bucket_manager_bff.models.BucketFileModel;
+import br.com.jschmidt.bucket_manager_bff.models.BucketFilePageModel;
+import br.com.jschmidt.bucket_manager_bff.models.DeleteFailureModel;
+import br.com.jschmidt.bucket_manager_bff.models.FileListingRequestModel;
 import br.com.jschmidt.bucket_manager_bff.models.ResourceDownloadModel;
+import br.com.jschmidt.bucket_manager_bff.models.ResourceUploadModel;
+import br.com.jschmidt.bucket_manager_bff.services.strategies.AbortableStream;
 import br.com.jschmidt.bucket_manager_bff.services.strategies.StorageAccessStrategy;
+import br.com.jschmidt.bucket_manager_bff.services.transfer.ChunkedUploadEngine;
 import lombok.SneakyThrows;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBooleanProperty;
-import org.springframework.core.io.ByteArrayResource;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
-import org.springframework.web.multipart.MultipartFile;
+import software.amazon.awssdk.core.ResponseInputStream;
 import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CommonPrefix;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompletedMultipartUpload;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CopyObjectRequest;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.Delete;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsRequest;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
 import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Response;
+import software.amazon.awssdk.services.s3.model.NoSuchBucketException;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.ObjectIdentifier;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Object;
+import software.amazon.awssdk.services.s3.model.UploadPartCopyRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
 import software.amazon.awssdk.services.s3.presigner.S3Presigner;
 import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
 
-import java.time.Duration;
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Component
 @ConditionalOnBooleanProperty(name = "cloud.aws.enabled", havingValue = true, matchIfMissing = false)
 public class AwsStorageAccessStrategyImpl implements StorageAccessStrategy {
 
+    private static final int MAX_MULTIPART_PARTS = 10_000;
+    private static final int MAX_DELETE_OBJECTS_KEYS = 1_000;
+    private static final long MAX_COPY_OBJECT_SIZE = 5L * 1024 * 1024 * 1024;
+    private static final long COPY_PART_SIZE = 512L * 1024 * 1024;
+
     private final S3Client s3Client;
     private final S3Presigner s3Presigner;
+    private final ChunkedUploadEngine chunkedUploadEngine;
 
-    public AwsStorageAccessStrategyImpl(S3Client s3Client, S3Presigner s3Presigner) {
+    public AwsStorageAccessStrategyImpl(S3Client s3Client, S3Presigner s3Presigner,
+                                        ChunkedUploadEngine chunkedUploadEngine) {
         this.s3Client = s3Client;
         this.s3Presigner = s3Presigner;
+        this.chunkedUploadEngine = chunkedUploadEngine;
     }
 
     @Override
@@ -42,57 +80,288 @@ public class AwsStorageAccessStrategyImpl implements StorageAccessStrategy {
 
     @Override
     public List<BucketFileModel> getFilesFromBucket(String bucketName) {
+        List<BucketFileModel> files = new ArrayList<>();
         ListObjectsV2Request request = ListObjectsV2Request.builder().bucket(bucketName).build();
-        return s3Client.listObjectsV2(request)
+        ListObjectsV2Response response;
+        do {
+            response = s3Client.listObjectsV2(request);
+            response.contents().forEach(it -> files.add(toBucketFileModel(bucketName, it)));
+            request = request.toBuilder().continuationToken(response.nextContinuationToken()).build();
+        } while (Boolean.TRUE.equals(response.isTruncated()));
+        return files;
+    }
+
+    @Override
+    public BucketFilePageModel getFilesPageFromBucket(String bucketName, FileListingRequestModel listingRequest) {
+        ListObjectsV2Request request = ListObjectsV2Request.builder()
+                .bucket(bucketName)
+                .prefix(listingRequest.getPrefix())
+                .delimiter(listingRequest.getDelimiter())
+                .maxKeys(listingRequest.getPageSize())
+                .continuationToken(listingRequest.getContinuationToken())
+                .build();
+
+        ListObjectsV2Response response;
+        try {
+            response = s3Client.listObjectsV2(request);
+        } catch (NoSuchBucketException e) {
+            throw new BucketNotFoundException(bucketName, e);
+        }
+
+        return BucketFilePageModel.builder()
+                .files(response.contents().stream()
+                        .map(it -> toBucketFileModel(bucketName, it))
+                        .toList())
+                .commonPrefixes(response.commonPrefixes().stream()
+                        .map(CommonPrefix::prefix)
+                        .toList())
+                .nextContinuationToken(Boolean.TRUE.equals(response.isTruncated())
+                        ? response.nextContinuationToken()
+                        : null)
+                .build();
+    }
+
+    @Override
+    public Stream<BucketFileModel> streamFilesFromBucket(String bucketName, String prefix) {
+        ListObjectsV2Request request = ListObjectsV2Request.builder()
+                .bucket(bucketName)
+                .prefix(prefix)
+                .build();
+        return s3Client.listObjectsV2Paginator(request)
                 .contents()
                 .stream()
-                .map(it -> BucketFileModel.builder()
-                        .fileName(it.key())
-                        .lastModified(it.lastModified())
-                        .fileSize(it.size())
-                        .cloudProvider(getCloudProviderType())
-                        .bucketName(bucketName)
-                        .etag(it.eTag())
-                        .build())
-                .collect(Collectors.toList());
+                .map(it -> toBucketFileModel(bucketName, it));
     }
 
     @Override
     public String generatePresignedUrl(String bucketName, String fileName) {
         GetObjectPresignRequest presignRequest = GetObjectPresignRequest.builder()
-                .signatureDuration(Duration.ofMinutes(15))
+                .signatureDuration(PRESIGNED_URL_DURATION)
                 .getObjectRequest(req -> req.bucket(bucketName).key(fileName))
                 .build();
         return s3Presigner.presignGetObject(presignRequest).url().toString();
     }
 
     @Override
-    @SneakyThrows
     public ResourceDownloadModel downloadFile(String bucketName, String fileName) {
+        HeadObjectResponse objectMetadata = headObject(bucketName, fileName);
+
         GetObjectRequest objectRequest = GetObjectRequest.builder()
                 .bucket(bucketName)
                 .key(fileName)
+                .ifMatch(objectMetadata.eTag())
                 .build();
 
-        var s3Object = s3Client.getObject(objectRequest);
-        var objectResponse = s3Object.response();
-
         return ResourceDownloadModel.builder()
-                .contentType(Optional.ofNullable(objectResponse.contentType())
+                .contentType(Optional.ofNullable(objectMetadata.contentType())
                         .orElse(MediaType.APPLICATION_OCTET_STREAM_VALUE))
+                .contentLength(objectMetadata.contentLength())
+                .etag(objectMetadata.eTag())
+                .lastModified(objectMetadata.lastModified())
                 .fileName(fileName)
-                .resource(new ByteArrayResource(s3Object.readAllBytes()))
+                .content(() -> new S3ObjectInputStream(s3Client.getObject(objectRequest)))
+                .rangedContent((start, end) -> new S3ObjectInputStream(s3Client.getObject(objectRequest.toBuilder()
+                        .range("bytes=%d-%d".formatted(start, end))
+                        .build())))
                 .build();
     }
 
     @Override
     @SneakyThrows
-    public void uploadFile(MultipartFile file, String bucketName) {
+    public BucketFileModel uploadFile(ResourceUploadModel upload, String bucketName) {
+        if (chunkedUploadEngine.isChunked(upload)) {
+            return toBucketFileModel(bucketName, upload, multipartUpload(upload, bucketName));
+        }
+
         PutObjectRequest request = PutObjectRequest.builder()
                 .bucket(bucketName)
-                .key(file.getOriginalFilename())
-                .contentType(file.getContentType())
+                .key(upload.getFileName())
+                .contentType(upload.getContentType())
+                .contentLength(upload.getContentLength())
+                .build();
+        try (InputStream inputStream = upload.getContent().getInputStream()) {
+            String eTag = s3Client.putObject(request,
+                    RequestBody.fromInputStream(inputStream, upload.getContentLength())).eTag();
+            return toBucketFileModel(bucketName, upload, eTag);
+        }
+    }
+
+    @Override
+    public int getDeleteBatchSize() {
+        return MAX_DELETE_OBJECTS_KEYS;
+    }
+
+    @Override
+    public List<DeleteFailureModel> deleteFiles(String bucketName, List<String> fileNames) {
+        DeleteObjectsRequest request = DeleteObjectsRequest.builder()
+                .bucket(bucketName)
+                .delete(Delete.builder()
+                        .objects(fileNames.stream()
+                                .map(fileName -> ObjectIdentifier.builder().key(fileName).build())
+                                .toList())
+                        .quiet(true)
+                        .build())
+                .build();
+        try {
+            return s3Client.deleteObjects(request).errors().stream()
+                    .map(error -> DeleteFailureModel.builder()
+                            .fileName(error.key())
+                            .error(error.code() + ": " + error.message())
+                            .build())
+                    .toList();
+        } catch (NoSuchBucketException e) {
+            throw new BucketNotFoundException(bucketName, e);
+        }
+    }
+
+    @Override
+    @SneakyThrows
+    public BucketFileModel copyFile(String sourceBucketName, String sourceFileName, String bucketName,
+                                    String fileName) {
+        HeadObjectResponse source = headObject(sourceBucketName, sourceFileName);
+        if (source.contentLength() > MAX_COPY_OBJECT_SIZE) {
+            String eTag = multipartCopy(source, sourceBucketName, sourceFileName, bucketName, fileName);
+            return toBucketFileModel(bucketName, fileName, source.contentLength(), eTag);
+        }
+
+        String eTag = s3Client.copyObject(CopyObjectRequest.builder()
+                .sourceBucket(sourceBucketName)
+                .sourceKey(sourceFileName)
+                .copySourceIfMatch(source.eTag())
+                .destinationBucket(bucketName)
+                .destinationKey(fileName)
+                .build()).copyObjectResult().eTag();
+        return toBucketFileModel(bucketName, fileName, source.contentLength(), eTag);
+    }
+
+    private String multipartCopy(HeadObjectResponse source, String sourceBucketName, String sourceFileName,
+                                 String bucketName, String fileName) throws IOException {
+        // CopyObject stops at 5GB, larger objects are copied part by part without leaving S3, several at a time.
+        long contentLength = source.contentLength();
+        long partSize = Math.max(COPY_PART_SIZE, Math.ceilDiv(contentLength, MAX_MULTIPART_PARTS));
+        String uploadId = createMultipartUpload(bucketName, fileName, source.contentType());
+        try {
+            List<CompletedPart> parts = chunkedUploadEngine.copy(fileName, contentLength, partSize,
+                    (partNumber, start, end) -> {
+                        String eTag = s3Client.uploadPartCopy(UploadPartCopyRequest.builder()
+                                .sourceBucket(sourceBucketName)
+                                .sourceKey(sourceFileName)
+                                .copySourceIfMatch(source.eTag())
+                                .copySourceRange("bytes=%d-%d".formatted(start, end))
+                                .destinationBucket(bucketName)
+                                .destinationKey(fileName)
+                                .uploadId(uploadId)
+                                .partNumber(partNumber)
+                                .build()).copyPartResult().eTag();
+                        return CompletedPart.builder().partNumber(partNumber).eTag(eTag).build();
+                    });
+            return completeMultipartUpload(bucketName, fileName, uploadId, parts);
+        } catch (IOException | RuntimeException e) {
+            abortMultipartUpload(bucketName, fileName, uploadId);
+            throw e;
+        }
+    }
+
+    private String multipartUpload(ResourceUploadModel upload, String bucketName) throws IOException {
+        String uploadId = createMultipartUpload(bucketName, upload.getFileName(), upload.getContentType());
+        try {
+            List<CompletedPart> parts = chunkedUploadEngine.upload(upload, MAX_MULTIPART_PARTS,
+                    (partNumber, buffer, length) -> {
+                        UploadPartRequest partRequest = UploadPartRequest.builder()
+                                .bucket(bucketName)
+                                .key(upload.getFileName())
+                                .uploadId(uploadId)
+                                .partNumber(partNumber)
+                                .contentLength((long) length)
+                                .build();
+                        String eTag = s3Client.uploadPart(partRequest,
+                                RequestBody.fromInputStream(new ByteArrayInputStream(buffer, 0, length), length)).eTag();
+                        return CompletedPart.builder().partNumber(partNumber).eTag(eTag).build();
+                    });
+            return completeMultipartUpload(bucketName, upload.getFileName(), uploadId, parts);
+        } catch (IOException | RuntimeException e) {
+            abortMultipartUpload(bucketName, upload.getFileName(), uploadId);
+            throw e;
+        }
+    }
+
+    private String createMultipartUpload(String bucketName, String fileName, String contentType) {
+        return s3Client.createMultipartUpload(CreateMultipartUploadRequest.builder()
+                .bucket(bucketName)
+                .key(fileName)
+                .contentType(contentType)
+                .build()).uploadId();
+    }
+
+    private String completeMultipartUpload(String bucketName, String fileName, String uploadId,
+                                           List<CompletedPart> parts) {
+        return s3Client.completeMultipartUpload(CompleteMultipartUploadRequest.builder()
+                .bucket(bucketName)
+                .key(fileName)
+                .uploadId(uploadId)
+                .multipartUpload(CompletedMultipartUpload.builder().parts(parts).build())
+                .build()).eTag();
+    }
+
+    private void abortMultipartUpload(String bucketName, String fileName, String uploadId) {
+        s3Client.abortMultipartUpload(AbortMultipartUploadRequest.builder()
+                .bucket(bucketName)
+                .key(fileName)
+                .uploadId(uploadId)
+                .build());
+    }
+
+    private BucketFileModel toBucketFileModel(String bucketName, S3Object s3Object) {
+        return BucketFileModel.builder()
+                .fileName(s3Object.key())
+                .lastModified(s3Object.lastModified())
+                .fileSize(s3Object.size())
+                .cloudProvider(getCloudProviderType())
+                .bucketName(bucketName)
+                .etag(s3Object.eTag())
+                .build();
+    }
+
+    private BucketFileModel toBucketFileModel(String bucketName, ResourceUploadModel upload, String etag) {
+        return toBucketFileModel(bucketName, upload.getFileName(), upload.getContentLength(), etag);
+    }
+
+    private BucketFileModel toBucketFileModel(String bucketName, String fileName, Long fileSize, String etag) {
+        return BucketFileModel.builder()
+                .fileName(fileName)
+                .fileSize(fileSize)
+                .cloudProvider(getCloudProviderType())
+                .bucketName(bucketName)
+                .etag(etag)
+                .build();
+    }
+
+    private HeadObjectResponse headObject(String bucketName, String fileName) {
+        HeadObjectRequest request = HeadObjectRequest.builder()
+                .bucket(bucketName)
+                .key(fileName)
                 .build();
-        s3Client.putObject(request, RequestBody.fromBytes(file.getBytes()));
+        try {
+            return s3Client.headObject(request);
+        } catch (NoSuchKeyException e) {
+            throw new FileNotFoundException(fileName, e);
+        }
+    }
+
+    // Closing an S3 stream reads the rest of the body to reuse the connection, so a stream that will not be read
+    // any further is aborted instead.
+    private static class S3ObjectInputStream extends FilterInputStream implements AbortableStream {
+
+        private final ResponseInputStream<GetObjectResponse> response;
+
+        S3ObjectInputStream(ResponseInputStream<GetObjectResponse> response) {
+            super(response);
+            this.response = response;
+        }
+
+        @Override
+        public void abort() {
+            response.abort();
+        }
     }
 }
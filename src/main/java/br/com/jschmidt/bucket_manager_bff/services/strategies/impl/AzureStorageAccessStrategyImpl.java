@@ -4,37 +4,86 @@ import br.com.jschmidt.bucket_manager_bff.enums.CloudProviderEnum;
 import br.com.jschmidt.bucket_manager_bff.exceptions.BucketNotFoundException;
 import br.com.jschmidt.bucket_manager_bff.exceptions.FileNotFoundException;
 import br.com.jschmidt.bucket_manager_bff.models.BucketFileModel;
+import br.com.jschmidt.bucket_manager_bff.models.BucketFilePageModel;
+import br.com.jschmidt.bucket_manager_bff.models.DeleteFailureModel;
+import br.com.jschmidt.bucket_manager_bff.models.FileListingRequestModel;
 import br.com.jschmidt.bucket_manager_bff.models.ResourceDownloadModel;
+import br.com.jschmidt.bucket_manager_bff.models.ResourceUploadModel;
+import br.com.jschmidt.bucket_manager_bff.services.strategies.AbortableStream;
 import br.com.jschmidt.bucket_manager_bff.services.strategies.StorageAccessStrategy;
+import br.com.jschmidt.bucket_manager_bff.services.transfer.ChunkedUploadEngine;
+import com.azure.core.http.rest.PagedIterable;
+import com.azure.core.http.rest.PagedResponse;
+import com.azure.core.http.rest.Response;
+import com.azure.core.util.polling.LongRunningOperationStatus;
+import com.azure.core.util.polling.PollResponse;
+import com.azure.core.util.BinaryData;
+import com.azure.core.util.Context;
 import com.azure.storage.blob.BlobClient;
 import com.azure.storage.blob.BlobContainerClient;
 import com.azure.storage.blob.BlobServiceClient;
+import com.azure.storage.blob.batch.BlobBatch;
+import com.azure.storage.blob.batch.BlobBatchClient;
+import com.azure.storage.blob.models.BlobBeginCopySourceRequestConditions;
+import com.azure.storage.blob.models.BlobCopyInfo;
+import com.azure.storage.blob.models.BlobErrorCode;
 import com.azure.storage.blob.models.BlobHttpHeaders;
 import com.azure.storage.blob.models.BlobItem;
 import com.azure.storage.blob.models.BlobProperties;
+import com.azure.storage.blob.models.BlobRange;
+import com.azure.storage.blob.models.BlobRequestConditions;
+import com.azure.storage.blob.models.BlobStorageException;
+import com.azure.storage.blob.models.BlockBlobItem;
+import com.azure.storage.blob.models.DeleteSnapshotsOptionType;
+import com.azure.storage.blob.models.ListBlobsOptions;
+import com.azure.storage.blob.options.BlobBeginCopyOptions;
+import com.azure.storage.blob.options.BlobInputStreamOptions;
+import com.azure.storage.blob.options.BlobParallelUploadOptions;
+import com.azure.storage.blob.options.BlockBlobCommitBlockListOptions;
 import com.azure.storage.blob.sas.BlobSasPermission;
 import com.azure.storage.blob.sas.BlobServiceSasSignatureValues;
+import com.azure.storage.blob.specialized.BlockBlobClient;
 import lombok.SneakyThrows;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBooleanProperty;
-import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
-import org.springframework.web.multipart.MultipartFile;
+import org.springframework.util.StringUtils;
 
-import java.io.ByteArrayOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.OffsetDateTime;
 import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
 
 @Component
 @ConditionalOnBooleanProperty(name = "cloud.azure.enabled", havingValue = true, matchIfMissing = false)
 public class AzureStorageAccessStrategyImpl implements StorageAccessStrategy {
 
+    private static final int MAX_BLOCKS = 50_000;
+    private static final int MAX_BATCH_REQUESTS = 256;
+    private static final Duration COPY_POLL_INTERVAL = Duration.ofSeconds(1);
+
     private final BlobServiceClient blobServiceClient;
+    private final BlobBatchClient blobBatchClient;
+    private final ChunkedUploadEngine chunkedUploadEngine;
 
-    public AzureStorageAccessStrategyImpl(BlobServiceClient blobServiceClient) {
+    public AzureStorageAccessStrategyImpl(BlobServiceClient blobServiceClient, BlobBatchClient blobBatchClient,
+                                          ChunkedUploadEngine chunkedUploadEngine) {
         this.blobServiceClient = blobServiceClient;
+        this.blobBatchClient = blobBatchClient;
+        this.chunkedUploadEngine = chunkedUploadEngine;
     }
 
     @Override
@@ -52,24 +101,63 @@ public class AzureStorageAccessStrategyImpl implements StorageAccessStrategy {
 
         List<BucketFileModel> files = new ArrayList<>();
         for (BlobItem it : containerClient.listBlobs()) {
-            files.add(
-                    BucketFileModel.builder()
-                            .fileName(it.getName())
-                            .lastModified(Optional.ofNullable(it.getProperties().getLastModified())
-                                    .map(OffsetDateTime::toInstant)
-                                    .orElse(null)
-                            )
-                            .fileSize(it.getProperties().getContentLength())
-                            .cloudProvider(getCloudProviderType())
-                            .bucketName(bucketName)
-                            .etag(it.getProperties().getETag())
-                            .build()
-            );
+            files.add(toBucketFileModel(bucketName, it));
         }
 
         return files;
     }
 
+    @Override
+    public BucketFilePageModel getFilesPageFromBucket(String bucketName, FileListingRequestModel listingRequest) {
+        BlobContainerClient containerClient = blobServiceClient.getBlobContainerClient(bucketName);
+        ListBlobsOptions options = new ListBlobsOptions().setPrefix(listingRequest.getPrefix());
+
+        PagedIterable<BlobItem> blobItems = StringUtils.hasText(listingRequest.getDelimiter())
+                ? containerClient.listBlobsByHierarchy(listingRequest.getDelimiter(), options, null)
+                : containerClient.listBlobs(options, null);
+
+        PagedResponse<BlobItem> page;
+        try {
+            Iterator<PagedResponse<BlobItem>> pages = blobItems
+                    .iterableByPage(listingRequest.getContinuationToken(), listingRequest.getPageSize())
+                    .iterator();
+            if (!pages.hasNext()) {
+                return BucketFilePageModel.builder().files(List.of()).commonPrefixes(List.of()).build();
+            }
+            page = pages.next();
+        } catch (BlobStorageException e) {
+            if (BlobErrorCode.CONTAINER_NOT_FOUND.equals(e.getErrorCode())) {
+                throw new BucketNotFoundException(bucketName, e);
+            }
+            throw e;
+        }
+
+        List<BucketFileModel> files = new ArrayList<>();
+        List<String> commonPrefixes = new ArrayList<>();
+        for (BlobItem it : page.getValue()) {
+            if (Boolean.TRUE.equals(it.isPrefix())) {
+                commonPrefixes.add(it.getName());
+            } else {
+                files.add(toBucketFileModel(bucketName, it));
+            }
+        }
+
+        return BucketFilePageModel.builder()
+                .files(files)
+                .commonPrefixes(commonPrefixes)
+                .nextContinuationToken(page.getContinuationToken())
+                .build();
+    }
+
+    @Override
+    public Stream<BucketFileModel> streamFilesFromBucket(String bucketName, String prefix) {
+        BlobContainerClient containerClient = blobServiceClient.getBlobContainerClient(bucketName);
+        return containerClient.listBlobs(new ListBlobsOptions().setPrefix(prefix), null)
+                .streamByPage()
+                .flatMap(page -> page.getValue().stream())
+                .map(it -> toBucketFileModel(bucketName, it));
+    }
+
     @Override
     public String generatePresignedUrl(String bucketName, String fileName) {
         BlobContainerClient containerClient = blobServiceClient.getBlobContainerClient(bucketName);
@@ -80,7 +168,7 @@ public class AzureStorageAccessStrategyImpl implements StorageAccessStrategy {
         }
 
         BlobSasPermission sasPermission = new BlobSasPermission().setReadPermission(true);
-        OffsetDateTime expiryTime = OffsetDateTime.now().plusMinutes(15);
+        OffsetDateTime expiryTime = OffsetDateTime.now().plus(PRESIGNED_URL_DURATION);
         BlobServiceSasSignatureValues sasSignatureValues = new BlobServiceSasSignatureValues(expiryTime, sasPermission);
         String sasToken = blobClient.generateSas(sasSignatureValues);
         return blobClient.getBlobUrl() + "?" + sasToken;
@@ -96,14 +184,21 @@ public class AzureStorageAccessStrategyImpl implements StorageAccessStrategy {
         }
 
         BlobProperties properties = blobClient.getProperties();
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-        blobClient.downloadStream(outputStream);
-        byte[] content = outputStream.toByteArray();
 
-        ByteArrayResource resource = new ByteArrayResource(content);
+        // Both streams are tied to the ETag reported here, which also keys the cached copy, so a blob replaced in
+        // between fails the read instead of being stored under the previous version.
+        BlobRequestConditions sameVersion = new BlobRequestConditions().setIfMatch(properties.getETag());
 
         return ResourceDownloadModel.builder()
-                .resource(resource)
+                .content(() -> new BlobContentInputStream(blobClient.openInputStream(
+                        new BlobInputStreamOptions().setRequestConditions(sameVersion))))
+                .rangedContent((start, end) -> new BlobContentInputStream(blobClient.openInputStream(
+                        new BlobRange(start, end - start + 1), sameVersion)))
+                .contentLength(properties.getBlobSize())
+                .etag(properties.getETag())
+                .lastModified(Optional.ofNullable(properties.getLastModified())
+                        .map(OffsetDateTime::toInstant)
+                        .orElse(null))
                 .fileName(fileName)
                 .contentType(Optional.ofNullable(properties.getContentType())
                         .orElse(MediaType.APPLICATION_OCTET_STREAM_VALUE))
@@ -112,8 +207,8 @@ public class AzureStorageAccessStrategyImpl implements StorageAccessStrategy {
 
     @Override
     @SneakyThrows
-    public void uploadFile(MultipartFile file, String bucketName) {
-        String fileName = file.getOriginalFilename();
+    public BucketFileModel uploadFile(ResourceUploadModel upload, String bucketName) {
+        String fileName = upload.getFileName();
         if (fileName == null || fileName.isEmpty()) {
             throw new IllegalArgumentException("File name cannot be null or empty");
         }
@@ -125,11 +220,155 @@ public class AzureStorageAccessStrategyImpl implements StorageAccessStrategy {
         }
 
         BlobClient blobClient = containerClient.getBlobClient(fileName);
-        blobClient.upload(file.getInputStream(), file.getSize(), true);
+        BlobHttpHeaders headers = new BlobHttpHeaders().setContentType(upload.getContentType());
+        if (chunkedUploadEngine.isChunked(upload)) {
+            return toBucketFileModel(bucketName, upload,
+                    stageAndCommitBlocks(blobClient.getBlockBlobClient(), upload, headers));
+        }
+
+        try (InputStream inputStream = upload.getContent().getInputStream()) {
+            BlobParallelUploadOptions options = new BlobParallelUploadOptions(
+                    BinaryData.fromStream(inputStream, upload.getContentLength()))
+                    .setHeaders(headers);
+            BlockBlobItem uploaded = blobClient.uploadWithResponse(options, null, Context.NONE).getValue();
+            return toBucketFileModel(bucketName, upload, uploaded.getETag());
+        }
+    }
+
+    @Override
+    public BucketFileModel copyFile(String sourceBucketName, String sourceFileName, String bucketName,
+                                    String fileName) {
+        BlobClient sourceBlobClient = blobServiceClient.getBlobContainerClient(sourceBucketName)
+                .getBlobClient(sourceFileName);
+        if (!sourceBlobClient.exists()) {
+            throw new FileNotFoundException(sourceFileName);
+        }
+
+        BlobContainerClient containerClient = blobServiceClient.getBlobContainerClient(bucketName);
+        if (!containerClient.exists()) {
+            throw new BucketNotFoundException(bucketName);
+        }
+
+        // Within the same account the service copies the blob itself, the poller only waits for it to finish. The
+        // copy is tied to the version checked here, so a source replaced in between fails the copy instead of
+        // being copied half old, half new.
+        String sourceEtag = sourceBlobClient.getProperties().getETag();
+        BlobClient blobClient = containerClient.getBlobClient(fileName);
+        PollResponse<BlobCopyInfo> copy = blobClient.beginCopy(new BlobBeginCopyOptions(sourceBlobClient.getBlobUrl())
+                        .setPollInterval(COPY_POLL_INTERVAL)
+                        .setSourceRequestConditions(new BlobBeginCopySourceRequestConditions().setIfMatch(sourceEtag)))
+                .waitForCompletion();
+        if (copy.getStatus() != LongRunningOperationStatus.SUCCESSFULLY_COMPLETED) {
+            throw new IllegalStateException("Copy of %s to %s finished with status %s"
+                    .formatted(sourceFileName, fileName, copy.getStatus()));
+        }
+
+        BlobProperties properties = blobClient.getProperties();
+        return BucketFileModel.builder()
+                .fileName(fileName)
+                .fileSize(properties.getBlobSize())
+                .lastModified(Optional.ofNullable(properties.getLastModified())
+                        .map(OffsetDateTime::toInstant)
+                        .orElse(null))
+                .cloudProvider(getCloudProviderType())
+                .bucketName(bucketName)
+                .etag(properties.getETag())
+                .build();
+    }
+
+    @Override
+    public int getDeleteBatchSize() {
+        return MAX_BATCH_REQUESTS;
+    }
+
+    @Override
+    public List<DeleteFailureModel> deleteFiles(String bucketName, List<String> fileNames) {
+        BlobBatch batch = blobBatchClient.getBlobBatch();
+        Map<String, Response<Void>> responses = new LinkedHashMap<>();
+        fileNames.forEach(fileName -> responses.put(fileName,
+                batch.deleteBlob(bucketName, fileName, DeleteSnapshotsOptionType.INCLUDE, null)));
+        blobBatchClient.submitBatchWithResponse(batch, false, null, Context.NONE);
+
+        List<DeleteFailureModel> failures = new ArrayList<>();
+        responses.forEach((fileName, response) -> {
+            try {
+                if (isDeleteFailure(response.getStatusCode())) {
+                    failures.add(toDeleteFailureModel(fileName, "HTTP " + response.getStatusCode()));
+                }
+            } catch (BlobStorageException e) {
+                if (isDeleteFailure(e.getStatusCode())) {
+                    failures.add(toDeleteFailureModel(fileName, e.getErrorCode() + ": " + e.getServiceMessage()));
+                }
+            }
+        });
+        return failures;
+    }
+
+    private boolean isDeleteFailure(int statusCode) {
+        // A missing blob counts as deleted, matching S3 DeleteObjects.
+        return statusCode >= 300 && statusCode != HttpStatus.NOT_FOUND.value();
+    }
+
+    private DeleteFailureModel toDeleteFailureModel(String fileName, String error) {
+        return DeleteFailureModel.builder()
+                .fileName(fileName)
+                .error(error)
+                .build();
+    }
+
+    private String stageAndCommitBlocks(BlockBlobClient blockBlobClient, ResourceUploadModel upload,
+                                        BlobHttpHeaders headers) throws IOException {
+        // Uncommitted blocks of a failed upload are discarded by the service, so there is nothing to abort.
+        String uploadId = UUID.randomUUID().toString();
+        List<String> blockIds = chunkedUploadEngine.upload(upload, MAX_BLOCKS, (partNumber, buffer, length) -> {
+            String blockId = Base64.getEncoder().encodeToString(
+                    "%s-%05d".formatted(uploadId, partNumber).getBytes(StandardCharsets.UTF_8));
+            blockBlobClient.stageBlock(blockId, new ByteArrayInputStream(buffer, 0, length), length);
+            return blockId;
+        });
+        BlockBlobCommitBlockListOptions options = new BlockBlobCommitBlockListOptions(blockIds).setHeaders(headers);
+        return blockBlobClient.commitBlockListWithResponse(options, null, Context.NONE).getValue().getETag();
+    }
+
+    private BucketFileModel toBucketFileModel(String bucketName, BlobItem it) {
+        return BucketFileModel.builder()
+                .fileName(it.getName())
+                .lastModified(Optional.ofNullable(it.getProperties().getLastModified())
+                        .map(OffsetDateTime::toInstant)
+                        .orElse(null)
+                )
+                .fileSize(it.getProperties().getContentLength())
+                .cloudProvider(getCloudProviderType())
+                .bucketName(bucketName)
+                .etag(it.getProperties().getETag())
+                .build();
+    }
+
+    private BucketFileModel toBucketFileModel(String bucketName, ResourceUploadModel upload, String etag) {
+        return BucketFileModel.builder()
+                .fileName(upload.getFileName())
+                .fileSize(upload.getContentLength())
+                .cloudProvider(getCloudProviderType())
+                .bucketName(bucketName)
+                .etag(etag)
+                .build();
+    }
+
+    // A blob stream downloads one block at a time, so closing it only drops the block in hand and no further
+    // content is requested.
+    private static class BlobContentInputStream extends FilterInputStream implements AbortableStream {
+
+        BlobContentInputStream(InputStream in) {
+            super(in);
+        }
 
-        if (file.getContentType() != null) {
-            blobClient.setHttpHeaders(new BlobHttpHeaders()
-                    .setContentType(file.getContentType()));
+        @Override
+        public void abort() {
+            try {
+                close();
+            } catch (IOException e) {
+                // The stream is being discarded, a failure to close it does not matter.
+            }
         }
     }
 }
@@ -4,30 +4,58 @@ import br.com.jschmidt.bucket_manager_bff.enums.CloudProviderEnum;
 import br.com.jschmidt.bucket_manager_bff.exceptions.BucketNotFoundException;
 import br.com.jschmidt.bucket_manager_bff.exceptions.FileNotFoundException;
 import br.com.jschmidt.bucket_manager_bff.models.BucketFileModel;
+import br.com.jschmidt.bucket_manager_bff.models.BucketFilePageModel;
+import br.com.jschmidt.bucket_manager_bff.models.DeleteFailureModel;
+import br.com.jschmidt.bucket_manager_bff.models.FileListingRequestModel;
 import br.com.jschmidt.bucket_manager_bff.models.ResourceDownloadModel;
+import br.com.jschmidt.bucket_manager_bff.models.ResourceUploadModel;
+import br.com.jschmidt.bucket_manager_bff.services.strategies.AbortableStream;
 import br.com.jschmidt.bucket_manager_bff.services.strategies.StorageAccessStrategy;
+import br.com.jschmidt.bucket_manager_bff.services.transfer.ChunkedUploadEngine;
+import com.google.api.gax.paging.Page;
+import com.google.cloud.ReadChannel;
 import com.google.cloud.storage.*;
 import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBooleanProperty;
-import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
-import org.springframework.web.multipart.MultipartFile;
+import org.springframework.util.StringUtils;
 
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.UUID;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 @Component
 @ConditionalOnBooleanProperty(name = "cloud.gcp.enabled", havingValue = true, matchIfMissing = false)
+@Slf4j
 public class GcpStorageAccessStrategyImpl implements StorageAccessStrategy {
 
+    private static final String COMPOSITE_PARTS_PREFIX = ".composite-uploads/";
+    private static final int MAX_COMPOSE_SOURCES = 32;
+    // A composite object may have at most 1024 components; larger uploads get larger parts instead.
+    private static final int MAX_COMPOSITE_PARTS = 1024;
+    private static final int MAX_BATCH_REQUESTS = 100;
+
     private final Storage storage;
+    private final ChunkedUploadEngine chunkedUploadEngine;
 
-    public GcpStorageAccessStrategyImpl(Storage storage) {
+    public GcpStorageAccessStrategyImpl(Storage storage, ChunkedUploadEngine chunkedUploadEngine) {
         this.storage = storage;
+        this.chunkedUploadEngine = chunkedUploadEngine;
     }
 
     @Override
@@ -44,27 +72,75 @@ public class GcpStorageAccessStrategyImpl implements StorageAccessStrategy {
 
         List<BucketFileModel> files = new ArrayList<>();
         bucket.list().iterateAll().forEach(blob -> {
-            BucketFileModel fileModel = BucketFileModel.builder()
-                    .fileName(blob.getName())
-                    .lastModified(Instant.ofEpochMilli(blob.getUpdateTime()))
-                    .fileSize(blob.getSize())
-                    .cloudProvider(getCloudProviderType())
-                    .bucketName(bucketName)
-                    .etag(blob.getEtag())
-                    .build();
-            files.add(fileModel);
+            if (!isCompositePart(blob.getName())) {
+                files.add(toBucketFileModel(bucketName, blob));
+            }
         });
 
         return files;
     }
 
+    @Override
+    public BucketFilePageModel getFilesPageFromBucket(String bucketName, FileListingRequestModel listingRequest) {
+        List<Storage.BlobListOption> options = new ArrayList<>();
+        options.add(Storage.BlobListOption.pageSize(listingRequest.getPageSize()));
+        if (StringUtils.hasText(listingRequest.getPrefix())) {
+            options.add(Storage.BlobListOption.prefix(listingRequest.getPrefix()));
+        }
+        if (StringUtils.hasText(listingRequest.getDelimiter())) {
+            options.add(Storage.BlobListOption.delimiter(listingRequest.getDelimiter()));
+        }
+        if (StringUtils.hasText(listingRequest.getContinuationToken())) {
+            options.add(Storage.BlobListOption.pageToken(listingRequest.getContinuationToken()));
+        }
+
+        Page<Blob> page;
+        try {
+            page = storage.list(bucketName, options.toArray(Storage.BlobListOption[]::new));
+        } catch (StorageException e) {
+            if (e.getCode() == HttpStatus.NOT_FOUND.value()) {
+                throw new BucketNotFoundException(bucketName, e);
+            }
+            throw e;
+        }
+
+        List<BucketFileModel> files = new ArrayList<>();
+        List<String> commonPrefixes = new ArrayList<>();
+        for (Blob blob : page.getValues()) {
+            if (isCompositePart(blob.getName())) {
+                continue;
+            }
+            if (blob.isDirectory()) {
+                commonPrefixes.add(blob.getName());
+            } else {
+                files.add(toBucketFileModel(bucketName, blob));
+            }
+        }
+
+        return BucketFilePageModel.builder()
+                .files(files)
+                .commonPrefixes(commonPrefixes)
+                .nextContinuationToken(StringUtils.hasText(page.getNextPageToken()) ? page.getNextPageToken() : null)
+                .build();
+    }
+
+    @Override
+    public Stream<BucketFileModel> streamFilesFromBucket(String bucketName, String prefix) {
+        Page<Blob> firstPage = StringUtils.hasText(prefix)
+                ? storage.list(bucketName, Storage.BlobListOption.prefix(prefix))
+                : storage.list(bucketName);
+        return StreamSupport.stream(firstPage.iterateAll().spliterator(), false)
+                .filter(blob -> !isCompositePart(blob.getName()))
+                .map(blob -> toBucketFileModel(bucketName, blob));
+    }
+
     @Override
     public String generatePresignedUrl(String bucketName, String fileName) {
         BlobInfo blobInfo = BlobInfo.newBuilder(bucketName, fileName).build();
 
         return storage.signUrl(
                 blobInfo,
-                15,
+                PRESIGNED_URL_DURATION.toMinutes(),
                 TimeUnit.MINUTES,
                 Storage.SignUrlOption.httpMethod(HttpMethod.GET)
         ).toString();
@@ -79,11 +155,19 @@ public class GcpStorageAccessStrategyImpl implements StorageAccessStrategy {
             throw new FileNotFoundException(fileName);
         }
 
-        byte[] content = blob.getContent();
-        ByteArrayResource resource = new ByteArrayResource(content);
-
         return ResourceDownloadModel.builder()
-                .resource(resource)
+                .content(() -> new ReadChannelInputStream(blob.reader()))
+                .rangedContent((start, end) -> {
+                    ReadChannel reader = blob.reader();
+                    reader.seek(start);
+                    reader.limit(end + 1);
+                    return new ReadChannelInputStream(reader);
+                })
+                .contentLength(blob.getSize())
+                .etag(blob.getEtag())
+                .lastModified(Optional.ofNullable(blob.getUpdateTime())
+                        .map(Instant::ofEpochMilli)
+                        .orElse(null))
                 .contentType(Optional.ofNullable(blob.getContentType())
                         .orElse(MediaType.APPLICATION_OCTET_STREAM_VALUE))
                 .fileName(fileName)
@@ -92,17 +176,148 @@ public class GcpStorageAccessStrategyImpl implements StorageAccessStrategy {
 
     @Override
     @SneakyThrows
-    public void uploadFile(MultipartFile file, String bucketName) {
-        String fileName = file.getOriginalFilename();
+    public BucketFileModel uploadFile(ResourceUploadModel upload, String bucketName) {
+        String fileName = upload.getFileName();
         if (fileName == null || fileName.isEmpty()) {
             throw new IllegalArgumentException("File name cannot be null or empty");
         }
 
         BlobId blobId = BlobId.of(bucketName, fileName);
         BlobInfo blobInfo = BlobInfo.newBuilder(blobId)
-                .setContentType(file.getContentType())
+                .setContentType(upload.getContentType())
+                .build();
+
+        if (chunkedUploadEngine.isChunked(upload)) {
+            return toBucketFileModel(bucketName, parallelCompositeUpload(blobInfo, upload));
+        }
+
+        try (InputStream inputStream = upload.getContent().getInputStream()) {
+            return toBucketFileModel(bucketName, storage.createFrom(blobInfo, inputStream));
+        }
+    }
+
+    @Override
+    public BucketFileModel copyFile(String sourceBucketName, String sourceFileName, String bucketName,
+                                    String fileName) {
+        Storage.CopyRequest request = Storage.CopyRequest.of(BlobId.of(sourceBucketName, sourceFileName),
+                BlobId.of(bucketName, fileName));
+        try {
+            // Large objects need several rewrite calls, getResult() keeps rewriting until the copy is done.
+            return toBucketFileModel(bucketName, storage.copy(request).getResult());
+        } catch (StorageException e) {
+            if (e.getCode() == HttpStatus.NOT_FOUND.value()) {
+                throw new FileNotFoundException(sourceFileName, e);
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public int getDeleteBatchSize() {
+        return MAX_BATCH_REQUESTS;
+    }
+
+    @Override
+    public List<DeleteFailureModel> deleteFiles(String bucketName, List<String> fileNames) {
+        StorageBatch batch = storage.batch();
+        Map<String, StorageBatchResult<Boolean>> results = new LinkedHashMap<>();
+        fileNames.forEach(fileName -> results.put(fileName, batch.delete(BlobId.of(bucketName, fileName))));
+        batch.submit();
+
+        // A missing object completes with false rather than an error, matching S3 DeleteObjects.
+        List<DeleteFailureModel> failures = new ArrayList<>();
+        results.forEach((fileName, result) -> {
+            try {
+                result.get();
+            } catch (StorageException e) {
+                failures.add(DeleteFailureModel.builder()
+                        .fileName(fileName)
+                        .error(e.getCode() + ": " + e.getMessage())
+                        .build());
+            }
+        });
+        return failures;
+    }
+
+    private Blob parallelCompositeUpload(BlobInfo blobInfo, ResourceUploadModel upload) throws IOException {
+        String bucketName = blobInfo.getBucket();
+        String tempPrefix = COMPOSITE_PARTS_PREFIX + UUID.randomUUID() + "/";
+        List<BlobId> tempObjects = Collections.synchronizedList(new ArrayList<>());
+        try {
+            List<String> sources = chunkedUploadEngine.upload(upload, MAX_COMPOSITE_PARTS,
+                    (partNumber, buffer, length) -> {
+                        String partName = tempPrefix + "%05d".formatted(partNumber);
+                        tempObjects.add(BlobId.of(bucketName, partName));
+                        storage.create(BlobInfo.newBuilder(bucketName, partName).build(), buffer, 0, length);
+                        return partName;
+                    });
+            // A single compose call accepts at most 32 sources, so larger uploads are composed as a tree.
+            while (sources.size() > MAX_COMPOSE_SOURCES) {
+                List<String> composed = new ArrayList<>();
+                for (int i = 0; i < sources.size(); i += MAX_COMPOSE_SOURCES) {
+                    String intermediateName = tempPrefix + "composed-" + tempObjects.size();
+                    tempObjects.add(BlobId.of(bucketName, intermediateName));
+                    storage.compose(Storage.ComposeRequest.newBuilder()
+                            .addSource(sources.subList(i, Math.min(i + MAX_COMPOSE_SOURCES, sources.size())))
+                            .setTarget(BlobInfo.newBuilder(bucketName, intermediateName).build())
+                            .build());
+                    composed.add(intermediateName);
+                }
+                sources = composed;
+            }
+            return storage.compose(Storage.ComposeRequest.newBuilder()
+                    .addSource(sources)
+                    .setTarget(blobInfo)
+                    .build());
+        } finally {
+            deleteCompositeParts(tempObjects);
+        }
+    }
+
+    private void deleteCompositeParts(List<BlobId> tempObjects) {
+        if (tempObjects.isEmpty()) {
+            return;
+        }
+        // Must not hide the outcome of the upload; leftovers stay out of listings and can be removed later.
+        try {
+            storage.delete(tempObjects);
+        } catch (RuntimeException e) {
+            log.warn("Could not delete {} composite upload parts: {}", tempObjects.size(), e.getMessage());
+        }
+    }
+
+    private static boolean isCompositePart(String name) {
+        // Parts of uploads in progress, or left behind by a crash, are not files of the bucket.
+        return name != null && name.startsWith(COMPOSITE_PARTS_PREFIX);
+    }
+
+    private BucketFileModel toBucketFileModel(String bucketName, Blob blob) {
+        return BucketFileModel.builder()
+                .fileName(blob.getName())
+                .lastModified(Optional.ofNullable(blob.getUpdateTime())
+                        .map(Instant::ofEpochMilli)
+                        .orElse(null))
+                .fileSize(blob.getSize())
+                .cloudProvider(getCloudProviderType())
+                .bucketName(bucketName)
+                .etag(blob.getEtag())
                 .build();
+    }
+
+    // The reader fetches the object in chunks, so closing it only drops the chunk in hand and no further
+    // content is requested.
+    private static class ReadChannelInputStream extends FilterInputStream implements AbortableStream {
+
+        private final ReadChannel reader;
 
-        storage.create(blobInfo, file.getBytes());
+        ReadChannelInputStream(ReadChannel reader) {
+            super(Channels.newInputStream(reader));
+            this.reader = reader;
+        }
+
+        @Override
+        public void abort() {
+            reader.close();
+        }
     }
 }
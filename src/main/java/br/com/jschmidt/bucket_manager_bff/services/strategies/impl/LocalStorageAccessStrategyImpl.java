@@ -0,0 +1,386 @@
+package br.com.jschmidt.bucket_manager_bff.services.strategies.impl;
+
+import br.com.jschmidt.bucket_manager_bff.enums.CloudProviderEnum;
+import br.com.jschmidt.bucket_manager_bff.exceptions.BucketNotFoundException;
+import br.com.jschmidt.bucket_manager_bff.exceptions.FileNotFoundException;
+import br.com.jschmidt.bucket_manager_bff.exceptions.OperationNotSupportedException;
+import br.com.jschmidt.bucket_manager_bff.models.BucketFileModel;
+import br.com.jschmidt.bucket_manager_bff.models.BucketFilePageModel;
+import br.com.jschmidt.bucket_manager_bff.models.DeleteFailureModel;
+import br.com.jschmidt.bucket_manager_bff.models.FileListingRequestModel;
+import br.com.jschmidt.bucket_manager_bff.models.ResourceDownloadModel;
+import br.com.jschmidt.bucket_manager_bff.models.ResourceUploadModel;
+import br.com.jschmidt.bucket_manager_bff.services.strategies.AbortableStream;
+import br.com.jschmidt.bucket_manager_bff.services.strategies.StorageAccessStrategy;
+import lombok.SneakyThrows;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBooleanProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Component
+@ConditionalOnBooleanProperty(name = "cloud.local.enabled", havingValue = true, matchIfMissing = false)
+public class LocalStorageAccessStrategyImpl implements StorageAccessStrategy {
+
+    private static final String UPLOADS_DIRECTORY = ".uploads";
+    private static final String KEY_SEPARATOR = "/";
+    private static final int MAX_DELETE_BATCH_SIZE = 1000;
+
+    private final Path rootDirectory;
+
+    public LocalStorageAccessStrategyImpl(@Value("${cloud.local.root-directory}") Path rootDirectory) {
+        this.rootDirectory = rootDirectory.toAbsolutePath().normalize();
+    }
+
+    @Override
+    public CloudProviderEnum getCloudProviderType() {
+        return CloudProviderEnum.LOCAL;
+    }
+
+    @Override
+    public List<BucketFileModel> getFilesFromBucket(String bucketName) {
+        try (Stream<BucketFileModel> files = streamFilesFromBucket(bucketName, null)) {
+            return files.toList();
+        }
+    }
+
+    @Override
+    public BucketFilePageModel getFilesPageFromBucket(String bucketName, FileListingRequestModel listingRequest) {
+        String prefix = StringUtils.hasText(listingRequest.getPrefix()) ? listingRequest.getPrefix() : "";
+        String delimiter = StringUtils.hasText(listingRequest.getDelimiter()) ? listingRequest.getDelimiter() : null;
+        String startAfter = listingRequest.getContinuationToken();
+
+        List<BucketFileModel> files = new ArrayList<>();
+        List<String> commonPrefixes = new ArrayList<>();
+        String lastEntry = null;
+        boolean truncated = false;
+        // The continuation token is the last key or common prefix returned, keys are visited in order.
+        Path bucket = resolveBucket(bucketName);
+        try (Stream<Path> paths = walk(bucket, bucket, prefix)) {
+            for (Path path : (Iterable<Path>) paths::iterator) {
+                String key = toKey(bucket, path);
+                if (startAfter != null && (key.compareTo(startAfter) <= 0
+                        || delimiter != null && startAfter.endsWith(delimiter) && key.startsWith(startAfter))) {
+                    continue;
+                }
+                int delimiterIndex = delimiter == null ? -1 : key.indexOf(delimiter, prefix.length());
+                String entry = delimiterIndex < 0 ? key : key.substring(0, delimiterIndex + delimiter.length());
+                if (entry.equals(lastEntry)) {
+                    continue;
+                }
+                if (files.size() + commonPrefixes.size() == listingRequest.getPageSize()) {
+                    truncated = true;
+                    break;
+                }
+                if (delimiterIndex < 0) {
+                    files.add(toBucketFileModel(bucketName, key, path));
+                } else {
+                    commonPrefixes.add(entry);
+                }
+                lastEntry = entry;
+            }
+        }
+
+        return BucketFilePageModel.builder()
+                .files(files)
+                .commonPrefixes(commonPrefixes)
+                .nextContinuationToken(truncated ? lastEntry : null)
+                .build();
+    }
+
+    @Override
+    public Stream<BucketFileModel> streamFilesFromBucket(String bucketName, String prefix) {
+        Path bucket = resolveBucket(bucketName);
+        return walk(bucket, bucket, StringUtils.hasText(prefix) ? prefix : "")
+                .map(path -> toBucketFileModel(bucketName, toKey(bucket, path), path));
+    }
+
+    @Override
+    public String generatePresignedUrl(String bucketName, String fileName) {
+        throw new OperationNotSupportedException(getCloudProviderType(), "presigned URLs");
+    }
+
+    @Override
+    public ResourceDownloadModel downloadFile(String bucketName, String fileName) {
+        Path path = resolveFile(resolveBucket(bucketName), fileName);
+        BasicFileAttributes attributes = readAttributes(path, fileName);
+
+        return ResourceDownloadModel.builder()
+                .content(() -> Files.newInputStream(path, LinkOption.NOFOLLOW_LINKS))
+                .rangedContent((start, end) -> {
+                    FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, LinkOption.NOFOLLOW_LINKS);
+                    return new RangeInputStream(channel.position(start), end - start + 1);
+                })
+                .localFile(path)
+                .contentLength(attributes.size())
+                .etag(etagOf(attributes))
+                .lastModified(attributes.lastModifiedTime().toInstant())
+                .contentType(MediaTypeFactory.getMediaType(fileName)
+                        .orElse(MediaType.APPLICATION_OCTET_STREAM)
+                        .toString())
+                .fileName(fileName)
+                .build();
+    }
+
+    @Override
+    @SneakyThrows
+    public BucketFileModel uploadFile(ResourceUploadModel upload, String bucketName) {
+        String fileName = upload.getFileName();
+        if (fileName == null || fileName.isEmpty()) {
+            throw new IllegalArgumentException("File name cannot be null or empty");
+        }
+        Path bucket = resolveBucket(bucketName);
+        Path target = resolveFile(bucket, fileName);
+
+        Path tempFile = createTempFile(bucket);
+        try {
+            try (InputStream inputStream = upload.getContent().getInputStream();
+                 ReadableByteChannel source = Channels.newChannel(inputStream);
+                 FileChannel channel = FileChannel.open(tempFile, StandardOpenOption.WRITE)) {
+                long position = 0;
+                long transferred;
+                while ((transferred = channel.transferFrom(source, position, Long.MAX_VALUE - position)) > 0) {
+                    position += transferred;
+                }
+                // A body cut short must not replace the existing file.
+                if (position != upload.getContentLength()) {
+                    throw new IllegalArgumentException("Upload of %s has %d bytes, expected %d"
+                            .formatted(fileName, position, upload.getContentLength()));
+                }
+                channel.force(false);
+            }
+            publish(tempFile, target);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+        return toBucketFileModel(bucketName, fileName, target);
+    }
+
+    @Override
+    @SneakyThrows
+    public BucketFileModel copyFile(String sourceBucketName, String sourceFileName, String bucketName,
+                                    String fileName) {
+        Path source = resolveFile(resolveBucket(sourceBucketName), sourceFileName);
+        readAttributes(source, sourceFileName);
+        Path bucket = resolveBucket(bucketName);
+        Path target = resolveFile(bucket, fileName);
+
+        Path tempFile = createTempFile(bucket);
+        try {
+            Files.copy(source, tempFile, StandardCopyOption.REPLACE_EXISTING, LinkOption.NOFOLLOW_LINKS);
+            publish(tempFile, target);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+        return toBucketFileModel(bucketName, fileName, target);
+    }
+
+    @Override
+    public int getDeleteBatchSize() {
+        return MAX_DELETE_BATCH_SIZE;
+    }
+
+    @Override
+    public List<DeleteFailureModel> deleteFiles(String bucketName, List<String> fileNames) {
+        Path bucket = resolveBucket(bucketName);
+        List<DeleteFailureModel> failures = new ArrayList<>();
+        for (String fileName : fileNames) {
+            try {
+                // A missing file counts as deleted, matching S3 DeleteObjects.
+                Files.deleteIfExists(resolveFile(bucket, fileName));
+            } catch (IOException | IllegalArgumentException e) {
+                failures.add(DeleteFailureModel.builder()
+                        .fileName(fileName)
+                        .error(e.getMessage())
+                        .build());
+            }
+        }
+        return failures;
+    }
+
+    private Path resolveBucket(String bucketName) {
+        if (!StringUtils.hasText(bucketName) || bucketName.contains(KEY_SEPARATOR) || bucketName.contains("\\")
+                || bucketName.equals(".") || bucketName.equals("..") || bucketName.equals(UPLOADS_DIRECTORY)) {
+            throw new IllegalArgumentException("Invalid bucket name: " + bucketName);
+        }
+        Path bucket = rootDirectory.resolve(bucketName);
+        if (!Files.isDirectory(bucket, LinkOption.NOFOLLOW_LINKS)) {
+            throw new BucketNotFoundException(bucketName);
+        }
+        return bucket;
+    }
+
+    private Path resolveFile(Path bucket, String fileName) {
+        // Keys must stay inside their bucket: "..", absolute paths and the staging directory are rejected.
+        Path path = bucket.resolve(fileName).normalize();
+        if (!path.startsWith(bucket) || path.equals(bucket) || path.startsWith(bucket.resolve(UPLOADS_DIRECTORY))) {
+            throw new IllegalArgumentException("Invalid file name: " + fileName);
+        }
+        // Symbolic links could lead anywhere on the host, so none is followed below the bucket.
+        for (Path current = path; !current.equals(bucket); current = current.getParent()) {
+            if (Files.isSymbolicLink(current)) {
+                throw new IllegalArgumentException("Invalid file name: " + fileName);
+            }
+        }
+        return path;
+    }
+
+    private Stream<Path> walk(Path bucket, Path directory, String prefix) {
+        // Children are sorted by their key segment, directories with a trailing separator, so the
+        // depth-first walk yields keys in the same lexicographic order as the cloud listings.
+        List<Path> children = new ArrayList<>();
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory)) {
+            entries.forEach(children::add);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        Path uploads = bucket.resolve(UPLOADS_DIRECTORY);
+        String directoryKey = directory.equals(bucket) ? "" : toKey(bucket, directory) + KEY_SEPARATOR;
+
+        // Symbolic links are skipped, like in resolveFile.
+        return children.stream()
+                .filter(child -> !child.equals(uploads))
+                .filter(child -> Files.isRegularFile(child, LinkOption.NOFOLLOW_LINKS)
+                        || Files.isDirectory(child, LinkOption.NOFOLLOW_LINKS))
+                .map(child -> new WalkEntry(child, directoryKey + child.getFileName()
+                        + (Files.isDirectory(child, LinkOption.NOFOLLOW_LINKS) ? KEY_SEPARATOR : "")))
+                .filter(entry -> entry.key().startsWith(prefix)
+                        || entry.isDirectory() && prefix.startsWith(entry.key()))
+                .sorted(Comparator.comparing(WalkEntry::key))
+                .flatMap(entry -> entry.isDirectory()
+                        ? walk(bucket, entry.path(), prefix)
+                        : Stream.of(entry.path()));
+    }
+
+    private static String toKey(Path bucket, Path path) {
+        return bucket.relativize(path).toString().replace(path.getFileSystem().getSeparator(), KEY_SEPARATOR);
+    }
+
+    private Path createTempFile(Path bucket) throws IOException {
+        // Staged inside the bucket so the final rename stays on the same file system and can be atomic.
+        Path uploads = Files.createDirectories(bucket.resolve(UPLOADS_DIRECTORY));
+        return Files.createTempFile(uploads, "upload-", ".tmp");
+    }
+
+    private void publish(Path tempFile, Path target) throws IOException {
+        Files.createDirectories(target.getParent());
+        Files.move(tempFile, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private BasicFileAttributes readAttributes(Path path, String fileName) {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class,
+                    LinkOption.NOFOLLOW_LINKS);
+            if (!attributes.isRegularFile()) {
+                throw new FileNotFoundException(fileName);
+            }
+            return attributes;
+        } catch (NoSuchFileException e) {
+            throw new FileNotFoundException(fileName, e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private BucketFileModel toBucketFileModel(String bucketName, String fileName, Path path) {
+        BasicFileAttributes attributes = readAttributes(path, fileName);
+        return BucketFileModel.builder()
+                .fileName(fileName)
+                .lastModified(attributes.lastModifiedTime().toInstant())
+                .fileSize(attributes.size())
+                .cloudProvider(getCloudProviderType())
+                .bucketName(bucketName)
+                .etag(etagOf(attributes))
+                .build();
+    }
+
+    private static String etagOf(BasicFileAttributes attributes) {
+        // Files carry no content hash; size and modification time change whenever the content is replaced.
+        return "\"%x-%x\"".formatted(attributes.size(), attributes.lastModifiedTime().toMillis());
+    }
+
+    private record WalkEntry(Path path, String key) {
+
+        boolean isDirectory() {
+            return key.endsWith(KEY_SEPARATOR);
+        }
+    }
+
+    private static class RangeInputStream extends FilterInputStream implements AbortableStream {
+
+        private long remaining;
+
+        RangeInputStream(FileChannel channel, long length) {
+            super(Channels.newInputStream(channel));
+            this.remaining = length;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int read = super.read();
+            if (read != -1) {
+                remaining--;
+            }
+            return read;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int read = super.read(buffer, offset, (int) Math.min(length, remaining));
+            if (read > 0) {
+                remaining -= read;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(Math.min(n, remaining));
+            remaining -= skipped;
+            return skipped;
+        }
+
+        @Override
+        public int available() throws IOException {
+            return (int) Math.min(super.available(), remaining);
+        }
+
+        @Override
+        public void abort() {
+            // Nothing is read ahead from a file, closing the channel is all there is to abort.
+            try {
+                close();
+            } catch (IOException e) {
+                // The stream is being discarded, a failure to close it does not matter.
+            }
+        }
+    }
+}
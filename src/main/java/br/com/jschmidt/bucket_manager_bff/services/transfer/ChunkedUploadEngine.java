@@ -0,0 +1,197 @@
+package br.com.jschmidt.bucket_manager_bff.services.transfer;
+
+import br.com.jschmidt.bucket_manager_bff.models.ResourceUploadModel;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Component
+@Slf4j
+public class ChunkedUploadEngine {
+
+    // Largest array the JVM allocates; beyond it a provider's part limit really caps the file size.
+    private static final long MAX_PART_SIZE = Integer.MAX_VALUE - 8;
+
+    private final long threshold;
+    private final int concurrency;
+    private final PartBufferPool bufferPool;
+    private final ExecutorService transferExecutor;
+
+    public ChunkedUploadEngine(@Value("${storage.upload.multipart.threshold:64MB}") DataSize threshold,
+                               @Value("${storage.upload.multipart.part-size:16MB}") DataSize partSize,
+                               @Value("${storage.upload.multipart.concurrency:4}") int concurrency,
+                               @Value("${storage.upload.multipart.buffer-pool-size:16}") int bufferPoolSize,
+                               @Qualifier("transferExecutor") ExecutorService transferExecutor) {
+        this.threshold = threshold.toBytes();
+        this.concurrency = concurrency;
+        this.bufferPool = new PartBufferPool(Math.toIntExact(partSize.toBytes()), bufferPoolSize);
+        this.transferExecutor = transferExecutor;
+    }
+
+    public boolean isChunked(ResourceUploadModel upload) {
+        return upload.getContentLength() > threshold;
+    }
+
+    public int getPartSize() {
+        return bufferPool.getBufferSize();
+    }
+
+    public <T> List<T> upload(ResourceUploadModel upload, int maximumParts, PartUploader<T> partUploader)
+            throws IOException {
+        long contentLength = upload.getContentLength();
+        // Files that would need more parts than the provider allows get proportionally larger parts.
+        long requiredPartSize = Math.max(getPartSize(), Math.ceilDiv(contentLength, maximumParts));
+        if (requiredPartSize > MAX_PART_SIZE) {
+            throw new IllegalArgumentException("File %s needs parts of %d bytes to fit in %d parts"
+                    .formatted(upload.getFileName(), requiredPartSize, maximumParts));
+        }
+        int partSize = (int) requiredPartSize;
+        log.debug("Uploading file: {} in {} parts of {} bytes", upload.getFileName(),
+                Math.ceilDiv(contentLength, partSize), partSize);
+
+        Semaphore inFlight = new Semaphore(concurrency);
+        AtomicBoolean failed = new AtomicBoolean();
+        List<Future<T>> parts = new ArrayList<>();
+        try (InputStream inputStream = upload.getContent().getInputStream()) {
+            long total = 0;
+            int length = partSize;
+            while (length == partSize && !failed.get()) {
+                inFlight.acquire();
+                byte[] buffer = bufferPool.acquire(partSize);
+                try {
+                    length = inputStream.readNBytes(buffer, 0, buffer.length);
+                } catch (IOException e) {
+                    release(buffer, inFlight);
+                    throw e;
+                }
+                if (length == 0) {
+                    release(buffer, inFlight);
+                    break;
+                }
+                total += length;
+                parts.add(submitPart(parts.size() + 1, buffer, length, partUploader, inFlight, failed));
+            }
+            List<T> results = awaitParts(parts);
+            // A body cut short must fail the upload, otherwise the caller would publish a truncated object.
+            if (total != contentLength) {
+                throw new IOException("Upload of %s has %d bytes, expected %d"
+                        .formatted(upload.getFileName(), total, contentLength));
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while uploading " + upload.getFileName());
+        } catch (IOException | RuntimeException e) {
+            failed.set(true);
+            awaitQuietly(parts);
+            throw e;
+        }
+    }
+
+    public <T> List<T> copy(String fileName, long contentLength, long partSize, PartCopier<T> partCopier)
+            throws IOException {
+        // Server-side copies move no bytes through this service, so only the concurrency limit applies.
+        log.debug("Copying file: {} in {} parts of {} bytes", fileName, Math.ceilDiv(contentLength, partSize),
+                partSize);
+        Semaphore inFlight = new Semaphore(concurrency);
+        AtomicBoolean failed = new AtomicBoolean();
+        List<Future<T>> parts = new ArrayList<>();
+        try {
+            for (long start = 0; start < contentLength && !failed.get(); start += partSize) {
+                inFlight.acquire();
+                parts.add(submitCopy(parts.size() + 1, start, Math.min(start + partSize, contentLength) - 1,
+                        partCopier, inFlight, failed));
+            }
+            return awaitParts(parts);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while copying " + fileName);
+        } catch (IOException | RuntimeException e) {
+            failed.set(true);
+            awaitQuietly(parts);
+            throw e;
+        }
+    }
+
+    private <T> Future<T> submitPart(int partNumber, byte[] buffer, int length, PartUploader<T> partUploader,
+                                     Semaphore inFlight, AtomicBoolean failed) {
+        return transferExecutor.submit(() -> {
+            try {
+                // Parts queued behind a failed one are skipped, but still hand their buffer back.
+                if (failed.get()) {
+                    return null;
+                }
+                return partUploader.uploadPart(partNumber, buffer, length);
+            } catch (Exception e) {
+                failed.set(true);
+                throw e;
+            } finally {
+                release(buffer, inFlight);
+            }
+        });
+    }
+
+    private <T> Future<T> submitCopy(int partNumber, long start, long end, PartCopier<T> partCopier,
+                                     Semaphore inFlight, AtomicBoolean failed) {
+        return transferExecutor.submit(() -> {
+            try {
+                if (failed.get()) {
+                    return null;
+                }
+                return partCopier.copyPart(partNumber, start, end);
+            } catch (Exception e) {
+                failed.set(true);
+                throw e;
+            } finally {
+                inFlight.release();
+            }
+        });
+    }
+
+    private <T> List<T> awaitParts(List<Future<T>> parts) throws IOException, InterruptedException {
+        List<T> results = new ArrayList<>(parts.size());
+        for (Future<T> part : parts) {
+            try {
+                results.add(part.get());
+            } catch (ExecutionException e) {
+                switch (e.getCause()) {
+                    case IOException ioException -> throw ioException;
+                    case RuntimeException runtimeException -> throw runtimeException;
+                    default -> throw new IOException(e.getCause());
+                }
+            }
+        }
+        return results;
+    }
+
+    private <T> void awaitQuietly(List<Future<T>> parts) {
+        for (Future<T> part : parts) {
+            try {
+                part.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException e) {
+                log.debug("Part failed after the upload was abandoned: {}", e.getCause().getMessage());
+            }
+        }
+    }
+
+    private void release(byte[] buffer, Semaphore inFlight) {
+        bufferPool.release(buffer);
+        inFlight.release();
+    }
+}
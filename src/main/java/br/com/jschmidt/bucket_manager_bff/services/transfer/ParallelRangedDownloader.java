@@ -0,0 +1,35 @@
+package br.com.jschmidt.bucket_manager_bff.services.transfer;
+
+import br.com.jschmidt.bucket_manager_bff.configuration.ParallelDownloadProperties;
+import br.com.jschmidt.bucket_manager_bff.enums.CloudProviderEnum;
+import br.com.jschmidt.bucket_manager_bff.models.ResourceDownloadModel;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ExecutorService;
+
+@Component
+public class ParallelRangedDownloader {
+
+    private final ParallelDownloadProperties properties;
+    private final ExecutorService transferExecutor;
+
+    public ParallelRangedDownloader(ParallelDownloadProperties properties,
+                                    @Qualifier("transferExecutor") ExecutorService transferExecutor) {
+        this.properties = properties;
+        this.transferExecutor = transferExecutor;
+    }
+
+    public ResourceDownloadModel apply(CloudProviderEnum cloudProvider, ResourceDownloadModel model) {
+        ParallelDownloadProperties.Settings settings = properties.forProvider(cloudProvider);
+        if (!settings.isEnabled() || model.getRangedContent() == null || model.getContentLength() == null
+                || model.getContentLength() <= settings.getThreshold().toBytes()) {
+            return model;
+        }
+
+        int chunkSize = Math.toIntExact(settings.getChunkSize().toBytes());
+        model.setContent(() -> new ParallelRangedInputStream(model.getRangedContent(), model.getContentLength(),
+                chunkSize, settings.getWindow(), transferExecutor));
+        return model;
+    }
+}
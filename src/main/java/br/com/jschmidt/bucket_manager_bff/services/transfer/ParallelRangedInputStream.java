@@ -0,0 +1,120 @@
+package br.com.jschmidt.bucket_manager_bff.services.transfer;
+
+import br.com.jschmidt.bucket_manager_bff.models.RangedInputStreamSource;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+public class ParallelRangedInputStream extends InputStream {
+
+    private final RangedInputStreamSource source;
+    private final long contentLength;
+    private final int chunkSize;
+    private final ExecutorService executor;
+    private final Deque<Future<byte[]>> window = new ArrayDeque<>();
+
+    private long nextChunkStart;
+    private byte[] currentChunk = new byte[0];
+    private int position;
+
+    public ParallelRangedInputStream(RangedInputStreamSource source, long contentLength, int chunkSize,
+                                     int windowSize, ExecutorService executor) {
+        this.source = source;
+        this.contentLength = contentLength;
+        this.chunkSize = chunkSize;
+        this.executor = executor;
+        for (int i = 0; i < windowSize && nextChunkStart < contentLength; i++) {
+            submitNextChunk();
+        }
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!ensureAvailable()) {
+            return -1;
+        }
+        return currentChunk[position++] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+        if (!ensureAvailable()) {
+            return -1;
+        }
+        int read = Math.min(length, currentChunk.length - position);
+        System.arraycopy(currentChunk, position, buffer, offset, read);
+        position += read;
+        return read;
+    }
+
+    @Override
+    public int available() {
+        return currentChunk.length - position;
+    }
+
+    @Override
+    public void close() {
+        window.forEach(chunk -> chunk.cancel(true));
+        window.clear();
+    }
+
+    private boolean ensureAvailable() throws IOException {
+        if (position < currentChunk.length) {
+            return true;
+        }
+        Future<byte[]> nextChunk = window.poll();
+        if (nextChunk == null) {
+            return false;
+        }
+        if (nextChunkStart < contentLength) {
+            submitNextChunk();
+        }
+        currentChunk = await(nextChunk);
+        position = 0;
+        return true;
+    }
+
+    private void submitNextChunk() {
+        long start = nextChunkStart;
+        long end = Math.min(start + chunkSize, contentLength) - 1;
+        nextChunkStart = end + 1;
+        window.add(executor.submit(() -> readChunk(start, end)));
+    }
+
+    private byte[] readChunk(long start, long end) throws IOException {
+        int expectedLength = Math.toIntExact(end - start + 1);
+        try (InputStream inputStream = source.getInputStream(start, end)) {
+            byte[] chunk = inputStream.readNBytes(expectedLength);
+            if (chunk.length != expectedLength) {
+                throw new EOFException("Range %d-%d ended after %d bytes".formatted(start, end, chunk.length));
+            }
+            return chunk;
+        }
+    }
+
+    private byte[] await(Future<byte[]> chunk) throws IOException {
+        try {
+            return chunk.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            close();
+            throw new InterruptedIOException("Interrupted while waiting for the next chunk");
+        } catch (ExecutionException e) {
+            close();
+            if (e.getCause() instanceof IOException ioException) {
+                throw ioException;
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+}
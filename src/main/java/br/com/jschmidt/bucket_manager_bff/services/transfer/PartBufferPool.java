@@ -0,0 +1,41 @@
+package br.com.jschmidt.bucket_manager_bff.services.transfer;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+
+public class PartBufferPool {
+
+    private final int bufferSize;
+    private final Semaphore available;
+    private final ConcurrentLinkedQueue<byte[]> buffers = new ConcurrentLinkedQueue<>();
+
+    public PartBufferPool(int bufferSize, int maximumBuffers) {
+        this.bufferSize = bufferSize;
+        this.available = new Semaphore(maximumBuffers);
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    public byte[] acquire() throws InterruptedException {
+        return acquire(bufferSize);
+    }
+
+    public byte[] acquire(int size) throws InterruptedException {
+        available.acquire();
+        if (size != bufferSize) {
+            // Larger parts of very large files are allocated for the upload and not kept afterwards.
+            return new byte[size];
+        }
+        byte[] buffer = buffers.poll();
+        return buffer != null ? buffer : new byte[bufferSize];
+    }
+
+    public void release(byte[] buffer) {
+        if (buffer.length == bufferSize) {
+            buffers.offer(buffer);
+        }
+        available.release();
+    }
+}
@@ -0,0 +1,12 @@
+package br.com.jschmidt.bucket_manager_bff.services.transfer;
+
+import java.io.IOException;
+
+/**
+ * Copies one part of a server-side copy, the bytes {@code start} to {@code end} inclusive of the source.
+ */
+@FunctionalInterface
+public interface PartCopier<T> {
+
+    T copyPart(int partNumber, long start, long end) throws IOException;
+}
@@ -0,0 +1,12 @@
+package br.com.jschmidt.bucket_manager_bff.services.transfer;
+
+import java.io.IOException;
+
+/**
+ * Uploads one part of a chunked upload. The buffer is reused once the call returns.
+ */
+@FunctionalInterface
+public interface PartUploader<T> {
+
+    T uploadPart(int partNumber, byte[] buffer, int length) throws IOException;
+}
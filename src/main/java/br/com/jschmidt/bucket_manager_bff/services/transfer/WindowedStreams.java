@@ -0,0 +1,71 @@
+package br.com.jschmidt.bucket_manager_bff.services.transfer;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+public final class WindowedStreams {
+
+    private WindowedStreams() {
+    }
+
+    /**
+     * Maps a lazy stream on the executor, keeping at most {@code window} elements in flight and
+     * emitting the results in source order. Closing the returned stream drops the queued elements
+     * and closes the source.
+     */
+    public static <T, R> Stream<R> mapConcurrently(Stream<T> source, int window, Executor executor,
+                                                   Function<? super T, ? extends R> mapper) {
+        Window<T, R> results = new Window<>(source.iterator(), window, executor, mapper);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(results, Spliterator.ORDERED), false)
+                .onClose(results::close)
+                .onClose(source::close);
+    }
+
+    private static class Window<T, R> implements Iterator<R> {
+
+        private final Iterator<T> source;
+        private final int size;
+        private final Executor executor;
+        private final Function<? super T, ? extends R> mapper;
+        private final Deque<CompletableFuture<R>> pending = new ArrayDeque<>();
+
+        Window(Iterator<T> source, int size, Executor executor, Function<? super T, ? extends R> mapper) {
+            this.source = source;
+            this.size = size;
+            this.executor = executor;
+            this.mapper = mapper;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (pending.size() < size && source.hasNext()) {
+                T element = source.next();
+                pending.add(CompletableFuture.supplyAsync(() -> mapper.apply(element), executor));
+            }
+            return !pending.isEmpty();
+        }
+
+        @Override
+        public R next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return pending.poll().join();
+        }
+
+        void close() {
+            // Elements already picked up by a thread run to completion; queued ones are skipped.
+            pending.forEach(result -> result.cancel(false));
+            pending.clear();
+        }
+    }
+}
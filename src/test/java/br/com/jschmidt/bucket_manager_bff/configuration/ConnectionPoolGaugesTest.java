@@ -0,0 +1,54 @@
+package br.com.jschmidt.bucket_manager_bff.configuration;
+
+import br.com.jschmidt.bucket_manager_bff.enums.CloudProviderEnum;
+import br.com.jschmidt.bucket_manager_bff.enums.HttpClientTypeEnum;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.http.HttpMetric;
+import software.amazon.awssdk.metrics.MetricCollector;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConnectionPoolGaugesTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void register_PublishesTheTransportSettings() {
+        ProviderTransportProperties.Settings settings = new ProviderTransportProperties().getGcp();
+        settings.setMaxConnections(64);
+        settings.setConnectionTimeout(Duration.ofSeconds(2));
+
+        ConnectionPoolGauges.register(meterRegistry, CloudProviderEnum.GCP, settings, null);
+
+        assertEquals(64, meterRegistry.get("storage.transport.connections.max")
+                .tags("provider", "GCP", "client", "APACHE")
+                .gauge().value());
+        assertEquals(2000, meterRegistry.get("storage.transport.connection.timeout")
+                .tags("provider", "GCP").timeGauge().value(TimeUnit.MILLISECONDS));
+        assertNull(meterRegistry.find("storage.transport.connections").gauge());
+    }
+
+    @Test
+    void register_WithAwsClient_ReportsThePoolStateOfTheLatestRequest() {
+        AwsConnectionPoolMetrics poolMetrics = new AwsConnectionPoolMetrics();
+        ProviderTransportProperties.Settings settings = new ProviderTransportProperties().getAws();
+        ConnectionPoolGauges.register(meterRegistry, CloudProviderEnum.AWS, settings, poolMetrics);
+
+        MetricCollector apiCall = MetricCollector.create("ApiCall");
+        MetricCollector httpClient = apiCall.createChild("ApiCallAttempt").createChild("HttpClient");
+        httpClient.reportMetric(HttpMetric.LEASED_CONCURRENCY, 12);
+        httpClient.reportMetric(HttpMetric.AVAILABLE_CONCURRENCY, 3);
+        httpClient.reportMetric(HttpMetric.PENDING_CONCURRENCY_ACQUIRES, 5);
+        poolMetrics.publish(apiCall.collect());
+
+        assertEquals(HttpClientTypeEnum.APACHE, settings.getClient());
+        assertEquals(12, meterRegistry.get("storage.transport.connections")
+                .tags("provider", "AWS", "state", "leased").gauge().value());
+        assertEquals(3, meterRegistry.get("storage.transport.connections").tags("state", "available").gauge().value());
+        assertEquals(5, meterRegistry.get("storage.transport.connections").tags("state", "pending").gauge().value());
+    }
+}
\ No newline at end of file
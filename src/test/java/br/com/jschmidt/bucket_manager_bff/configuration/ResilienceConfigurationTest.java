@@ -0,0 +1,60 @@
+package br.com.jschmidt.bucket_manager_bff.configuration;
+
+import br.com.jschmidt.bucket_manager_bff.enums.CloudProviderEnum;
+import br.com.jschmidt.bucket_manager_bff.services.cache.NamedCache;
+import br.com.jschmidt.bucket_manager_bff.services.strategies.HedgingStorageAccessStrategy;
+import br.com.jschmidt.bucket_manager_bff.services.strategies.InstrumentedStorageAccessStrategy;
+import br.com.jschmidt.bucket_manager_bff.services.strategies.ProviderResilience;
+import br.com.jschmidt.bucket_manager_bff.services.strategies.ResilientStorageAccessStrategy;
+import br.com.jschmidt.bucket_manager_bff.services.strategies.StorageAccessStrategy;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ResilienceConfigurationTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(MetricsConfiguration.class, ResilienceConfiguration.class,
+                    ProviderResilience.class)
+            .withBean(MeterRegistry.class, SimpleMeterRegistry::new)
+            .withBean(NamedCache.class, () -> mock(NamedCache.class))
+            .withBean("awsStorageAccessStrategy", StorageAccessStrategy.class, () -> {
+                StorageAccessStrategy strategy = mock(StorageAccessStrategy.class);
+                when(strategy.getCloudProviderType()).thenReturn(CloudProviderEnum.AWS);
+                return strategy;
+            });
+
+    @Test
+    void strategies_AreInstrumentedOutsideTheResilienceDecorators() {
+        contextRunner.run(context -> {
+            StorageAccessStrategy strategy = context.getBean(StorageAccessStrategy.class);
+
+            InstrumentedStorageAccessStrategy instrumented =
+                    assertInstanceOf(InstrumentedStorageAccessStrategy.class, strategy);
+            ResilientStorageAccessStrategy resilient = assertInstanceOf(ResilientStorageAccessStrategy.class,
+                    ReflectionTestUtils.getField(instrumented, "delegate"));
+            Object raw = ReflectionTestUtils.getField(resilient, "delegate");
+            assertFalse(raw instanceof HedgingStorageAccessStrategy);
+            assertFalse(raw instanceof InstrumentedStorageAccessStrategy);
+        });
+    }
+
+    @Test
+    void strategies_HedgeInsideTheResilienceDecorator() {
+        contextRunner.withPropertyValues("cloud.resilience.aws.hedging-enabled=true").run(context -> {
+            StorageAccessStrategy strategy = context.getBean(StorageAccessStrategy.class);
+
+            Object resilient = ReflectionTestUtils.getField(strategy, "delegate");
+            assertInstanceOf(ResilientStorageAccessStrategy.class, resilient);
+            HedgingStorageAccessStrategy hedging = assertInstanceOf(HedgingStorageAccessStrategy.class,
+                    ReflectionTestUtils.getField(resilient, "delegate"));
+            assertFalse(ReflectionTestUtils.getField(hedging, "delegate") instanceof InstrumentedStorageAccessStrategy);
+        });
+    }
+}
\ No newline at end of file
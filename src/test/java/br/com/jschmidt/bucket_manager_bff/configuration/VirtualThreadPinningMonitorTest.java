@@ -0,0 +1,44 @@
+package br.com.jschmidt.bucket_manager_bff.configuration;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VirtualThreadPinningMonitorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void pinnedVirtualThreads_AreCounted() throws InterruptedException {
+        VirtualThreadPinningMonitor monitor = new VirtualThreadPinningMonitor(Duration.ofMillis(1), meterRegistry);
+        monitor.start();
+        try {
+            // Events reach the stream in batches, so keep pinning until one has been counted.
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(20);
+            while (pinnedEvents() == 0 && System.nanoTime() < deadline) {
+                Thread.ofVirtual().start(this::sleepWhileHoldingMonitor).join();
+                Thread.sleep(100);
+            }
+        } finally {
+            monitor.stop();
+        }
+
+        assertTrue(pinnedEvents() > 0);
+    }
+
+    private double pinnedEvents() {
+        return meterRegistry.get("jvm.threads.virtual.pinned").counter().count();
+    }
+
+    private synchronized void sleepWhileHoldingMonitor() {
+        try {
+            Thread.sleep(20);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,264 @@
+package br.com.jschmidt.bucket_manager_bff.controllers.support;
+
+import br.com.jschmidt.bucket_manager_bff.models.ResourceDownloadModel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DownloadResponseFactoryTest {
+
+    private static final byte[] CONTENT = "0123456789".getBytes(StandardCharsets.US_ASCII);
+
+    private final List<String> requestedRanges = new ArrayList<>();
+    private DownloadResponseFactory factory;
+    private ResourceDownloadModel model;
+
+    @BeforeEach
+    void setUp() {
+        factory = new DownloadResponseFactory(DataSize.ofBytes(4));
+        model = ResourceDownloadModel.builder()
+                .fileName("test.txt")
+                .contentType(MediaType.TEXT_PLAIN_VALUE)
+                .contentLength((long) CONTENT.length)
+                .etag("\"etag\"")
+                .lastModified(Instant.parse("2025-01-01T10:00:00Z"))
+                .content(() -> new ByteArrayInputStream(CONTENT))
+                .rangedContent((start, end) -> {
+                    requestedRanges.add(start + "-" + end);
+                    return new ByteArrayInputStream(Arrays.copyOfRange(CONTENT, (int) start, (int) end + 1));
+                })
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void create_WithoutRange_ReturnsFullContent() throws IOException {
+        ResponseEntity<StreamingResponseBody> response = factory.create(model, new HttpHeaders());
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(CONTENT.length, response.getHeaders().getContentLength());
+        assertEquals("bytes", response.getHeaders().getFirst(HttpHeaders.ACCEPT_RANGES));
+        assertEquals("\"etag\"", response.getHeaders().getETag());
+        assertEquals("0123456789", write(response));
+        assertTrue(requestedRanges.isEmpty());
+    }
+
+    @Test
+    void create_WithSingleRange_ReturnsPartialContentFromProviderRange() throws IOException {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RANGE, "bytes=2-5");
+
+        ResponseEntity<StreamingResponseBody> response = factory.create(model, headers);
+
+        assertEquals(HttpStatus.PARTIAL_CONTENT, response.getStatusCode());
+        assertEquals("bytes 2-5/10", response.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE));
+        assertEquals(4, response.getHeaders().getContentLength());
+        assertEquals("2345", write(response));
+        assertEquals(List.of("2-5"), requestedRanges);
+    }
+
+    @Test
+    void create_WithSuffixRange_ReturnsLastBytes() throws IOException {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RANGE, "bytes=-3");
+
+        ResponseEntity<StreamingResponseBody> response = factory.create(model, headers);
+
+        assertEquals("bytes 7-9/10", response.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE));
+        assertEquals("789", write(response));
+    }
+
+    @Test
+    void create_WithMultipleRanges_ReturnsMultipartByteRanges() throws IOException {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RANGE, "bytes=0-1,8-9");
+
+        ResponseEntity<StreamingResponseBody> response = factory.create(model, headers);
+
+        assertEquals(HttpStatus.PARTIAL_CONTENT, response.getStatusCode());
+        MediaType contentType = response.getHeaders().getContentType();
+        assertNotNull(contentType);
+        assertEquals("multipart/byteranges", contentType.getType() + "/" + contentType.getSubtype());
+        String body = write(response);
+        assertTrue(body.contains("Content-Range: bytes 0-1/10\r\n\r\n01"));
+        assertTrue(body.contains("Content-Range: bytes 8-9/10\r\n\r\n89"));
+        assertTrue(body.endsWith("--" + contentType.getParameter("boundary") + "--\r\n"));
+        assertEquals(List.of("0-1", "8-9"), requestedRanges);
+    }
+
+    @Test
+    void create_WithUnsatisfiableRange_ReturnsRangeNotSatisfiable() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RANGE, "bytes=20-30");
+
+        ResponseEntity<StreamingResponseBody> response = factory.create(model, headers);
+
+        assertEquals(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE, response.getStatusCode());
+        assertEquals("bytes */10", response.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE));
+        assertNull(response.getBody());
+    }
+
+    @Test
+    void create_WithEmptySuffixRange_ReturnsRangeNotSatisfiable() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RANGE, "bytes=-0");
+
+        ResponseEntity<StreamingResponseBody> response = factory.create(model, headers);
+
+        assertEquals(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE, response.getStatusCode());
+        assertEquals("bytes */10", response.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE));
+        assertTrue(requestedRanges.isEmpty());
+    }
+
+    @Test
+    void create_WithRangeOfAnEmptyFile_ReturnsRangeNotSatisfiable() {
+        model.setContentLength(0L);
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RANGE, "bytes=-5");
+
+        ResponseEntity<StreamingResponseBody> response = factory.create(model, headers);
+
+        assertEquals(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE, response.getStatusCode());
+        assertEquals("bytes */0", response.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE));
+        assertTrue(requestedRanges.isEmpty());
+    }
+
+    @Test
+    void create_WithStaleIfRange_ReturnsFullContent() throws IOException {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RANGE, "bytes=2-5");
+        headers.set(HttpHeaders.IF_RANGE, "\"other-etag\"");
+
+        ResponseEntity<StreamingResponseBody> response = factory.create(model, headers);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("0123456789", write(response));
+    }
+
+    @Test
+    void create_WithMatchingIfRange_ReturnsPartialContent() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RANGE, "bytes=2-5");
+        headers.set(HttpHeaders.IF_RANGE, "\"etag\"");
+
+        ResponseEntity<StreamingResponseBody> response = factory.create(model, headers);
+
+        assertEquals(HttpStatus.PARTIAL_CONTENT, response.getStatusCode());
+    }
+
+    private String write(ResponseEntity<StreamingResponseBody> response) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        assertNotNull(response.getBody());
+        response.getBody().writeTo(outputStream);
+        return outputStream.toString(StandardCharsets.US_ASCII);
+    }
+
+    @Test
+    void create_WithLocalFile_TransfersFromDisk(@TempDir Path directory) throws IOException {
+        model.setLocalFile(Files.write(directory.resolve("cached"), CONTENT));
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RANGE, "bytes=0-1,8-9");
+
+        assertEquals("0123456789", write(factory.create(model, new HttpHeaders())));
+        String body = write(factory.create(model, headers));
+
+        assertTrue(body.contains("Content-Range: bytes 8-9/10\r\n\r\n89"));
+        assertTrue(requestedRanges.isEmpty());
+    }
+
+    @Test
+    void create_WithEvictedLocalFile_FallsBackToProvider(@TempDir Path directory) throws IOException {
+        model.setLocalFile(directory.resolve("evicted"));
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RANGE, "bytes=2-5");
+
+        assertEquals("2345", write(factory.create(model, headers)));
+        assertEquals(List.of("2-5"), requestedRanges);
+    }
+
+    @Test
+    void create_WithLocalFileAndSendfileSupport_DelegatesToConnector(@TempDir Path directory) throws IOException {
+        Path localFile = Files.write(directory.resolve("cached"), CONTENT);
+        model.setLocalFile(localFile);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RANGE, "bytes=2-5");
+
+        ResponseEntity<StreamingResponseBody> response = factory.create(model, headers);
+
+        assertEquals(HttpStatus.PARTIAL_CONTENT, response.getStatusCode());
+        assertNull(response.getBody());
+        assertEquals(localFile.toAbsolutePath().toString(), request.getAttribute("org.apache.tomcat.sendfile.filename"));
+        assertEquals(2L, request.getAttribute("org.apache.tomcat.sendfile.start"));
+        assertEquals(6L, request.getAttribute("org.apache.tomcat.sendfile.end"));
+    }
+
+    @Test
+    void create_WithMatchingIfNoneMatch_ReturnsNotModifiedWithoutOpeningContent() {
+        model.setContent(() -> fail("content must not be opened"));
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfNoneMatch(List.of("\"other\"", "W/\"etag\""));
+
+        ResponseEntity<StreamingResponseBody> response = factory.create(model, headers);
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertEquals("\"etag\"", response.getHeaders().getETag());
+        assertEquals(Instant.parse("2025-01-01T10:00:00Z").toEpochMilli(), response.getHeaders().getLastModified());
+        assertNull(response.getBody());
+    }
+
+    @Test
+    void create_WithStaleIfNoneMatch_IgnoresIfModifiedSince() throws IOException {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfNoneMatch("\"other\"");
+        headers.setIfModifiedSince(Instant.parse("2025-01-02T00:00:00Z"));
+
+        ResponseEntity<StreamingResponseBody> response = factory.create(model, headers);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("0123456789", write(response));
+    }
+
+    @Test
+    void create_WithIfModifiedSince_ComparesWholeSeconds() throws IOException {
+        model.setLastModified(Instant.parse("2025-01-01T10:00:00.750Z"));
+        HttpHeaders notModifiedHeaders = new HttpHeaders();
+        notModifiedHeaders.setIfModifiedSince(Instant.parse("2025-01-01T10:00:00Z"));
+        HttpHeaders modifiedHeaders = new HttpHeaders();
+        modifiedHeaders.setIfModifiedSince(Instant.parse("2025-01-01T09:59:59Z"));
+
+        assertEquals(HttpStatus.NOT_MODIFIED, factory.create(model, notModifiedHeaders).getStatusCode());
+        ResponseEntity<StreamingResponseBody> response = factory.create(model, modifiedHeaders);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("0123456789", write(response));
+    }
+}
\ No newline at end of file
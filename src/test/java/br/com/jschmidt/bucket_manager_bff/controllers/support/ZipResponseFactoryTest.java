@@ -0,0 +1,91 @@
+package br.com.jschmidt.bucket_manager_bff.controllers.support;
+
+import br.com.jschmidt.bucket_manager_bff.exceptions.FileNotFoundException;
+import br.com.jschmidt.bucket_manager_bff.models.ResourceDownloadModel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ZipResponseFactoryTest {
+
+    private static final Map<String, String> FILES = Map.of(
+            "logs/a.log", "first file",
+            "logs/b.log", "second file",
+            "logs/c.log", "third file");
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+    private final ZipResponseFactory factory = new ZipResponseFactory(DataSize.ofBytes(4), 2, executor);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void create_WritesEntriesInRequestedOrder() throws IOException {
+        ResponseEntity<StreamingResponseBody> response = factory.create("logs.zip",
+                Stream.of("logs/c.log", "logs/a.log", "logs/b.log"), this::download, false);
+
+        assertEquals("attachment; filename=\"logs.zip\"",
+                response.getHeaders().getFirst(HttpHeaders.CONTENT_DISPOSITION));
+        Map<String, String> entries = unzip(response);
+        assertEquals(List.of("logs/c.log", "logs/a.log", "logs/b.log"), List.copyOf(entries.keySet()));
+        assertEquals("third file", entries.get("logs/c.log"));
+        assertEquals("first file", entries.get("logs/a.log"));
+    }
+
+    @Test
+    void create_SkipsFilesThatNoLongerExist() throws IOException {
+        ResponseEntity<StreamingResponseBody> response = factory.create("logs.zip",
+                Stream.of("logs/a.log", "logs/missing.log", "logs/b.log"), this::download, true);
+
+        assertEquals(Set.of("logs/a.log", "logs/b.log"), unzip(response).keySet());
+    }
+
+    private ResourceDownloadModel download(String fileName) {
+        String content = FILES.get(fileName);
+        if (content == null) {
+            throw new FileNotFoundException(fileName);
+        }
+        return ResourceDownloadModel.builder()
+                .fileName(fileName)
+                .lastModified(Instant.parse("2025-01-01T10:00:00Z"))
+                .content(() -> new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)))
+                .build();
+    }
+
+    private Map<String, String> unzip(ResponseEntity<StreamingResponseBody> response) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        assertNotNull(response.getBody());
+        response.getBody().writeTo(outputStream);
+
+        Map<String, String> entries = new LinkedHashMap<>();
+        try (ZipInputStream zipInputStream = new ZipInputStream(new ByteArrayInputStream(outputStream.toByteArray()))) {
+            ZipEntry entry;
+            while ((entry = zipInputStream.getNextEntry()) != null) {
+                entries.put(entry.getName(), new String(zipInputStream.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        return entries;
+    }
+}
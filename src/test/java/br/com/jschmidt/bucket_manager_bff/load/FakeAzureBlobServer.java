@@ -0,0 +1,152 @@
+package br.com.jschmidt.bucket_manager_bff.load;
+
+import com.sun.net.httpserver.HttpExchange;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Azure Blob service of a single account, addressed like Azurite ({@code /account/container/blob}): container
+ * properties, blob listing, blob properties, ranged downloads and single request block blob uploads.
+ */
+class FakeAzureBlobServer extends FakeStorageServer {
+
+    private final String accountName;
+
+    FakeAzureBlobServer(FakeObjectStore store, String accountName) throws IOException {
+        super(store);
+        this.accountName = accountName;
+    }
+
+    String getBlobEndpoint() {
+        return getEndpoint() + "/" + accountName;
+    }
+
+    @Override
+    protected void handle(HttpExchange exchange) throws IOException {
+        exchange.getResponseHeaders().set("x-ms-request-id", UUID.randomUUID().toString());
+        exchange.getResponseHeaders().set("x-ms-version", "2021-12-02");
+        String[] path = exchange.getRequestURI().getRawPath().substring(1).split("/", 3);
+        if (!path[0].equals(accountName) || path.length < 2) {
+            sendError(exchange, 400, "InvalidUri", "The requested URI does not represent any resource on the server.");
+            return;
+        }
+        String containerName = decode(path[1]);
+        String blobName = path.length > 2 ? decode(path[2]) : "";
+        if (!store.hasBucket(containerName)) {
+            sendError(exchange, 404, "ContainerNotFound", "The specified container does not exist.");
+            return;
+        }
+
+        Map<String, String> parameters = queryParameters(exchange);
+        String method = exchange.getRequestMethod();
+        boolean container = blobName.isEmpty() && "container".equals(parameters.get("restype"));
+        if (container && "list".equals(parameters.get("comp"))) {
+            listBlobs(exchange, containerName, parameters);
+        } else if (container) {
+            exchange.getResponseHeaders().set("ETag", "\"0x8D0000000000000\"");
+            exchange.getResponseHeaders().set("Last-Modified", httpDate(Instant.EPOCH));
+            sendEmpty(exchange, 200);
+        } else if (!blobName.isEmpty() && ("GET".equals(method) || "HEAD".equals(method))) {
+            getBlob(exchange, containerName, blobName);
+        } else if (!blobName.isEmpty() && "PUT".equals(method) && parameters.isEmpty()) {
+            putBlob(exchange, containerName, blobName);
+        } else {
+            sendError(exchange, 501, "NotImplemented", "Not supported by the fake: " + method);
+        }
+    }
+
+    private void listBlobs(HttpExchange exchange, String containerName, Map<String, String> parameters)
+            throws IOException {
+        String prefix = parameters.getOrDefault("prefix", "");
+        String delimiter = parameters.get("delimiter");
+        String marker = parameters.get("marker");
+        int maxResults = Integer.parseInt(parameters.getOrDefault("maxresults", "5000"));
+        FakeObjectStore.Listing listing = store.list(containerName, prefix, delimiter, marker, maxResults);
+
+        StringBuilder body = new StringBuilder("<?xml version=\"1.0\" encoding=\"utf-8\"?>")
+                .append("<EnumerationResults ServiceEndpoint=\"").append(xml(getBlobEndpoint())).append("/\"")
+                .append(" ContainerName=\"").append(xml(containerName)).append("\">")
+                .append("<Prefix>").append(xml(prefix)).append("</Prefix>")
+                .append("<MaxResults>").append(maxResults).append("</MaxResults>");
+        if (marker != null) {
+            body.append("<Marker>").append(xml(marker)).append("</Marker>");
+        }
+        if (delimiter != null) {
+            body.append("<Delimiter>").append(xml(delimiter)).append("</Delimiter>");
+        }
+        body.append("<Blobs>");
+        for (FakeObjectStore.StoredObject object : listing.objects()) {
+            body.append("<Blob><Name>").append(xml(object.name())).append("</Name><Properties>")
+                    .append("<Creation-Time>").append(httpDate(object.lastModified())).append("</Creation-Time>")
+                    .append("<Last-Modified>").append(httpDate(object.lastModified())).append("</Last-Modified>")
+                    .append("<Etag>").append(xml(object.etag())).append("</Etag>")
+                    .append("<Content-Length>").append(object.size()).append("</Content-Length>")
+                    .append("<Content-Type>").append(xml(object.contentType())).append("</Content-Type>")
+                    .append("<BlobType>BlockBlob</BlobType>")
+                    .append("<LeaseStatus>unlocked</LeaseStatus><LeaseState>available</LeaseState>")
+                    .append("<ServerEncrypted>false</ServerEncrypted>")
+                    .append("</Properties></Blob>");
+        }
+        for (String blobPrefix : listing.prefixes()) {
+            body.append("<BlobPrefix><Name>").append(xml(blobPrefix)).append("</Name></BlobPrefix>");
+        }
+        body.append("</Blobs>")
+                .append("<NextMarker>").append(listing.nextToken() == null ? "" : xml(listing.nextToken()))
+                .append("</NextMarker></EnumerationResults>");
+        send(exchange, 200, "application/xml", body.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void getBlob(HttpExchange exchange, String containerName, String blobName) throws IOException {
+        FakeObjectStore.StoredObject object = store.get(containerName, blobName);
+        if (object == null) {
+            sendError(exchange, 404, "BlobNotFound", "The specified blob does not exist.");
+            return;
+        }
+        String ifMatch = exchange.getRequestHeaders().getFirst("If-Match");
+        if (ifMatch != null && !ifMatch.equals("*") && !ifMatch.equals(object.etag())) {
+            sendError(exchange, 412, "ConditionNotMet",
+                    "The condition specified using HTTP conditional header(s) is not met.");
+            return;
+        }
+        exchange.getResponseHeaders().set("ETag", object.etag());
+        exchange.getResponseHeaders().set("Last-Modified", httpDate(object.lastModified()));
+        exchange.getResponseHeaders().set("x-ms-creation-time", httpDate(object.lastModified()));
+        exchange.getResponseHeaders().set("x-ms-blob-type", "BlockBlob");
+        exchange.getResponseHeaders().set("x-ms-lease-status", "unlocked");
+        exchange.getResponseHeaders().set("x-ms-lease-state", "available");
+        exchange.getResponseHeaders().set("x-ms-server-encrypted", "false");
+        String range = exchange.getRequestHeaders().getFirst("x-ms-range");
+        sendContent(exchange, object, range != null ? range : exchange.getRequestHeaders().getFirst("Range"));
+    }
+
+    private void putBlob(HttpExchange exchange, String containerName, String blobName) throws IOException {
+        if (!"BlockBlob".equals(exchange.getRequestHeaders().getFirst("x-ms-blob-type"))) {
+            sendError(exchange, 501, "NotImplemented", "Only block blobs are supported by the fake");
+            return;
+        }
+        byte[] content;
+        try (InputStream body = exchange.getRequestBody()) {
+            content = body.readAllBytes();
+        }
+        String contentType = exchange.getRequestHeaders().getFirst("x-ms-blob-content-type");
+        FakeObjectStore.StoredObject object = store.put(containerName, blobName, content,
+                contentType != null ? contentType : "application/octet-stream");
+        exchange.getResponseHeaders().set("ETag", object.etag());
+        exchange.getResponseHeaders().set("Last-Modified", httpDate(object.lastModified()));
+        exchange.getResponseHeaders().set("x-ms-request-server-encrypted", "false");
+        sendEmpty(exchange, 201);
+    }
+
+    private static void sendError(HttpExchange exchange, int status, String code, String message)
+            throws IOException {
+        exchange.getResponseHeaders().set("x-ms-error-code", code);
+        String body = "<?xml version=\"1.0\" encoding=\"utf-8\"?><Error><Code>%s</Code><Message>%s</Message></Error>"
+                .formatted(code, xml(message));
+        send(exchange, status, "application/xml", body.getBytes(StandardCharsets.UTF_8));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,217 @@
+package br.com.jschmidt.bucket_manager_bff.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * GCS JSON API: object listing, metadata, media downloads and resumable uploads. It also answers the
+ * Google OAuth token and OpenID discovery endpoints, so service account and login configuration resolve
+ * without leaving the machine.
+ */
+class FakeGcsServer extends FakeStorageServer {
+
+    private static final String API_PATH = "/storage/v1/b/";
+    private static final String JSON = "application/json; charset=UTF-8";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, ResumableUpload> uploads = new ConcurrentHashMap<>();
+
+    FakeGcsServer(FakeObjectStore store) throws IOException {
+        super(store);
+    }
+
+    @Override
+    protected void handle(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getRawPath();
+        if (path.equals("/token")) {
+            sendJson(exchange, 200, Map.of("access_token", "load-test", "token_type", "Bearer", "expires_in", 3600));
+            return;
+        }
+        if (path.equals("/.well-known/openid-configuration")) {
+            sendJson(exchange, 200, openIdConfiguration());
+            return;
+        }
+
+        if (!path.contains(API_PATH)) {
+            sendError(exchange, 404, "Not Found");
+            return;
+        }
+        boolean upload = path.startsWith("/upload" + API_PATH);
+        String resource = path.substring(path.indexOf(API_PATH) + API_PATH.length());
+        String[] segments = resource.split("/o", 2);
+        String bucketName = decode(segments[0]);
+        String objectName = segments.length > 1 && segments[1].startsWith("/")
+                ? decode(segments[1].substring(1))
+                : null;
+        if (!store.hasBucket(bucketName)) {
+            sendError(exchange, 404, "No such bucket: " + bucketName);
+            return;
+        }
+
+        Map<String, String> parameters = queryParameters(exchange);
+        String method = exchange.getRequestMethod();
+        if (upload && "POST".equals(method) && "resumable".equals(parameters.get("uploadType"))) {
+            startUpload(exchange, bucketName);
+        } else if (upload && "PUT".equals(method) && parameters.containsKey("upload_id")) {
+            continueUpload(exchange, parameters.get("upload_id"));
+        } else if (!upload && "GET".equals(method) && objectName == null && segments.length > 1) {
+            listObjects(exchange, bucketName, parameters);
+        } else if (!upload && "GET".equals(method) && objectName == null) {
+            sendJson(exchange, 200, Map.of("kind", "storage#bucket", "id", bucketName, "name", bucketName));
+        } else if (!upload && "GET".equals(method)) {
+            getObject(exchange, bucketName, objectName, "media".equals(parameters.get("alt")));
+        } else {
+            sendError(exchange, 501, "Not supported by the fake: " + method + " " + path);
+        }
+    }
+
+    private void listObjects(HttpExchange exchange, String bucketName, Map<String, String> parameters)
+            throws IOException {
+        FakeObjectStore.Listing listing = store.list(bucketName, parameters.get("prefix"), parameters.get("delimiter"),
+                parameters.get("pageToken"), Integer.parseInt(parameters.getOrDefault("maxResults", "1000")));
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("kind", "storage#objects");
+        body.put("items", listing.objects().stream().map(object -> resource(bucketName, object)).toList());
+        if (!listing.prefixes().isEmpty()) {
+            body.put("prefixes", listing.prefixes());
+        }
+        if (listing.nextToken() != null) {
+            body.put("nextPageToken", listing.nextToken());
+        }
+        sendJson(exchange, 200, body);
+    }
+
+    private void getObject(HttpExchange exchange, String bucketName, String objectName, boolean media)
+            throws IOException {
+        FakeObjectStore.StoredObject object = store.get(bucketName, objectName);
+        if (object == null) {
+            sendError(exchange, 404, "No such object: %s/%s".formatted(bucketName, objectName));
+            return;
+        }
+        if (!media) {
+            sendJson(exchange, 200, resource(bucketName, object));
+            return;
+        }
+        exchange.getResponseHeaders().set("ETag", etag(object));
+        exchange.getResponseHeaders().set("x-goog-generation", Long.toString(object.generation()));
+        exchange.getResponseHeaders().set("x-goog-metageneration", "1");
+        exchange.getResponseHeaders().set("x-goog-stored-content-length", Long.toString(object.size()));
+        exchange.getResponseHeaders().set("x-goog-hash", "md5=" + Base64.getEncoder().encodeToString(object.md5()));
+        sendContent(exchange, object, exchange.getRequestHeaders().getFirst("Range"));
+    }
+
+    private void startUpload(HttpExchange exchange, String bucketName) throws IOException {
+        JsonNode metadata;
+        try (InputStream body = exchange.getRequestBody()) {
+            metadata = objectMapper.readTree(body);
+        }
+        String objectName = metadata.path("name").asText(queryParameters(exchange).get("name"));
+        String contentType = metadata.path("contentType").asText("application/octet-stream");
+        String uploadId = UUID.randomUUID().toString();
+        uploads.put(uploadId, new ResumableUpload(bucketName, objectName, contentType, new ByteArrayOutputStream()));
+
+        exchange.getResponseHeaders().set("Location", "%s/upload%s%s/o?uploadType=resumable&upload_id=%s"
+                .formatted(getEndpoint(), API_PATH, bucketName, uploadId));
+        sendEmpty(exchange, 200);
+    }
+
+    private void continueUpload(HttpExchange exchange, String uploadId) throws IOException {
+        ResumableUpload upload = uploads.get(uploadId);
+        if (upload == null) {
+            sendError(exchange, 404, "No such upload: " + uploadId);
+            return;
+        }
+
+        // Content-Range is "bytes first-last/total", with "*" for an unknown total or an empty chunk.
+        String contentRange = exchange.getRequestHeaders().getFirst("Content-Range");
+        String[] range = contentRange == null
+                ? new String[]{"*", "*"}
+                : contentRange.substring("bytes ".length()).split("/");
+        byte[] chunk;
+        try (InputStream body = exchange.getRequestBody()) {
+            chunk = body.readAllBytes();
+        }
+        long persisted;
+        synchronized (upload) {
+            long first = range[0].equals("*") ? upload.content().size() : Long.parseLong(range[0].split("-")[0]);
+            int skip = Math.toIntExact(Math.max(0, upload.content().size() - first));
+            if (skip < chunk.length) {
+                upload.content().write(chunk, skip, chunk.length - skip);
+            }
+            persisted = upload.content().size();
+        }
+
+        if (!range[1].equals("*") && persisted == Long.parseLong(range[1])) {
+            uploads.remove(uploadId);
+            FakeObjectStore.StoredObject object = store.put(upload.bucketName(), upload.objectName(),
+                    upload.content().toByteArray(), upload.contentType());
+            sendJson(exchange, 200, resource(upload.bucketName(), object));
+            return;
+        }
+        if (persisted > 0) {
+            exchange.getResponseHeaders().set("Range", "bytes=0-" + (persisted - 1));
+        }
+        sendEmpty(exchange, 308);
+    }
+
+    private Map<String, Object> resource(String bucketName, FakeObjectStore.StoredObject object) {
+        Map<String, Object> resource = new LinkedHashMap<>();
+        resource.put("kind", "storage#object");
+        resource.put("id", "%s/%s/%d".formatted(bucketName, object.name(), object.generation()));
+        resource.put("name", object.name());
+        resource.put("bucket", bucketName);
+        resource.put("generation", Long.toString(object.generation()));
+        resource.put("metageneration", "1");
+        resource.put("contentType", object.contentType());
+        resource.put("size", Long.toString(object.size()));
+        resource.put("md5Hash", Base64.getEncoder().encodeToString(object.md5()));
+        resource.put("etag", etag(object));
+        resource.put("storageClass", "STANDARD");
+        resource.put("timeCreated", object.lastModified().toString());
+        resource.put("updated", object.lastModified().toString());
+        return resource;
+    }
+
+    private String etag(FakeObjectStore.StoredObject object) {
+        return "C" + Long.toHexString(object.generation()).toUpperCase() + "EAE=";
+    }
+
+    private Map<String, Object> openIdConfiguration() {
+        String issuer = getEndpoint();
+        Map<String, Object> configuration = new LinkedHashMap<>();
+        configuration.put("issuer", issuer);
+        configuration.put("authorization_endpoint", issuer + "/o/oauth2/v2/auth");
+        configuration.put("token_endpoint", issuer + "/token");
+        configuration.put("userinfo_endpoint", issuer + "/v1/userinfo");
+        configuration.put("jwks_uri", issuer + "/oauth2/v3/certs");
+        configuration.put("response_types_supported", List.of("code"));
+        configuration.put("subject_types_supported", List.of("public"));
+        configuration.put("id_token_signing_alg_values_supported", List.of("RS256"));
+        configuration.put("scopes_supported", List.of("openid", "email", "profile"));
+        return configuration;
+    }
+
+    private void sendJson(HttpExchange exchange, int status, Object body) throws IOException {
+        send(exchange, status, JSON, objectMapper.writeValueAsBytes(body));
+    }
+
+    private void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        sendJson(exchange, status, Map.of("error", Map.of("code", status, "message", message,
+                "errors", List.of(Map.of("message", message, "reason", status == 404 ? "notFound" : "invalid")))));
+    }
+
+    private record ResumableUpload(String bucketName, String objectName, String contentType,
+                                   ByteArrayOutputStream content) {
+    }
+}
\ No newline at end of file
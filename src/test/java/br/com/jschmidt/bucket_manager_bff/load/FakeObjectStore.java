@@ -0,0 +1,104 @@
+package br.com.jschmidt.bucket_manager_bff.load;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory buckets shared by the fake provider servers. Listings are ordered by key and continue after
+ * the last returned key or common prefix, like the real services.
+ */
+class FakeObjectStore {
+
+    private static final int DEFAULT_PAGE_SIZE = 1000;
+
+    private final Map<String, ConcurrentSkipListMap<String, StoredObject>> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong generations = new AtomicLong();
+
+    void createBucket(String bucketName) {
+        buckets.putIfAbsent(bucketName, new ConcurrentSkipListMap<>());
+    }
+
+    boolean hasBucket(String bucketName) {
+        return buckets.containsKey(bucketName);
+    }
+
+    StoredObject get(String bucketName, String name) {
+        Map<String, StoredObject> bucket = buckets.get(bucketName);
+        return bucket == null ? null : bucket.get(name);
+    }
+
+    StoredObject put(String bucketName, String name, byte[] content, String contentType) {
+        StoredObject object = new StoredObject(name, content, contentType, md5(content),
+                generations.incrementAndGet(), Instant.now().truncatedTo(ChronoUnit.MILLIS));
+        buckets.get(bucketName).put(name, object);
+        return object;
+    }
+
+    Listing list(String bucketName, String prefix, String delimiter, String startAfter, int pageSize) {
+        String keyPrefix = prefix == null ? "" : prefix;
+        String separator = delimiter == null || delimiter.isEmpty() ? null : delimiter;
+        int limit = pageSize > 0 ? pageSize : DEFAULT_PAGE_SIZE;
+
+        List<StoredObject> objects = new ArrayList<>();
+        List<String> prefixes = new ArrayList<>();
+        String lastEntry = null;
+        for (StoredObject object : buckets.get(bucketName).tailMap(keyPrefix).values()) {
+            String key = object.name();
+            if (!key.startsWith(keyPrefix)) {
+                break;
+            }
+            if (startAfter != null && (key.compareTo(startAfter) <= 0
+                    || separator != null && startAfter.endsWith(separator) && key.startsWith(startAfter))) {
+                continue;
+            }
+            int separatorIndex = separator == null ? -1 : key.indexOf(separator, keyPrefix.length());
+            String entry = separatorIndex < 0 ? key : key.substring(0, separatorIndex + separator.length());
+            if (entry.equals(lastEntry)) {
+                continue;
+            }
+            if (objects.size() + prefixes.size() == limit) {
+                return new Listing(objects, prefixes, lastEntry);
+            }
+            if (separatorIndex < 0) {
+                objects.add(object);
+            } else {
+                prefixes.add(entry);
+            }
+            lastEntry = entry;
+        }
+        return new Listing(objects, prefixes, null);
+    }
+
+    private static byte[] md5(byte[] content) {
+        try {
+            return MessageDigest.getInstance("MD5").digest(content);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    record StoredObject(String name, byte[] content, String contentType, byte[] md5, long generation,
+                        Instant lastModified) {
+
+        long size() {
+            return content.length;
+        }
+
+        String etag() {
+            // S3 clients compare the ETag of a single part upload with the MD5 of what they sent.
+            return "\"" + HexFormat.of().formatHex(md5) + "\"";
+        }
+    }
+
+    record Listing(List<StoredObject> objects, List<String> prefixes, String nextToken) {
+    }
+}
\ No newline at end of file
@@ -0,0 +1,144 @@
+package br.com.jschmidt.bucket_manager_bff.load;
+
+import com.sun.net.httpserver.HttpExchange;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * Path-style S3: ListObjectsV2, HeadObject, GetObject and single request PutObject.
+ */
+class FakeS3Server extends FakeStorageServer {
+
+    FakeS3Server(FakeObjectStore store) throws IOException {
+        super(store);
+    }
+
+    @Override
+    protected void handle(HttpExchange exchange) throws IOException {
+        String[] path = exchange.getRequestURI().getRawPath().substring(1).split("/", 2);
+        String bucketName = decode(path[0]);
+        String key = path.length > 1 ? decode(path[1]) : "";
+        if (!store.hasBucket(bucketName)) {
+            sendError(exchange, 404, "NoSuchBucket", "The specified bucket does not exist");
+            return;
+        }
+
+        String method = exchange.getRequestMethod();
+        if (key.isEmpty() && "GET".equals(method) && "2".equals(queryParameters(exchange).get("list-type"))) {
+            listObjects(exchange, bucketName);
+        } else if (!key.isEmpty() && ("GET".equals(method) || "HEAD".equals(method))) {
+            getObject(exchange, bucketName, key);
+        } else if (!key.isEmpty() && "PUT".equals(method) && queryParameters(exchange).isEmpty()) {
+            putObject(exchange, bucketName, key);
+        } else {
+            sendError(exchange, 501, "NotImplemented", "Not supported by the fake: " + method);
+        }
+    }
+
+    private void listObjects(HttpExchange exchange, String bucketName) throws IOException {
+        Map<String, String> parameters = queryParameters(exchange);
+        String prefix = parameters.getOrDefault("prefix", "");
+        String delimiter = parameters.get("delimiter");
+        String continuationToken = parameters.get("continuation-token");
+        int maxKeys = Integer.parseInt(parameters.getOrDefault("max-keys", "1000"));
+        FakeObjectStore.Listing listing = store.list(bucketName, prefix, delimiter, continuationToken, maxKeys);
+
+        StringBuilder body = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\"?>")
+                .append("<ListBucketResult xmlns=\"http://s3.amazonaws.com/doc/2006-03-01/\">")
+                .append("<Name>").append(xml(bucketName)).append("</Name>")
+                .append("<Prefix>").append(xml(prefix)).append("</Prefix>")
+                .append("<KeyCount>").append(listing.objects().size() + listing.prefixes().size()).append("</KeyCount>")
+                .append("<MaxKeys>").append(maxKeys).append("</MaxKeys>")
+                .append("<IsTruncated>").append(listing.nextToken() != null).append("</IsTruncated>");
+        if (delimiter != null) {
+            body.append("<Delimiter>").append(xml(delimiter)).append("</Delimiter>");
+        }
+        if (continuationToken != null) {
+            body.append("<ContinuationToken>").append(xml(continuationToken)).append("</ContinuationToken>");
+        }
+        if (listing.nextToken() != null) {
+            body.append("<NextContinuationToken>").append(xml(listing.nextToken())).append("</NextContinuationToken>");
+        }
+        for (FakeObjectStore.StoredObject object : listing.objects()) {
+            body.append("<Contents>")
+                    .append("<Key>").append(xml(object.name())).append("</Key>")
+                    .append("<LastModified>").append(object.lastModified()).append("</LastModified>")
+                    .append("<ETag>").append(xml(object.etag())).append("</ETag>")
+                    .append("<Size>").append(object.size()).append("</Size>")
+                    .append("<StorageClass>STANDARD</StorageClass>")
+                    .append("</Contents>");
+        }
+        for (String commonPrefix : listing.prefixes()) {
+            body.append("<CommonPrefixes><Prefix>").append(xml(commonPrefix)).append("</Prefix></CommonPrefixes>");
+        }
+        body.append("</ListBucketResult>");
+        send(exchange, 200, "application/xml", body.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void getObject(HttpExchange exchange, String bucketName, String key) throws IOException {
+        FakeObjectStore.StoredObject object = store.get(bucketName, key);
+        if (object == null) {
+            sendError(exchange, 404, "NoSuchKey", "The specified key does not exist.");
+            return;
+        }
+        String ifMatch = exchange.getRequestHeaders().getFirst("If-Match");
+        if (ifMatch != null && !ifMatch.equals(object.etag())) {
+            sendError(exchange, 412, "PreconditionFailed", "At least one of the preconditions did not hold");
+            return;
+        }
+        exchange.getResponseHeaders().set("ETag", object.etag());
+        exchange.getResponseHeaders().set("Last-Modified", httpDate(object.lastModified()));
+        sendContent(exchange, object, exchange.getRequestHeaders().getFirst("Range"));
+    }
+
+    private void putObject(HttpExchange exchange, String bucketName, String key) throws IOException {
+        String contentSha256 = exchange.getRequestHeaders().getFirst("x-amz-content-sha256");
+        byte[] content;
+        try (InputStream body = exchange.getRequestBody()) {
+            // Over plain HTTP the SDK signs every chunk of the payload (aws-chunked encoding).
+            content = contentSha256 != null && contentSha256.startsWith("STREAMING-")
+                    ? decodeAwsChunked(body)
+                    : body.readAllBytes();
+        }
+        String contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+        FakeObjectStore.StoredObject object = store.put(bucketName, key, content,
+                contentType != null ? contentType : "binary/octet-stream");
+        exchange.getResponseHeaders().set("ETag", object.etag());
+        sendEmpty(exchange, 200);
+    }
+
+    private static byte[] decodeAwsChunked(InputStream body) throws IOException {
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        while (true) {
+            String chunkHeader = readLine(body);
+            int chunkSize = Integer.parseInt(chunkHeader.split(";", 2)[0].trim(), 16);
+            if (chunkSize == 0) {
+                return content.toByteArray();
+            }
+            content.write(body.readNBytes(chunkSize));
+            readLine(body);
+        }
+    }
+
+    private static String readLine(InputStream body) throws IOException {
+        StringBuilder line = new StringBuilder();
+        int read;
+        while ((read = body.read()) != -1 && read != '\n') {
+            if (read != '\r') {
+                line.append((char) read);
+            }
+        }
+        return line.toString();
+    }
+
+    private static void sendError(HttpExchange exchange, int status, String code, String message)
+            throws IOException {
+        String body = "<?xml version=\"1.0\" encoding=\"UTF-8\"?><Error><Code>%s</Code><Message>%s</Message></Error>"
+                .formatted(code, xml(message));
+        send(exchange, status, "application/xml", body.getBytes(StandardCharsets.UTF_8));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,174 @@
+package br.com.jschmidt.bucket_manager_bff.load;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Base of the in-process provider fakes: a JDK HTTP server on a loopback port that answers the subset of
+ * each REST API used by the storage strategies.
+ */
+abstract class FakeStorageServer implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(FakeStorageServer.class);
+
+    protected final FakeObjectStore store;
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    FakeStorageServer(FakeObjectStore store) throws IOException {
+        this.store = store;
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", this::dispatch);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    String getEndpoint() {
+        return "http://%s:%d".formatted(server.getAddress().getHostString(), server.getAddress().getPort());
+    }
+
+    protected abstract void handle(HttpExchange exchange) throws IOException;
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void dispatch(HttpExchange exchange) {
+        try {
+            handle(exchange);
+        } catch (Exception e) {
+            log.warn("{} failed to answer {} {}", getClass().getSimpleName(), exchange.getRequestMethod(),
+                    exchange.getRequestURI(), e);
+            if (exchange.getResponseCode() == -1) {
+                try {
+                    exchange.sendResponseHeaders(500, -1);
+                } catch (IOException ignored) {
+                    // The client is gone, closing the exchange below is all that is left.
+                }
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    protected static Map<String, String> queryParameters(HttpExchange exchange) {
+        Map<String, String> parameters = new HashMap<>();
+        String query = exchange.getRequestURI().getRawQuery();
+        if (query == null) {
+            return parameters;
+        }
+        for (String parameter : query.split("&")) {
+            int separator = parameter.indexOf('=');
+            if (separator < 0) {
+                parameters.put(decode(parameter), "");
+            } else {
+                parameters.put(decode(parameter.substring(0, separator)), decode(parameter.substring(separator + 1)));
+            }
+        }
+        return parameters;
+    }
+
+    protected static String decode(String value) {
+        // Path segments keep '+' literal, only percent escapes are decoded.
+        return URLDecoder.decode(value.replace("+", "%2B"), StandardCharsets.UTF_8);
+    }
+
+    protected static String httpDate(Instant instant) {
+        return DateTimeFormatter.RFC_1123_DATE_TIME.format(instant.atOffset(ZoneOffset.UTC));
+    }
+
+    protected static String xml(String value) {
+        return value.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;")
+                .replace("\"", "&quot;").replace("'", "&apos;");
+    }
+
+    protected static boolean isHead(HttpExchange exchange) {
+        return "HEAD".equals(exchange.getRequestMethod());
+    }
+
+    protected static void send(HttpExchange exchange, int status, String contentType, byte[] body)
+            throws IOException {
+        if (contentType != null) {
+            exchange.getResponseHeaders().set("Content-Type", contentType);
+        }
+        if (isHead(exchange) || body.length == 0) {
+            exchange.getResponseHeaders().set("Content-Length", Long.toString(body.length));
+            exchange.sendResponseHeaders(status, -1);
+            return;
+        }
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(body);
+        }
+    }
+
+    protected static void sendEmpty(HttpExchange exchange, int status) throws IOException {
+        exchange.sendResponseHeaders(status, -1);
+    }
+
+    /**
+     * Writes the object, or the byte range asked for with a {@code bytes=start-end} header. HEAD requests
+     * only get the headers, with the full length.
+     */
+    protected static void sendContent(HttpExchange exchange, FakeObjectStore.StoredObject object, String range)
+            throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", object.contentType());
+        exchange.getResponseHeaders().set("Accept-Ranges", "bytes");
+        if (isHead(exchange)) {
+            exchange.getResponseHeaders().set("Content-Length", Long.toString(object.size()));
+            exchange.sendResponseHeaders(200, -1);
+            return;
+        }
+
+        long size = object.size();
+        long start = 0;
+        long end = size - 1;
+        int status = 200;
+        if (range != null && range.startsWith("bytes=")) {
+            String[] bounds = range.substring("bytes=".length()).split("-", 2);
+            if (bounds[0].isEmpty()) {
+                start = Math.max(0, size - Long.parseLong(bounds[1]));
+            } else {
+                start = Long.parseLong(bounds[0]);
+                if (!bounds[1].isEmpty()) {
+                    end = Math.min(end, Long.parseLong(bounds[1]));
+                }
+            }
+            if (start >= size) {
+                exchange.getResponseHeaders().set("Content-Range", "bytes */" + size);
+                sendEmpty(exchange, 416);
+                return;
+            }
+            exchange.getResponseHeaders().set("Content-Range", "bytes %d-%d/%d".formatted(start, end, size));
+            status = 206;
+        }
+
+        int length = Math.toIntExact(end - start + 1);
+        if (length == 0) {
+            sendEmpty(exchange, status);
+            return;
+        }
+        exchange.sendResponseHeaders(status, length);
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(object.content(), Math.toIntExact(start), length);
+        }
+    }
+}
\ No newline at end of file
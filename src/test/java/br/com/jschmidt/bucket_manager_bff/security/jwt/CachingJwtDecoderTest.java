@@ -0,0 +1,93 @@
+package br.com.jschmidt.bucket_manager_bff.security.jwt;
+
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CachingJwtDecoderTest {
+
+    @Mock
+    private JwtDecoder delegate;
+
+    private final AtomicLong nanos = new AtomicLong();
+    private CachingJwtDecoder decoder;
+
+    @BeforeEach
+    void setUp() {
+        decoder = new CachingJwtDecoder(delegate, 100, nanos::get);
+    }
+
+    @Test
+    void decode_SameTokenBeforeExpiration_VerifiesOnce() {
+        Jwt jwt = jwt(Instant.now().plus(Duration.ofMinutes(10)));
+        when(delegate.decode("token")).thenReturn(jwt);
+
+        decoder.decode("token");
+        nanos.addAndGet(Duration.ofMinutes(9).toNanos());
+
+        assertSame(jwt, decoder.decode("token"));
+        verify(delegate, times(1)).decode("token");
+    }
+
+    @Test
+    void decode_AfterTokenExpiration_VerifiesAgain() {
+        when(delegate.decode("token")).thenReturn(jwt(Instant.now().plus(Duration.ofMinutes(10))));
+
+        decoder.decode("token");
+        nanos.addAndGet(Duration.ofMinutes(11).toNanos());
+        decoder.decode("token");
+
+        verify(delegate, times(2)).decode("token");
+    }
+
+    @Test
+    void decode_InvalidToken_IsNotCached() {
+        when(delegate.decode("forged")).thenThrow(new BadJwtException("Invalid signature"));
+
+        assertThrows(BadJwtException.class, () -> decoder.decode("forged"));
+        assertThrows(BadJwtException.class, () -> decoder.decode("forged"));
+
+        verify(delegate, times(2)).decode("forged");
+    }
+
+    @Test
+    void decode_TokenSignedByJwtUtil_IsAccepted() {
+        JwtUtil jwtUtil = new JwtUtil("0123456789abcdef0123456789abcdef", 60_000);
+        String token = Jwts.builder()
+                .subject("user@example.com")
+                .expiration(Date.from(Instant.now().plusSeconds(60)))
+                .signWith(jwtUtil.getSecretKey())
+                .compact();
+        CachingJwtDecoder realDecoder = new CachingJwtDecoder(
+                NimbusJwtDecoder.withSecretKey(jwtUtil.getSecretKey()).build(), 100, nanos::get);
+
+        assertEquals("user@example.com", realDecoder.decode(token).getSubject());
+    }
+
+    private Jwt jwt(Instant expiresAt) {
+        return Jwt.withTokenValue("token")
+                .header("alg", "HS256")
+                .subject("user@example.com")
+                .issuedAt(expiresAt.minus(Duration.ofHours(1)))
+                .expiresAt(expiresAt)
+                .build();
+    }
+}
\ No newline at end of file
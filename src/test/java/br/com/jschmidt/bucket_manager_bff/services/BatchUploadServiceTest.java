@@ -0,0 +1,94 @@
+package br.com.jschmidt.bucket_manager_bff.services;
+
+import br.com.jschmidt.bucket_manager_bff.enums.CloudProviderEnum;
+import br.com.jschmidt.bucket_manager_bff.enums.UploadStatusEnum;
+import br.com.jschmidt.bucket_manager_bff.models.BucketFileModel;
+import br.com.jschmidt.bucket_manager_bff.models.UploadResultModel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BatchUploadServiceTest {
+
+    @Mock
+    private StorageService storageService;
+
+    private ExecutorService executor;
+    private BatchUploadService batchUploadService;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(8);
+        batchUploadService = new BatchUploadService(storageService, executor, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void uploadFiles_ReportsEachFileInOrderWithoutAbortingOnFailure() {
+        List<MultipartFile> files = List.of(file("a.txt"), file("b.txt"), file("c.txt"));
+        when(storageService.uploadFile(eq(CloudProviderEnum.AWS), eq("bucket"), any(MultipartFile.class)))
+                .thenAnswer(invocation -> {
+                    MultipartFile file = invocation.getArgument(2);
+                    if (file.getOriginalFilename().equals("b.txt")) {
+                        throw new IllegalStateException("Access Denied");
+                    }
+                    return BucketFileModel.builder().etag("etag-" + file.getOriginalFilename()).build();
+                });
+
+        List<UploadResultModel> results = batchUploadService.uploadFiles(CloudProviderEnum.AWS, "bucket", files);
+
+        assertEquals(List.of("a.txt", "b.txt", "c.txt"), results.stream().map(UploadResultModel::getFileName).toList());
+        assertEquals(UploadStatusEnum.SUCCESS, results.get(0).getStatus());
+        assertEquals("etag-a.txt", results.get(0).getEtag());
+        assertEquals(UploadStatusEnum.FAILED, results.get(1).getStatus());
+        assertEquals("Access Denied", results.get(1).getError());
+        assertNull(results.get(1).getEtag());
+        assertEquals(UploadStatusEnum.SUCCESS, results.get(2).getStatus());
+        assertEquals(7L, results.get(2).getFileSize());
+    }
+
+    @Test
+    void uploadFiles_BoundsConcurrentUploads() {
+        List<MultipartFile> files = IntStream.range(0, 20).mapToObj(i -> file(i + ".txt")).toList();
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        when(storageService.uploadFile(eq(CloudProviderEnum.GCP), eq("bucket"), any(MultipartFile.class)))
+                .thenAnswer(invocation -> {
+                    maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                    Thread.sleep(5);
+                    inFlight.decrementAndGet();
+                    return BucketFileModel.builder().build();
+                });
+
+        List<UploadResultModel> results = batchUploadService.uploadFiles(CloudProviderEnum.GCP, "bucket", files);
+
+        assertEquals(20, results.size());
+        assertTrue(results.stream().allMatch(result -> result.getStatus() == UploadStatusEnum.SUCCESS));
+        assertTrue(maxInFlight.get() <= 2, "at most 2 uploads should run at once but saw " + maxInFlight.get());
+    }
+
+    private MockMultipartFile file(String name) {
+        return new MockMultipartFile("files", name, "text/plain", "content".getBytes());
+    }
+}
@@ -0,0 +1,102 @@
+package br.com.jschmidt.bucket_manager_bff.services;
+
+import br.com.jschmidt.bucket_manager_bff.enums.CloudProviderEnum;
+import br.com.jschmidt.bucket_manager_bff.models.BucketFileModel;
+import br.com.jschmidt.bucket_manager_bff.models.DeleteFailureModel;
+import br.com.jschmidt.bucket_manager_bff.models.DeleteProgressModel;
+import br.com.jschmidt.bucket_manager_bff.models.DeleteRequestModel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BulkDeleteServiceTest {
+
+    @Mock
+    private StorageService storageService;
+
+    private ExecutorService executor;
+    private BulkDeleteService bulkDeleteService;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(4);
+        bulkDeleteService = new BulkDeleteService(storageService, executor, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void deleteFiles_ByPrefix_SplitsListingIntoProviderBatchesInOrder() {
+        when(storageService.getDeleteBatchSize(CloudProviderEnum.AWS)).thenReturn(2);
+        when(storageService.streamFilesFromBucket(CloudProviderEnum.AWS, "bucket", "logs/"))
+                .thenReturn(IntStream.range(0, 5).mapToObj(i -> BucketFileModel.builder().fileName("logs/" + i).build()));
+        when(storageService.deleteFiles(eq(CloudProviderEnum.AWS), eq("bucket"), anyList())).thenAnswer(invocation -> {
+            List<String> fileNames = invocation.getArgument(2);
+            return fileNames.contains("logs/3")
+                    ? List.of(DeleteFailureModel.builder().fileName("logs/3").error("AccessDenied").build())
+                    : List.of();
+        });
+
+        List<DeleteProgressModel> progress;
+        try (Stream<DeleteProgressModel> stream = bulkDeleteService.deleteFiles(CloudProviderEnum.AWS, "bucket",
+                DeleteRequestModel.builder().prefix("logs/").build())) {
+            progress = stream.toList();
+        }
+
+        assertEquals(List.of(1, 2, 3), progress.stream().map(DeleteProgressModel::getBatch).toList());
+        assertEquals(List.of(2, 1, 1), progress.stream().map(DeleteProgressModel::getDeletedCount).toList());
+        assertEquals("logs/3", progress.get(1).getFailures().getFirst().getFileName());
+        assertEquals(4, progress.getLast().getTotalDeleted());
+        assertEquals(1, progress.getLast().getTotalFailed());
+        verify(storageService).deleteFiles(CloudProviderEnum.AWS, "bucket", List.of("logs/0", "logs/1"));
+        verify(storageService).deleteFiles(CloudProviderEnum.AWS, "bucket", List.of("logs/4"));
+    }
+
+    @Test
+    void deleteFiles_FailedBatch_ReportsEveryFileAndContinues() {
+        when(storageService.getDeleteBatchSize(CloudProviderEnum.GCP)).thenReturn(2);
+        when(storageService.deleteFiles(CloudProviderEnum.GCP, "bucket", List.of("a", "b")))
+                .thenThrow(new IllegalStateException("Service unavailable"));
+        when(storageService.deleteFiles(CloudProviderEnum.GCP, "bucket", List.of("c"))).thenReturn(List.of());
+
+        List<DeleteProgressModel> progress = bulkDeleteService.deleteFiles(CloudProviderEnum.GCP, "bucket",
+                DeleteRequestModel.builder().fileNames(List.of("a", "b", "a", "c")).build()).toList();
+
+        assertEquals(2, progress.size());
+        assertEquals(0, progress.getFirst().getDeletedCount());
+        assertEquals(List.of("a", "b"), progress.getFirst().getFailures().stream()
+                .map(DeleteFailureModel::getFileName).toList());
+        assertEquals("Service unavailable", progress.getFirst().getFailures().getFirst().getError());
+        assertEquals(1, progress.getLast().getTotalDeleted());
+        assertEquals(2, progress.getLast().getTotalFailed());
+    }
+
+    @Test
+    void deleteFiles_WithoutFileNamesOrPrefix_IsRejected() {
+        when(storageService.getDeleteBatchSize(CloudProviderEnum.AZURE)).thenReturn(256);
+
+        assertThrows(IllegalArgumentException.class, () -> bulkDeleteService.deleteFiles(CloudProviderEnum.AZURE,
+                "bucket", DeleteRequestModel.builder().prefix("").build()));
+        verify(storageService, never()).streamFilesFromBucket(CloudProviderEnum.AZURE, "bucket", "");
+    }
+}
@@ -0,0 +1,146 @@
+package br.com.jschmidt.bucket_manager_bff.services;
+
+import br.com.jschmidt.bucket_manager_bff.enums.CloudProviderEnum;
+import br.com.jschmidt.bucket_manager_bff.enums.UploadStatusEnum;
+import br.com.jschmidt.bucket_manager_bff.exceptions.FileNotFoundException;
+import br.com.jschmidt.bucket_manager_bff.models.BucketFileModel;
+import br.com.jschmidt.bucket_manager_bff.models.CopyRequestModel;
+import br.com.jschmidt.bucket_manager_bff.models.CopyResultModel;
+import br.com.jschmidt.bucket_manager_bff.models.ResourceDownloadModel;
+import br.com.jschmidt.bucket_manager_bff.models.ResourceUploadModel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.InputStreamSource;
+
+import java.io.ByteArrayInputStream;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CopyServiceTest {
+
+    @Mock
+    private StorageService storageService;
+
+    private ExecutorService executor;
+    private CopyService copyService;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(4);
+        copyService = new CopyService(storageService, executor, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void copyFiles_SameProvider_UsesNativeCopy() {
+        when(storageService.streamFilesFromBucket(CloudProviderEnum.AWS, "source", "logs/"))
+                .thenReturn(Stream.of(file("logs/a.log"), file("logs/b.log")));
+        when(storageService.copyFile(eq(CloudProviderEnum.AWS), eq("source"), anyString(), eq("target"), anyString()))
+                .thenAnswer(invocation -> BucketFileModel.builder()
+                        .etag("etag-" + invocation.getArgument(4))
+                        .build());
+
+        List<CopyResultModel> results = copyService.copyFiles(CloudProviderEnum.AWS, "source", CopyRequestModel.builder()
+                .prefix("logs/")
+                .destinationProvider(CloudProviderEnum.AWS)
+                .destinationBucket("target")
+                .destinationPrefix("backup/")
+                .build()).toList();
+
+        assertEquals(List.of("backup/logs/a.log", "backup/logs/b.log"),
+                results.stream().map(CopyResultModel::getFileName).toList());
+        assertEquals("etag-backup/logs/a.log", results.getFirst().getEtag());
+        assertTrue(results.stream().allMatch(result -> result.getStatus() == UploadStatusEnum.SUCCESS));
+        verify(storageService, never()).downloadFile(any(), anyString(), anyString());
+    }
+
+    @Test
+    void copyFiles_AcrossProviders_PipesDownloadIntoUpload() {
+        InputStreamSource content = () -> new ByteArrayInputStream("content".getBytes());
+        when(storageService.downloadFile(CloudProviderEnum.AWS, "source", "a.log"))
+                .thenReturn(ResourceDownloadModel.builder()
+                        .content(content)
+                        .contentLength(7L)
+                        .contentType("text/plain")
+                        .fileName("a.log")
+                        .build());
+        when(storageService.uploadFile(eq(CloudProviderEnum.GCP), eq("target"), any(ResourceUploadModel.class)))
+                .thenReturn(BucketFileModel.builder().etag("CJjB7c2").fileSize(7L).build());
+
+        List<CopyResultModel> results = copyService.copyFiles(CloudProviderEnum.AWS, "source", CopyRequestModel.builder()
+                .fileNames(List.of("a.log"))
+                .destinationProvider(CloudProviderEnum.GCP)
+                .destinationBucket("target")
+                .build()).toList();
+
+        ArgumentCaptor<ResourceUploadModel> uploadCaptor = ArgumentCaptor.forClass(ResourceUploadModel.class);
+        verify(storageService).uploadFile(eq(CloudProviderEnum.GCP), eq("target"), uploadCaptor.capture());
+        assertSame(content, uploadCaptor.getValue().getContent());
+        assertEquals(7L, uploadCaptor.getValue().getContentLength());
+        assertEquals("text/plain", uploadCaptor.getValue().getContentType());
+        assertEquals("a.log", uploadCaptor.getValue().getFileName());
+        assertEquals(UploadStatusEnum.SUCCESS, results.getFirst().getStatus());
+        assertEquals("CJjB7c2", results.getFirst().getEtag());
+    }
+
+    @Test
+    void copyFiles_FailedFile_DoesNotStopTheOthers() {
+        when(storageService.copyFile(CloudProviderEnum.GCP, "source", "missing.log", "target", "missing.log"))
+                .thenThrow(new FileNotFoundException("missing.log"));
+        when(storageService.copyFile(CloudProviderEnum.GCP, "source", "a.log", "target", "a.log"))
+                .thenReturn(BucketFileModel.builder().build());
+
+        List<CopyResultModel> results = copyService.copyFiles(CloudProviderEnum.GCP, "source", CopyRequestModel.builder()
+                .fileNames(List.of("missing.log", "a.log"))
+                .destinationProvider(CloudProviderEnum.GCP)
+                .destinationBucket("target")
+                .build()).toList();
+
+        assertEquals(UploadStatusEnum.FAILED, results.get(0).getStatus());
+        assertEquals("File not found: missing.log", results.get(0).getError());
+        assertEquals(UploadStatusEnum.SUCCESS, results.get(1).getStatus());
+    }
+
+    @Test
+    void copyFiles_WithoutDestination_IsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> copyService.copyFiles(CloudProviderEnum.AWS, "source",
+                CopyRequestModel.builder().fileNames(List.of("a.log")).build()));
+    }
+
+    private BucketFileModel file(String fileName) {
+        return BucketFileModel.builder().fileName(fileName).build();
+    }
+
+    @Test
+    void copyFiles_OntoTheSourceFiles_IsRejected() {
+        CopyRequestModel copyRequest = CopyRequestModel.builder()
+                .destinationProvider(CloudProviderEnum.AZURE)
+                .destinationBucket("source")
+                .fileNames(List.of("a.log"))
+                .build();
+
+        assertThrows(IllegalArgumentException.class,
+                () -> copyService.copyFiles(CloudProviderEnum.AZURE, "source", copyRequest));
+        verify(storageService, never()).copyFile(any(), any(), any(), any(), any());
+    }
+}
\ No newline at end of file
@@ -1,19 +1,38 @@
 package br.com.jschmidt.bucket_manager_bff.services;
 
+import br.com.jschmidt.bucket_manager_bff.configuration.ParallelDownloadProperties;
 import br.com.jschmidt.bucket_manager_bff.enums.CloudProviderEnum;
 import br.com.jschmidt.bucket_manager_bff.models.BucketFileModel;
+import br.com.jschmidt.bucket_manager_bff.models.BucketFilePageModel;
+import br.com.jschmidt.bucket_manager_bff.models.FileListingRequestModel;
 import br.com.jschmidt.bucket_manager_bff.models.ResourceDownloadModel;
+import br.com.jschmidt.bucket_manager_bff.models.ResourceUploadModel;
+import br.com.jschmidt.bucket_manager_bff.services.cache.DiskObjectCache;
+import br.com.jschmidt.bucket_manager_bff.services.cache.ListingCache;
+import br.com.jschmidt.bucket_manager_bff.services.cache.PresignedUrlCache;
 import br.com.jschmidt.bucket_manager_bff.services.strategies.StorageAccessStrategy;
+import br.com.jschmidt.bucket_manager_bff.services.transfer.ParallelRangedDownloader;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.util.unit.DataSize;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -27,13 +46,19 @@ class StorageServiceTest {
     @Mock
     private StorageAccessStrategy gcpStrategy;
 
+    private final ParallelDownloadProperties downloadProperties = new ParallelDownloadProperties();
     private StorageService storageService;
 
     @BeforeEach
     void setUp() {
         when(awsStrategy.getCloudProviderType()).thenReturn(CloudProviderEnum.AWS);
         when(gcpStrategy.getCloudProviderType()).thenReturn(CloudProviderEnum.GCP);
-        storageService = new StorageService(Set.of(awsStrategy, gcpStrategy));
+        storageService = new StorageService(Set.of(awsStrategy, gcpStrategy),
+                new ListingCache(true, Duration.ofMinutes(1), 1000),
+                new PresignedUrlCache(true, Duration.ofMinutes(2), 1000),
+                new ParallelRangedDownloader(downloadProperties, ForkJoinPool.commonPool()),
+                new DiskObjectCache(false, Path.of("unused"), DataSize.ofMegabytes(1), DataSize.ofMegabytes(1),
+                        Duration.ZERO));
     }
 
     @Test
@@ -49,6 +74,31 @@ class StorageServiceTest {
         verify(gcpStrategy, never()).getFilesFromBucket(anyString());
     }
 
+    @Test
+    void getFilesPageFromBucket() {
+        String bucketName = "test-bucket";
+        FileListingRequestModel listingRequest = FileListingRequestModel.builder().prefix("logs/").pageSize(10).build();
+        BucketFilePageModel expectedPage = BucketFilePageModel.builder().files(List.of()).build();
+        when(gcpStrategy.getFilesPageFromBucket(bucketName, listingRequest)).thenReturn(expectedPage);
+
+        BucketFilePageModel actualPage = storageService.getFilesPageFromBucket(CloudProviderEnum.GCP, bucketName, listingRequest);
+
+        assertEquals(expectedPage, actualPage);
+        verify(awsStrategy, never()).getFilesPageFromBucket(anyString(), any());
+    }
+
+    @Test
+    void streamFilesFromBucket() {
+        String bucketName = "test-bucket";
+        BucketFileModel file = BucketFileModel.builder().fileName("logs/app.log").build();
+        when(awsStrategy.streamFilesFromBucket(bucketName, "logs/")).thenReturn(Stream.of(file));
+
+        try (Stream<BucketFileModel> files = storageService.streamFilesFromBucket(CloudProviderEnum.AWS, bucketName, "logs/")) {
+            assertEquals(List.of(file), files.toList());
+        }
+        verify(gcpStrategy, never()).streamFilesFromBucket(anyString(), anyString());
+    }
+
     @Test
     void downloadFile() {
         String bucketName = "test-bucket";
@@ -63,6 +113,76 @@ class StorageServiceTest {
         verify(awsStrategy, never()).downloadFile(anyString(), anyString());
     }
 
+    @Test
+    void downloadFile_concurrentRequests_shouldShareOneProviderCall() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(gcpStrategy.downloadFile("test-bucket", "popular.txt")).thenAnswer(invocation -> {
+            release.await();
+            return ResourceDownloadModel.builder().fileName("popular.txt").etag("etag").build();
+        });
+        CompletableFuture<ResourceDownloadModel> first = CompletableFuture.supplyAsync(
+                () -> storageService.downloadFile(CloudProviderEnum.GCP, "test-bucket", "popular.txt"));
+        verify(gcpStrategy, timeout(5000)).downloadFile("test-bucket", "popular.txt");
+        CompletableFuture<ResourceDownloadModel> second = new CompletableFuture<>();
+        Thread waiter = new Thread(() -> second.complete(
+                storageService.downloadFile(CloudProviderEnum.GCP, "test-bucket", "popular.txt")));
+        waiter.start();
+        while (waiter.isAlive() && waiter.getState() != Thread.State.WAITING) {
+            Thread.sleep(1);
+        }
+
+        release.countDown();
+
+        assertEquals("etag", first.get(5, TimeUnit.SECONDS).getEtag());
+        assertEquals("etag", second.get(5, TimeUnit.SECONDS).getEtag());
+        assertNotSame(first.get(), second.get());
+        verify(gcpStrategy, times(1)).downloadFile("test-bucket", "popular.txt");
+    }
+
+    @Test
+    void downloadFile_aboveParallelThreshold_shouldReadContentInRanges() throws IOException {
+        String bucketName = "test-bucket";
+        String fileName = "large.bin";
+        byte[] content = "0123456789".getBytes();
+        downloadProperties.getGcp().setThreshold(DataSize.ofBytes(4));
+        downloadProperties.getGcp().setChunkSize(DataSize.ofBytes(4));
+        when(gcpStrategy.downloadFile(bucketName, fileName)).thenReturn(ResourceDownloadModel.builder()
+                .contentLength((long) content.length)
+                .content(() -> {
+                    throw new AssertionError("single stream must not be used");
+                })
+                .rangedContent((start, end) -> new ByteArrayInputStream(content, (int) start, (int) (end - start + 1)))
+                .build());
+
+        ResourceDownloadModel model = storageService.downloadFile(CloudProviderEnum.GCP, bucketName, fileName);
+
+        try (InputStream inputStream = model.getContent().getInputStream()) {
+            assertArrayEquals(content, inputStream.readAllBytes());
+        }
+    }
+
+    @Test
+    void downloadArchiveEntry_aboveParallelThreshold_shouldReadContentSequentially() throws IOException {
+        String bucketName = "test-bucket";
+        String fileName = "large.bin";
+        byte[] content = "0123456789".getBytes();
+        downloadProperties.getGcp().setThreshold(DataSize.ofBytes(4));
+        downloadProperties.getGcp().setChunkSize(DataSize.ofBytes(4));
+        when(gcpStrategy.downloadFile(bucketName, fileName)).thenReturn(ResourceDownloadModel.builder()
+                .contentLength((long) content.length)
+                .content(() -> new ByteArrayInputStream(content))
+                .rangedContent((start, end) -> {
+                    throw new AssertionError("ranged reads must not be used");
+                })
+                .build());
+
+        ResourceDownloadModel model = storageService.downloadArchiveEntry(CloudProviderEnum.GCP, bucketName, fileName);
+
+        try (InputStream inputStream = model.getContent().getInputStream()) {
+            assertArrayEquals(content, inputStream.readAllBytes());
+        }
+    }
+
     @Test
     void generatePresignedUrl() {
         String bucketName = "test-bucket";
@@ -85,7 +205,75 @@ class StorageServiceTest {
         storageService.uploadFile(CloudProviderEnum.GCP, bucketName, file);
 
         verify(gcpStrategy).uploadFile(file, bucketName);
-        verify(awsStrategy, never()).uploadFile(any(), anyString());
+        verify(awsStrategy, never()).uploadFile(any(MockMultipartFile.class), anyString());
+    }
+
+    @Test
+    void uploadFile_withStreamedContent_shouldDelegateToStrategy() {
+        String bucketName = "test-bucket";
+        ResourceUploadModel upload = ResourceUploadModel.builder()
+                .content(() -> new ByteArrayInputStream("content".getBytes()))
+                .contentLength(7)
+                .fileName("test.txt")
+                .contentType("text/plain")
+                .build();
+
+        storageService.uploadFile(CloudProviderEnum.AWS, bucketName, upload);
+
+        verify(awsStrategy).uploadFile(upload, bucketName);
+        verify(gcpStrategy, never()).uploadFile(any(ResourceUploadModel.class), anyString());
+    }
+
+    @Test
+    void getFilesFromBucket_whenCalledTwice_shouldServeSecondCallFromCache() {
+        String bucketName = "test-bucket";
+        List<BucketFileModel> expectedFiles = List.of(BucketFileModel.builder().fileName("a.txt").build());
+        when(awsStrategy.getFilesFromBucket(bucketName)).thenReturn(expectedFiles);
+
+        storageService.getFilesFromBucket(CloudProviderEnum.AWS, bucketName);
+        List<BucketFileModel> actualFiles = storageService.getFilesFromBucket(CloudProviderEnum.AWS, bucketName);
+
+        assertEquals(expectedFiles, actualFiles);
+        verify(awsStrategy, times(1)).getFilesFromBucket(bucketName);
+    }
+
+    @Test
+    void uploadFile_shouldInvalidateCachedListingsOfBucket() {
+        String bucketName = "test-bucket";
+        MockMultipartFile file = new MockMultipartFile("file", "logs/new.log", "text/plain", "content".getBytes());
+        FileListingRequestModel logsPage = FileListingRequestModel.builder().prefix("logs/").pageSize(10).build();
+        FileListingRequestModel imagesPage = FileListingRequestModel.builder().prefix("images/").pageSize(10).build();
+        when(gcpStrategy.getFilesFromBucket(bucketName)).thenReturn(List.of());
+        when(gcpStrategy.getFilesPageFromBucket(eq(bucketName), any())).thenReturn(BucketFilePageModel.builder().build());
+
+        storageService.getFilesFromBucket(CloudProviderEnum.GCP, bucketName);
+        storageService.getFilesPageFromBucket(CloudProviderEnum.GCP, bucketName, logsPage);
+        storageService.getFilesPageFromBucket(CloudProviderEnum.GCP, bucketName, imagesPage);
+        storageService.uploadFile(CloudProviderEnum.GCP, bucketName, file);
+        storageService.getFilesFromBucket(CloudProviderEnum.GCP, bucketName);
+        storageService.getFilesPageFromBucket(CloudProviderEnum.GCP, bucketName, logsPage);
+        storageService.getFilesPageFromBucket(CloudProviderEnum.GCP, bucketName, imagesPage);
+
+        verify(gcpStrategy, times(2)).getFilesFromBucket(bucketName);
+        verify(gcpStrategy, times(2)).getFilesPageFromBucket(bucketName, logsPage);
+        verify(gcpStrategy, times(1)).getFilesPageFromBucket(bucketName, imagesPage);
+    }
+
+    @Test
+    void deleteFiles_shouldInvalidateCachedListingsAndPresignedUrls() {
+        String bucketName = "test-bucket";
+        when(awsStrategy.getFilesFromBucket(bucketName)).thenReturn(List.of());
+        when(awsStrategy.generatePresignedUrl(bucketName, "a.txt")).thenReturn("http://first.url", "http://second.url");
+        when(awsStrategy.deleteFiles(bucketName, List.of("a.txt"))).thenReturn(List.of());
+
+        storageService.getFilesFromBucket(CloudProviderEnum.AWS, bucketName);
+        storageService.generatePresignedUrl(CloudProviderEnum.AWS, bucketName, "a.txt");
+        storageService.deleteFiles(CloudProviderEnum.AWS, bucketName, List.of("a.txt"));
+        storageService.getFilesFromBucket(CloudProviderEnum.AWS, bucketName);
+        String presignedUrl = storageService.generatePresignedUrl(CloudProviderEnum.AWS, bucketName, "a.txt");
+
+        assertEquals("http://second.url", presignedUrl);
+        verify(awsStrategy, times(2)).getFilesFromBucket(bucketName);
     }
 
     @Test
@@ -0,0 +1,170 @@
+package br.com.jschmidt.bucket_manager_bff.services.cache;
+
+import br.com.jschmidt.bucket_manager_bff.enums.CloudProviderEnum;
+import br.com.jschmidt.bucket_manager_bff.models.ResourceDownloadModel;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DiskObjectCacheTest {
+
+    private static final byte[] CONTENT = "0123456789".getBytes(StandardCharsets.US_ASCII);
+
+    @TempDir
+    private Path directory;
+
+    private final AtomicInteger providerReads = new AtomicInteger();
+
+    @Test
+    void apply_AfterCompleteRead_ServesFromDisk() throws IOException {
+        DiskObjectCache cache = cache(DataSize.ofKilobytes(1));
+
+        assertArrayEquals(CONTENT, read(cache.apply(CloudProviderEnum.AWS, "bucket", download("etag"))));
+        ResourceDownloadModel cached = cache.apply(CloudProviderEnum.AWS, "bucket", download("etag"));
+
+        assertNotNull(cached.getLocalFile());
+        assertArrayEquals(CONTENT, Files.readAllBytes(cached.getLocalFile()));
+        assertArrayEquals(CONTENT, read(cached));
+        assertEquals(1, providerReads.get());
+    }
+
+    @Test
+    void apply_WhenEtagChanges_ReadsFromProviderAgain() throws IOException {
+        DiskObjectCache cache = cache(DataSize.ofKilobytes(1));
+
+        read(cache.apply(CloudProviderEnum.AWS, "bucket", download("etag")));
+        ResourceDownloadModel changed = cache.apply(CloudProviderEnum.AWS, "bucket", download("other-etag"));
+
+        assertNull(changed.getLocalFile());
+        read(changed);
+        assertEquals(2, providerReads.get());
+    }
+
+    @Test
+    void apply_WhenReadIsInterrupted_LeavesNothingOnDisk() throws IOException {
+        DiskObjectCache cache = cache(DataSize.ofKilobytes(1));
+
+        try (InputStream inputStream = cache.apply(CloudProviderEnum.GCP, "bucket", download("etag"))
+                .getContent().getInputStream()) {
+            assertEquals(4, inputStream.read(new byte[4]));
+        }
+
+        assertNull(cache.apply(CloudProviderEnum.GCP, "bucket", download("etag")).getLocalFile());
+        assertEquals(0, filesIn(directory));
+    }
+
+    @Test
+    void apply_ConcurrentMisses_WriteTheObjectOnce() throws IOException {
+        DiskObjectCache cache = cache(DataSize.ofKilobytes(1));
+
+        ResourceDownloadModel firstDownload = cache.apply(CloudProviderEnum.AWS, "bucket", download("etag"));
+        ResourceDownloadModel secondDownload = cache.apply(CloudProviderEnum.AWS, "bucket", download("etag"));
+
+        try (InputStream first = firstDownload.getContent().getInputStream();
+             InputStream second = secondDownload.getContent().getInputStream()) {
+            assertEquals(1, filesIn(directory));
+            assertArrayEquals(CONTENT, second.readAllBytes());
+            assertArrayEquals(CONTENT, first.readAllBytes());
+        }
+
+        assertNotNull(cache.apply(CloudProviderEnum.AWS, "bucket", download("etag")).getLocalFile());
+        assertEquals(1, filesIn(directory));
+    }
+
+    @Test
+    void apply_WhenObjectIsTooLarge_DoesNotCacheIt() throws IOException {
+        DiskObjectCache cache = new DiskObjectCache(true, directory, DataSize.ofKilobytes(1), DataSize.ofBytes(4),
+                Duration.ZERO);
+
+        read(cache.apply(CloudProviderEnum.AZURE, "container", download("etag")));
+
+        assertNull(cache.apply(CloudProviderEnum.AZURE, "container", download("etag")).getLocalFile());
+        assertEquals(0, filesIn(directory));
+    }
+
+    @Test
+    void apply_OverByteBudget_EvictsAndDeletesFiles() throws IOException {
+        DiskObjectCache cache = cache(DataSize.ofBytes(25));
+
+        for (int i = 0; i < 5; i++) {
+            ResourceDownloadModel model = download("etag");
+            model.setFileName("file-" + i + ".txt");
+            read(cache.apply(CloudProviderEnum.AWS, "bucket", model));
+        }
+        cache.getNativeCache().cleanUp();
+
+        assertTrue(cache.getNativeCache().estimatedSize() <= 2);
+        assertEquals(cache.getNativeCache().estimatedSize(), filesIn(directory));
+    }
+
+    @Test
+    void apply_OverByteBudget_KeepsEvictedFilesForTheDeletionDelay() throws Exception {
+        DiskObjectCache cache = new DiskObjectCache(true, directory, DataSize.ofBytes(15), DataSize.ofMegabytes(1),
+                Duration.ofMillis(200));
+        read(cache.apply(CloudProviderEnum.AWS, "bucket", download("etag")));
+        ResourceDownloadModel other = download("etag");
+        other.setFileName("other.txt");
+        read(cache.apply(CloudProviderEnum.AWS, "bucket", other));
+        cache.getNativeCache().cleanUp();
+
+        assertEquals(1, cache.getNativeCache().estimatedSize());
+        assertEquals(2, filesIn(directory));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (filesIn(directory) > 1 && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        assertEquals(1, filesIn(directory));
+    }
+
+    @Test
+    void constructor_WithExistingDirectory_RestoresCachedObjects() throws IOException {
+        read(cache(DataSize.ofKilobytes(1)).apply(CloudProviderEnum.AWS, "bucket", download("etag")));
+        Files.writeString(directory.resolve("a".repeat(64) + ".123.tmp"), "partial");
+
+        DiskObjectCache restarted = cache(DataSize.ofKilobytes(1));
+
+        assertNotNull(restarted.apply(CloudProviderEnum.AWS, "bucket", download("etag")).getLocalFile());
+        assertEquals(1, filesIn(directory));
+    }
+
+    private DiskObjectCache cache(DataSize maximumSize) {
+        return new DiskObjectCache(true, directory, maximumSize, DataSize.ofMegabytes(1), Duration.ZERO);
+    }
+
+    private ResourceDownloadModel download(String etag) {
+        return ResourceDownloadModel.builder()
+                .fileName("file.txt")
+                .contentLength((long) CONTENT.length)
+                .etag(etag)
+                .content(() -> {
+                    providerReads.incrementAndGet();
+                    return new ByteArrayInputStream(CONTENT);
+                })
+                .build();
+    }
+
+    private byte[] read(ResourceDownloadModel model) throws IOException {
+        try (InputStream inputStream = model.getContent().getInputStream()) {
+            return inputStream.readAllBytes();
+        }
+    }
+
+    private long filesIn(Path path) throws IOException {
+        try (Stream<Path> files = Files.list(path)) {
+            return files.count();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,54 @@
+package br.com.jschmidt.bucket_manager_bff.services.cache;
+
+import br.com.jschmidt.bucket_manager_bff.enums.CloudProviderEnum;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PresignedUrlCacheTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final AtomicInteger signatures = new AtomicInteger();
+
+    @Test
+    void get_WhileLifetimeLeftExceedsSafetyMargin_ReusesSignedUrl() {
+        PresignedUrlCache cache = new PresignedUrlCache(true, Duration.ofMinutes(2), 100, nanos::get);
+
+        String first = cache.get(CloudProviderEnum.AWS, "bucket", "file.txt", this::sign);
+        nanos.addAndGet(Duration.ofMinutes(12).toNanos());
+        String second = cache.get(CloudProviderEnum.AWS, "bucket", "file.txt", this::sign);
+
+        assertEquals(first, second);
+        assertEquals(1, signatures.get());
+    }
+
+    @Test
+    void get_WhenOnlySafetyMarginIsLeft_SignsAgain() {
+        PresignedUrlCache cache = new PresignedUrlCache(true, Duration.ofMinutes(2), 100, nanos::get);
+
+        String first = cache.get(CloudProviderEnum.AWS, "bucket", "file.txt", this::sign);
+        nanos.addAndGet(Duration.ofMinutes(13).toNanos());
+        String second = cache.get(CloudProviderEnum.AWS, "bucket", "file.txt", this::sign);
+
+        assertNotEquals(first, second);
+        assertEquals(2, signatures.get());
+    }
+
+    @Test
+    void get_WhenSafetyMarginCoversWholeLifetime_NeverCaches() {
+        PresignedUrlCache cache = new PresignedUrlCache(true, Duration.ofMinutes(15), 100, nanos::get);
+
+        cache.get(CloudProviderEnum.GCP, "bucket", "file.txt", this::sign);
+        cache.get(CloudProviderEnum.GCP, "bucket", "file.txt", this::sign);
+
+        assertEquals(2, signatures.get());
+    }
+
+    private String sign() {
+        return "https://signed.url/file.txt?signature=" + signatures.incrementAndGet();
+    }
+}
@@ -0,0 +1,99 @@
+package br.com.jschmidt.bucket_manager_bff.services.cache;
+
+import br.com.jschmidt.bucket_manager_bff.exceptions.FileNotFoundException;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    private final SingleFlight<String> singleFlight = new SingleFlight<>();
+    private final AtomicInteger calls = new AtomicInteger();
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @Test
+    void execute_ConcurrentCallsWithSameKey_ShareOneResult() throws Exception {
+        CompletableFuture<String> first = inFlight("file.txt", () -> "first");
+        CompletableFuture<String> second = waiter("file.txt", () -> "second");
+
+        release.countDown();
+
+        assertEquals("first", first.get(5, TimeUnit.SECONDS));
+        assertEquals("first", second.get(5, TimeUnit.SECONDS));
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void execute_WhenInFlightCallFails_RethrowsToEveryWaiter() throws Exception {
+        CompletableFuture<String> first = inFlight("missing.txt", () -> {
+            throw new FileNotFoundException("missing.txt");
+        });
+        CompletableFuture<String> second = waiter("missing.txt", () -> "second");
+
+        release.countDown();
+
+        ExecutionException firstFailure = assertThrows(ExecutionException.class, () -> first.get(5, TimeUnit.SECONDS));
+        ExecutionException secondFailure = assertThrows(ExecutionException.class, () -> second.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(FileNotFoundException.class, firstFailure.getCause());
+        assertSame(firstFailure.getCause(), secondFailure.getCause());
+    }
+
+    @Test
+    void execute_DifferentKeysOrLaterCalls_AreNotCoalesced() {
+        release.countDown();
+
+        singleFlight.execute("a.txt", this::call);
+        singleFlight.execute("b.txt", this::call);
+        singleFlight.execute("a.txt", this::call);
+
+        assertEquals(3, calls.get());
+    }
+
+    private CompletableFuture<String> inFlight(String key, Supplier<String> result) throws InterruptedException {
+        CompletableFuture<String> future = new CompletableFuture<>();
+        Thread thread = new Thread(() -> run(future, key, () -> {
+            call();
+            return result.get();
+        }));
+        thread.start();
+        while (calls.get() == 0) {
+            Thread.sleep(1);
+        }
+        return future;
+    }
+
+    private CompletableFuture<String> waiter(String key, Supplier<String> result) throws InterruptedException {
+        CompletableFuture<String> future = new CompletableFuture<>();
+        Thread thread = new Thread(() -> run(future, key, result));
+        thread.start();
+        while (thread.isAlive() && thread.getState() != Thread.State.WAITING) {
+            Thread.sleep(1);
+        }
+        return future;
+    }
+
+    private void run(CompletableFuture<String> future, String key, Supplier<String> call) {
+        try {
+            future.complete(singleFlight.execute(key, call));
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+        }
+    }
+
+    private String call() {
+        calls.incrementAndGet();
+        try {
+            release.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return "call-" + calls.get();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,152 @@
+package br.com.jschmidt.bucket_manager_bff.services.hedging;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class HedgerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void call_WhenFirstAttemptIsSlow_ReturnsTheHedgeAndDiscardsTheLoser() throws Exception {
+        Hedger hedger = hedger(warmedUpTracker(), new HedgeBudget(1, 10));
+        AtomicInteger attempts = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch discarded = new CountDownLatch(1);
+
+        String result = hedger.call(() -> {
+            if (attempts.incrementAndGet() == 1) {
+                awaitIgnoringInterrupts(release);
+                return "slow";
+            }
+            return "fast";
+        }, loser -> {
+            assertEquals("slow", loser);
+            discarded.countDown();
+        });
+        release.countDown();
+
+        assertEquals("fast", result);
+        assertTrue(discarded.await(5, TimeUnit.SECONDS));
+        assertEquals(1, count("sent"));
+        assertEquals(1, count("won"));
+    }
+
+    @Test
+    void call_WhenBudgetIsSpent_WaitsForTheFirstAttempt() throws Exception {
+        Hedger hedger = hedger(warmedUpTracker(), new HedgeBudget(0, 1));
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = hedger.call(() -> {
+            attempts.incrementAndGet();
+            Thread.sleep(50);
+            return "slow";
+        }, loser -> fail("Nothing should be discarded"));
+
+        assertEquals("slow", result);
+        assertEquals(1, attempts.get());
+        assertEquals(0, count("sent"));
+        assertEquals(1, count("throttled"));
+    }
+
+    @Test
+    void call_WhenFirstAttemptFailsAfterHedging_ReturnsTheHedge() throws Exception {
+        Hedger hedger = hedger(warmedUpTracker(), new HedgeBudget(1, 10));
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = hedger.call(() -> {
+            if (attempts.incrementAndGet() == 1) {
+                Thread.sleep(50);
+                throw new IllegalStateException("connection reset");
+            }
+            Thread.sleep(100);
+            return "hedge";
+        }, loser -> fail("Nothing should be discarded"));
+
+        assertEquals("hedge", result);
+    }
+
+    @Test
+    void call_WhenTheLoserIsCancelled_RecordsTheTimeItHadTakenOnce() throws Exception {
+        LatencyTracker latencies = mock(LatencyTracker.class);
+        when(latencies.percentileNanos()).thenReturn(TimeUnit.MILLISECONDS.toNanos(20));
+        Hedger hedger = hedger(latencies, new HedgeBudget(1, 10));
+        AtomicInteger attempts = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch discarded = new CountDownLatch(1);
+
+        String result = hedger.call(() -> {
+            if (attempts.incrementAndGet() == 1) {
+                awaitIgnoringInterrupts(release);
+                return "slow";
+            }
+            return "fast";
+        }, loser -> discarded.countDown());
+        release.countDown();
+
+        assertEquals("fast", result);
+        assertTrue(discarded.await(5, TimeUnit.SECONDS));
+        ArgumentCaptor<Long> recorded = ArgumentCaptor.forClass(Long.class);
+        verify(latencies, times(2)).record(recorded.capture());
+        assertTrue(recorded.getAllValues().stream().anyMatch(nanos -> nanos >= TimeUnit.MILLISECONDS.toNanos(20)));
+    }
+
+    @Test
+    void call_WhileLatencyIsUnknown_RunsOnTheCallingThread() throws Exception {
+        Hedger hedger = hedger(new LatencyTracker(100, 95), new HedgeBudget(1, 10));
+        Thread caller = Thread.currentThread();
+
+        assertEquals("result", hedger.call(() -> {
+            assertSame(caller, Thread.currentThread());
+            return "result";
+        }, loser -> fail("Nothing should be discarded")));
+    }
+
+    private Hedger hedger(LatencyTracker latencies, HedgeBudget budget) {
+        return new Hedger(executor, latencies, budget, Duration.ofMillis(1), meterRegistry, "AWS", "download");
+    }
+
+    private LatencyTracker warmedUpTracker() {
+        LatencyTracker latencies = new LatencyTracker(100, 95);
+        for (int i = 0; i < 100; i++) {
+            latencies.record(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+        return latencies;
+    }
+
+    private double count(String outcome) {
+        return meterRegistry.get("storage.hedge.requests").tags("outcome", outcome).counter().count();
+    }
+
+    private static void awaitIgnoringInterrupts(CountDownLatch latch) {
+        while (true) {
+            try {
+                latch.await();
+                return;
+            } catch (InterruptedException e) {
+                // The losing attempt is interrupted, but keeps going to hand its result to discard.
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,37 @@
+package br.com.jschmidt.bucket_manager_bff.services.hedging;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyTrackerTest {
+
+    @Test
+    void percentileNanos_BeforeEnoughSamples_IsUnknown() {
+        LatencyTracker latencies = new LatencyTracker(1000, 95);
+        for (int i = 0; i < 99; i++) {
+            latencies.record(10);
+        }
+
+        assertEquals(-1, latencies.percentileNanos());
+    }
+
+    @Test
+    void percentileNanos_ReflectsTheLatestWindow() {
+        LatencyTracker latencies = new LatencyTracker(100, 95);
+        for (int i = 1; i <= 100; i++) {
+            latencies.record(i);
+        }
+        assertEquals(95, latencies.percentileNanos());
+
+        for (int i = 0; i < 100; i++) {
+            latencies.record(1_000);
+        }
+        assertEquals(1_000, latencies.percentileNanos());
+    }
+
+    @Test
+    void constructor_WithInvalidPercentile_IsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new LatencyTracker(100, 0));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,114 @@
+package br.com.jschmidt.bucket_manager_bff.services.strategies;
+
+import br.com.jschmidt.bucket_manager_bff.enums.CloudProviderEnum;
+import br.com.jschmidt.bucket_manager_bff.models.ResourceDownloadModel;
+import br.com.jschmidt.bucket_manager_bff.services.hedging.HedgeBudget;
+import br.com.jschmidt.bucket_manager_bff.services.hedging.Hedger;
+import br.com.jschmidt.bucket_manager_bff.services.hedging.LatencyTracker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class HedgingStorageAccessStrategyTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void downloadFile_WhenTheHedgeWins_AbortsTheLosingStreamThroughTheInstrumentation() throws Exception {
+        StorageAccessStrategy provider = mock(StorageAccessStrategy.class);
+        TrackedStream slow = new TrackedStream("slow");
+        TrackedStream fast = new TrackedStream("fast");
+        AtomicInteger opened = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        when(provider.getCloudProviderType()).thenReturn(CloudProviderEnum.AWS);
+        when(provider.downloadFile("bucket", "file.txt")).thenReturn(ResourceDownloadModel.builder()
+                .content(() -> {
+                    if (opened.incrementAndGet() == 1) {
+                        awaitIgnoringInterrupts(release);
+                        return slow;
+                    }
+                    return fast;
+                })
+                .build());
+        StorageAccessStrategy strategy = new HedgingStorageAccessStrategy(
+                new InstrumentedStorageAccessStrategy(provider, meterRegistry, Set.of()),
+                Map.of("download", hedger("download", new LatencyTracker(100, 95)),
+                        "content", hedger("content", warmedUpTracker())));
+
+        try (InputStream content = strategy.downloadFile("bucket", "file.txt").getContent().getInputStream()) {
+            release.countDown();
+            assertEquals("fast", new String(content.readAllBytes(), StandardCharsets.UTF_8));
+        }
+
+        assertTrue(slow.aborted.await(5, TimeUnit.SECONDS));
+        assertFalse(slow.closed);
+    }
+
+    private Hedger hedger(String operation, LatencyTracker latencies) {
+        return new Hedger(executor, latencies, new HedgeBudget(1, 10), Duration.ofMillis(1), meterRegistry, "AWS",
+                operation);
+    }
+
+    private LatencyTracker warmedUpTracker() {
+        LatencyTracker latencies = new LatencyTracker(100, 95);
+        for (int i = 0; i < 100; i++) {
+            latencies.record(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+        return latencies;
+    }
+
+    private static void awaitIgnoringInterrupts(CountDownLatch latch) {
+        while (true) {
+            try {
+                latch.await();
+                return;
+            } catch (InterruptedException e) {
+                // The losing attempt is interrupted, but keeps going to hand its stream to discard.
+            }
+        }
+    }
+
+    private static class TrackedStream extends ByteArrayInputStream implements AbortableStream {
+
+        private final CountDownLatch aborted = new CountDownLatch(1);
+        private volatile boolean closed;
+
+        TrackedStream(String content) {
+            super(content.getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public void abort() {
+            aborted.countDown();
+        }
+
+        @Override
+        public void close() throws IOException {
+            closed = true;
+            super.close();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,149 @@
+package br.com.jschmidt.bucket_manager_bff.services.strategies;
+
+import br.com.jschmidt.bucket_manager_bff.enums.CloudProviderEnum;
+import br.com.jschmidt.bucket_manager_bff.exceptions.FileNotFoundException;
+import br.com.jschmidt.bucket_manager_bff.models.BucketFileModel;
+import br.com.jschmidt.bucket_manager_bff.models.ResourceDownloadModel;
+import br.com.jschmidt.bucket_manager_bff.models.ResourceUploadModel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class InstrumentedStorageAccessStrategyTest {
+
+    @Mock
+    private StorageAccessStrategy delegate;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private InstrumentedStorageAccessStrategy strategy;
+
+    @BeforeEach
+    void setUp() {
+        when(delegate.getCloudProviderType()).thenReturn(CloudProviderEnum.AWS);
+        strategy = new InstrumentedStorageAccessStrategy(delegate, meterRegistry, Set.of("bucket"));
+    }
+
+    @Test
+    void getFilesFromBucket_RecordsLatencyPerProviderOperationAndBucket() {
+        when(delegate.getFilesFromBucket("bucket")).thenReturn(List.of());
+
+        strategy.getFilesFromBucket("bucket");
+
+        assertEquals(1, meterRegistry.get("storage.operation")
+                .tags("provider", "AWS", "operation", "list", "bucket", "bucket", "outcome", "success")
+                .timer().count());
+    }
+
+    @Test
+    void downloadFile_WhenProviderFails_CountsTheError() {
+        when(delegate.downloadFile("bucket", "missing.txt")).thenThrow(new FileNotFoundException("missing.txt"));
+
+        assertThrows(FileNotFoundException.class, () -> strategy.downloadFile("bucket", "missing.txt"));
+
+        assertEquals(1, meterRegistry.get("storage.operation.errors")
+                .tags("operation", "download", "exception", "FileNotFoundException")
+                .counter().count());
+        assertEquals(1, meterRegistry.get("storage.operation").tags("outcome", "error").timer().count());
+    }
+
+    @Test
+    void downloadFile_CountsBytesReadFromProvider() throws IOException {
+        when(delegate.downloadFile("bucket", "file.txt")).thenReturn(ResourceDownloadModel.builder()
+                .contentLength(10L)
+                .content(() -> new ByteArrayInputStream("0123456789".getBytes()))
+                .rangedContent((start, end) -> new ByteArrayInputStream("0123456789".getBytes(), (int) start,
+                        (int) (end - start + 1)))
+                .build());
+
+        ResourceDownloadModel model = strategy.downloadFile("bucket", "file.txt");
+        try (InputStream content = model.getContent().getInputStream();
+             InputStream range = model.getRangedContent().getInputStream(2, 5)) {
+            content.readAllBytes();
+            range.readAllBytes();
+        }
+
+        assertEquals(14, meterRegistry.get("storage.transfer.bytes").tags("direction", "in").counter().count());
+        assertEquals(10, meterRegistry.get("storage.object.size").tags("operation", "download").summary().totalAmount());
+    }
+
+    @Test
+    void uploadFile_CountsBytesWrittenToProvider() {
+        when(delegate.uploadFile(any(ResourceUploadModel.class), any())).thenReturn(BucketFileModel.builder().build());
+
+        strategy.uploadFile(ResourceUploadModel.builder().fileName("file.txt").contentLength(2048L).build(), "bucket");
+
+        assertEquals(2048, meterRegistry.get("storage.transfer.bytes").tags("direction", "out").counter().count());
+    }
+
+    @Test
+    void streamFilesFromBucket_IsTimedUntilClosed() {
+        when(delegate.streamFilesFromBucket("bucket", "logs/")).thenReturn(Stream.of(BucketFileModel.builder().build()));
+
+        try (Stream<BucketFileModel> files = strategy.streamFilesFromBucket("bucket", "logs/")) {
+            assertEquals(1, files.count());
+            assertTrue(meterRegistry.find("storage.operation").tags("operation", "stream").timers().isEmpty());
+        }
+
+        assertEquals(1, meterRegistry.get("storage.operation").tags("operation", "stream").timer().count());
+    }
+
+    @Test
+    void getFilesFromBucket_WithBucketOutsideTheTaggedOnes_IsTaggedAsOther() {
+        when(delegate.getFilesFromBucket("made-up")).thenReturn(List.of());
+
+        strategy.getFilesFromBucket("made-up");
+
+        assertEquals(1, meterRegistry.get("storage.operation").tags("bucket", "other").timer().count());
+        assertTrue(meterRegistry.find("storage.operation").tags("bucket", "made-up").timers().isEmpty());
+    }
+
+    @Test
+    void streamFilesFromBucket_WhenAPageFails_IsTimedAsError() {
+        Stream<BucketFileModel> failing = Stream.of(1, 2).map(page -> {
+            if (page == 2) {
+                throw new IllegalStateException("page request failed");
+            }
+            return BucketFileModel.builder().build();
+        });
+        when(delegate.streamFilesFromBucket("bucket", "logs/")).thenReturn(failing);
+
+        try (Stream<BucketFileModel> files = strategy.streamFilesFromBucket("bucket", "logs/")) {
+            assertThrows(IllegalStateException.class, files::toList);
+        }
+
+        assertEquals(1, meterRegistry.get("storage.operation")
+                .tags("operation", "stream", "outcome", "error").timer().count());
+        assertEquals(1, meterRegistry.get("storage.operation.errors")
+                .tags("operation", "stream", "exception", "IllegalStateException").counter().count());
+    }
+
+    @Test
+    void streamFilesFromBucket_WhenTheConsumerFails_IsStillASuccess() {
+        when(delegate.streamFilesFromBucket("bucket", "logs/"))
+                .thenReturn(Stream.of(BucketFileModel.builder().build()));
+
+        try (Stream<BucketFileModel> files = strategy.streamFilesFromBucket("bucket", "logs/")) {
+            assertThrows(IllegalStateException.class, () -> files.forEach(file -> {
+                throw new IllegalStateException("client went away");
+            }));
+        }
+
+        assertEquals(1, meterRegistry.get("storage.operation")
+                .tags("operation", "stream", "outcome", "success").timer().count());
+    }
+}
\ No newline at end of file
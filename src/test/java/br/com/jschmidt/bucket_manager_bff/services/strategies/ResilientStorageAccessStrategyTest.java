@@ -0,0 +1,187 @@
+package br.com.jschmidt.bucket_manager_bff.services.strategies;
+
+import br.com.jschmidt.bucket_manager_bff.configuration.ProviderResilienceProperties;
+import br.com.jschmidt.bucket_manager_bff.enums.CloudProviderEnum;
+import br.com.jschmidt.bucket_manager_bff.exceptions.FileNotFoundException;
+import br.com.jschmidt.bucket_manager_bff.exceptions.ProviderUnavailableException;
+import br.com.jschmidt.bucket_manager_bff.models.BucketFileModel;
+import br.com.jschmidt.bucket_manager_bff.models.ResourceUploadModel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ResilientStorageAccessStrategyTest {
+
+    @Mock
+    private StorageAccessStrategy delegate;
+
+    private final ProviderResilienceProperties properties = new ProviderResilienceProperties();
+    private ExecutorService executor;
+    private ProviderResilience resilience;
+
+    @BeforeEach
+    void setUp() {
+        when(delegate.getCloudProviderType()).thenReturn(CloudProviderEnum.AZURE);
+        ProviderResilienceProperties.Settings settings = properties.getAzure();
+        settings.setRetryWaitDuration(Duration.ofMillis(1));
+        settings.setMaxWaitDuration(Duration.ZERO);
+        settings.setSlidingWindowSize(4);
+        settings.setMinimumNumberOfCalls(4);
+        executor = Executors.newCachedThreadPool();
+        resilience = new ProviderResilience(properties, executor, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void getFilesFromBucket_WhenProviderFailsOnce_IsRetried() {
+        when(delegate.getFilesFromBucket("bucket"))
+                .thenThrow(new IllegalStateException("connection reset"))
+                .thenReturn(List.of(BucketFileModel.builder().fileName("a.log").build()));
+
+        List<BucketFileModel> files = resilience.apply(delegate).getFilesFromBucket("bucket");
+
+        assertEquals("a.log", files.getFirst().getFileName());
+        verify(delegate, times(2)).getFilesFromBucket("bucket");
+    }
+
+    @Test
+    void downloadFile_WhenFileIsMissing_IsNotRetried() {
+        when(delegate.downloadFile("bucket", "missing.txt")).thenThrow(new FileNotFoundException("missing.txt"));
+
+        StorageAccessStrategy strategy = resilience.apply(delegate);
+
+        assertThrows(FileNotFoundException.class, () -> strategy.downloadFile("bucket", "missing.txt"));
+        verify(delegate, times(1)).downloadFile("bucket", "missing.txt");
+    }
+
+    @Test
+    void uploadFile_WhenProviderFails_IsNotRetried() {
+        ResourceUploadModel upload = ResourceUploadModel.builder().fileName("a.log").build();
+        when(delegate.uploadFile(upload, "bucket")).thenThrow(new IllegalStateException("connection reset"));
+
+        StorageAccessStrategy strategy = resilience.apply(delegate);
+
+        assertThrows(IllegalStateException.class, () -> strategy.uploadFile(upload, "bucket"));
+        verify(delegate, times(1)).uploadFile(upload, "bucket");
+    }
+
+    @Test
+    void getFilesFromBucket_WhenProviderKeepsFailing_OpensTheCircuit() {
+        properties.getAzure().setRetryMaxAttempts(1);
+        when(delegate.getFilesFromBucket("bucket")).thenThrow(new IllegalStateException("connection reset"));
+        StorageAccessStrategy strategy = resilience.apply(delegate);
+        for (int i = 0; i < 4; i++) {
+            assertThrows(IllegalStateException.class, () -> strategy.getFilesFromBucket("bucket"));
+        }
+
+        ProviderUnavailableException exception = assertThrows(ProviderUnavailableException.class,
+                () -> strategy.getFilesPageFromBucket("bucket", null));
+
+        assertEquals("Cloud Provider AZURE is unavailable: circuit breaker is open", exception.getMessage());
+        verify(delegate, never()).getFilesPageFromBucket(any(), any());
+    }
+
+    @Test
+    void generatePresignedUrl_WhenDeadlineIsExceeded_FailsWithProviderUnavailable() {
+        properties.getAzure().getTimeouts().put("presign", Duration.ofMillis(50));
+        properties.getAzure().setRetryMaxAttempts(1);
+        when(delegate.generatePresignedUrl("bucket", "a.log")).thenAnswer(invocation -> {
+            Thread.sleep(5_000);
+            return "https://example.com/a.log";
+        });
+
+        StorageAccessStrategy strategy = resilience.apply(delegate);
+
+        ProviderUnavailableException exception = assertThrows(ProviderUnavailableException.class,
+                () -> strategy.generatePresignedUrl("bucket", "a.log"));
+        assertTrue(exception.getMessage().endsWith("presign did not complete within PT0.05S"));
+    }
+
+    @Test
+    void getFilesFromBucket_WhenBulkheadIsFull_FailsFast() throws Exception {
+        properties.getAzure().setMaxConcurrentCalls(1);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(delegate.getFilesFromBucket("slow")).thenAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            return List.of();
+        });
+        StorageAccessStrategy strategy = resilience.apply(delegate);
+        Future<List<BucketFileModel>> slowCall = executor.submit(() -> strategy.getFilesFromBucket("slow"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        ProviderUnavailableException exception = assertThrows(ProviderUnavailableException.class,
+                () -> strategy.getFilesFromBucket("other"));
+
+        assertEquals("Cloud Provider AZURE is unavailable: too many concurrent calls", exception.getMessage());
+        release.countDown();
+        assertEquals(List.of(), slowCall.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void getFilesFromBucket_WhileTransfersFillTheirBulkhead_IsNotRejected() throws Exception {
+        properties.getAzure().setMaxConcurrentCalls(1);
+        properties.getAzure().setMaxConcurrentTransfers(1);
+        ResourceUploadModel upload = ResourceUploadModel.builder().fileName("large.bin").build();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(delegate.uploadFile(upload, "bucket")).thenAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            return BucketFileModel.builder().fileName("large.bin").build();
+        });
+        when(delegate.getFilesFromBucket("bucket")).thenReturn(List.of());
+        StorageAccessStrategy strategy = resilience.apply(delegate);
+        Future<BucketFileModel> slowUpload = executor.submit(() -> strategy.uploadFile(upload, "bucket"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        assertEquals(List.of(), strategy.getFilesFromBucket("bucket"));
+        ProviderUnavailableException exception = assertThrows(ProviderUnavailableException.class,
+                () -> strategy.copyFile("bucket", "large.bin", "bucket", "copy.bin"));
+
+        assertEquals("Cloud Provider AZURE is unavailable: too many concurrent transfers", exception.getMessage());
+        release.countDown();
+        assertEquals("large.bin", slowUpload.get(5, TimeUnit.SECONDS).getFileName());
+    }
+
+    @Test
+    void streamFilesFromBucket_WhenFirstPageFails_IsRetriedBeforeTheStreamIsReturned() {
+        when(delegate.streamFilesFromBucket("bucket", "logs/"))
+                .thenReturn(Stream.<BucketFileModel>generate(() -> {
+                    throw new IllegalStateException("connection reset");
+                }))
+                .thenReturn(Stream.of(BucketFileModel.builder().fileName("logs/a.log").build(),
+                        BucketFileModel.builder().fileName("logs/b.log").build()));
+
+        Stream<BucketFileModel> files = resilience.apply(delegate).streamFilesFromBucket("bucket", "logs/");
+
+        verify(delegate, times(2)).streamFilesFromBucket("bucket", "logs/");
+        assertEquals(List.of("logs/a.log", "logs/b.log"), files.map(BucketFileModel::getFileName).toList());
+    }
+}
\ No newline at end of file
@@ -1,28 +1,48 @@
 package br.com.jschmidt.bucket_manager_bff.services.strategies.impl;
 
 import br.com.jschmidt.bucket_manager_bff.enums.CloudProviderEnum;
+import br.com.jschmidt.bucket_manager_bff.exceptions.BucketNotFoundException;
+import br.com.jschmidt.bucket_manager_bff.exceptions.FileNotFoundException;
 import br.com.jschmidt.bucket_manager_bff.models.BucketFileModel;
+import br.com.jschmidt.bucket_manager_bff.models.BucketFilePageModel;
+import br.com.jschmidt.bucket_manager_bff.models.DeleteFailureModel;
+import br.com.jschmidt.bucket_manager_bff.models.FileListingRequestModel;
 import br.com.jschmidt.bucket_manager_bff.models.ResourceDownloadModel;
+import br.com.jschmidt.bucket_manager_bff.services.strategies.AbortableStream;
+import br.com.jschmidt.bucket_manager_bff.services.transfer.ChunkedUploadEngine;
+import br.com.jschmidt.bucket_manager_bff.services.transfer.PartCopier;
+import br.com.jschmidt.bucket_manager_bff.services.transfer.PartUploader;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.core.io.ByteArrayResource;
 import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockMultipartFile;
 import software.amazon.awssdk.core.ResponseInputStream;
 import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.http.AbortableInputStream;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.model.*;
+import software.amazon.awssdk.services.s3.paginators.ListObjectsV2Iterable;
 import software.amazon.awssdk.services.s3.presigner.S3Presigner;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -35,6 +55,9 @@ class AwsStorageAccessStrategyImplTest {
     @Mock
     private S3Presigner s3Presigner;
 
+    @Mock
+    private ChunkedUploadEngine chunkedUploadEngine;
+
     @InjectMocks
     private AwsStorageAccessStrategyImpl awsStorageAccessStrategy;
 
@@ -65,14 +88,86 @@ class AwsStorageAccessStrategyImplTest {
         verify(s3Client).listObjectsV2(any(ListObjectsV2Request.class));
     }
 
+    @Test
+    void getFilesFromBucket_FollowsContinuationTokens() {
+        ListObjectsV2Response firstPage = ListObjectsV2Response.builder()
+                .contents(S3Object.builder().key("a.txt").build())
+                .isTruncated(true)
+                .nextContinuationToken("next")
+                .build();
+        ListObjectsV2Response lastPage = ListObjectsV2Response.builder()
+                .contents(S3Object.builder().key("b.txt").build())
+                .isTruncated(false)
+                .build();
+        when(s3Client.listObjectsV2(any(ListObjectsV2Request.class))).thenReturn(firstPage, lastPage);
+
+        List<BucketFileModel> files = awsStorageAccessStrategy.getFilesFromBucket("test-bucket");
+
+        assertEquals(List.of("a.txt", "b.txt"), files.stream().map(BucketFileModel::getFileName).toList());
+        ArgumentCaptor<ListObjectsV2Request> requestCaptor = ArgumentCaptor.forClass(ListObjectsV2Request.class);
+        verify(s3Client, times(2)).listObjectsV2(requestCaptor.capture());
+        assertEquals("next", requestCaptor.getAllValues().get(1).continuationToken());
+    }
+
+    @Test
+    void getFilesPageFromBucket() {
+        ListObjectsV2Response response = ListObjectsV2Response.builder()
+                .contents(S3Object.builder().key("logs/app.log").size(10L).build())
+                .commonPrefixes(CommonPrefix.builder().prefix("logs/2025/").build())
+                .isTruncated(true)
+                .nextContinuationToken("next-token")
+                .build();
+        when(s3Client.listObjectsV2(any(ListObjectsV2Request.class))).thenReturn(response);
+
+        BucketFilePageModel page = awsStorageAccessStrategy.getFilesPageFromBucket("test-bucket",
+                FileListingRequestModel.builder()
+                        .prefix("logs/")
+                        .delimiter("/")
+                        .pageSize(50)
+                        .continuationToken("token")
+                        .build());
+
+        assertEquals("logs/app.log", page.getFiles().getFirst().getFileName());
+        assertEquals(List.of("logs/2025/"), page.getCommonPrefixes());
+        assertEquals("next-token", page.getNextContinuationToken());
+
+        ArgumentCaptor<ListObjectsV2Request> requestCaptor = ArgumentCaptor.forClass(ListObjectsV2Request.class);
+        verify(s3Client).listObjectsV2(requestCaptor.capture());
+        assertEquals("logs/", requestCaptor.getValue().prefix());
+        assertEquals("/", requestCaptor.getValue().delimiter());
+        assertEquals(50, requestCaptor.getValue().maxKeys());
+        assertEquals("token", requestCaptor.getValue().continuationToken());
+    }
+
+    @Test
+    void streamFilesFromBucket_FetchesPagesLazily() {
+        ListObjectsV2Response response = ListObjectsV2Response.builder()
+                .contents(S3Object.builder().key("logs/app.log").build())
+                .build();
+        when(s3Client.listObjectsV2Paginator(any(ListObjectsV2Request.class)))
+                .thenAnswer(invocation -> new ListObjectsV2Iterable(s3Client, invocation.getArgument(0)));
+        when(s3Client.listObjectsV2(any(ListObjectsV2Request.class))).thenReturn(response);
+
+        try (Stream<BucketFileModel> files = awsStorageAccessStrategy.streamFilesFromBucket("test-bucket", "logs/")) {
+            verify(s3Client, never()).listObjectsV2(any(ListObjectsV2Request.class));
+            assertEquals(List.of("logs/app.log"), files.map(BucketFileModel::getFileName).toList());
+        }
+    }
+
     @Test
     void downloadFile() throws IOException {
         String bucketName = "test-bucket";
         String fileName = "test-file.txt";
         byte[] content = "file content".getBytes();
+        HeadObjectResponse headObjectResponse = HeadObjectResponse.builder()
+                .contentType(MediaType.TEXT_PLAIN_VALUE)
+                .contentLength((long) content.length)
+                .eTag("test-etag")
+                .build();
         GetObjectResponse getObjectResponse = GetObjectResponse.builder().contentType(MediaType.TEXT_PLAIN_VALUE).build();
         ResponseInputStream<GetObjectResponse> s3ObjectStream = new ResponseInputStream<>(getObjectResponse, new java.io.ByteArrayInputStream(content));
 
+        when(s3Client.headObject(any(HeadObjectRequest.class))).thenReturn(headObjectResponse);
         when(s3Client.getObject(any(GetObjectRequest.class))).thenReturn(s3ObjectStream);
 
         ResourceDownloadModel result = awsStorageAccessStrategy.downloadFile(bucketName, fileName);
@@ -80,17 +175,230 @@ class AwsStorageAccessStrategyImplTest {
         assertNotNull(result);
         assertEquals(fileName, result.getFileName());
         assertEquals(MediaType.TEXT_PLAIN_VALUE, result.getContentType());
-        assertArrayEquals(content, ((ByteArrayResource) result.getResource()).getByteArray());
+        assertEquals(content.length, result.getContentLength());
+        verify(s3Client, never()).getObject(any(GetObjectRequest.class));
+
+        try (InputStream inputStream = result.getContent().getInputStream()) {
+            assertArrayEquals(content, inputStream.readAllBytes());
+        }
         verify(s3Client).getObject(any(GetObjectRequest.class));
     }
 
+    @Test
+    void downloadFile_RangedContent_RequestsOnlyTheRange() throws IOException {
+        HeadObjectResponse headObjectResponse = HeadObjectResponse.builder()
+                .contentLength(100L)
+                .eTag("test-etag")
+                .build();
+        ResponseInputStream<GetObjectResponse> s3ObjectStream = new ResponseInputStream<>(
+                GetObjectResponse.builder().build(), new java.io.ByteArrayInputStream(new byte[10]));
+
+        when(s3Client.headObject(any(HeadObjectRequest.class))).thenReturn(headObjectResponse);
+        when(s3Client.getObject(any(GetObjectRequest.class))).thenReturn(s3ObjectStream);
+
+        ResourceDownloadModel result = awsStorageAccessStrategy.downloadFile("test-bucket", "test-file.txt");
+        result.getRangedContent().getInputStream(10, 19).close();
+
+        ArgumentCaptor<GetObjectRequest> requestCaptor = ArgumentCaptor.forClass(GetObjectRequest.class);
+        verify(s3Client).getObject(requestCaptor.capture());
+        assertEquals("bytes=10-19", requestCaptor.getValue().range());
+        assertEquals("test-etag", requestCaptor.getValue().ifMatch());
+    }
+
+    @Test
+    void downloadFile_WhenContentIsAborted_AbortsTheResponseStream() throws IOException {
+        AtomicBoolean aborted = new AtomicBoolean();
+        ResponseInputStream<GetObjectResponse> s3ObjectStream = new ResponseInputStream<>(
+                GetObjectResponse.builder().build(),
+                AbortableInputStream.create(new java.io.ByteArrayInputStream(new byte[10]), () -> aborted.set(true)));
+
+        when(s3Client.headObject(any(HeadObjectRequest.class)))
+                .thenReturn(HeadObjectResponse.builder().contentLength(10L).eTag("test-etag").build());
+        when(s3Client.getObject(any(GetObjectRequest.class))).thenReturn(s3ObjectStream);
+
+        InputStream content = awsStorageAccessStrategy.downloadFile("test-bucket", "test-file.txt")
+                .getContent().getInputStream();
+        assertInstanceOf(AbortableStream.class, content);
+        ((AbortableStream) content).abort();
+
+        assertTrue(aborted.get());
+    }
+
+    @Test
+    void downloadFile_WhenFileNotFound_ThrowsException() {
+        when(s3Client.headObject(any(HeadObjectRequest.class))).thenThrow(NoSuchKeyException.builder().build());
+        assertThrows(FileNotFoundException.class, () -> awsStorageAccessStrategy.downloadFile("bucket", "not-found.txt"));
+    }
+
     @Test
     void uploadFile() throws IOException {
         String bucketName = "test-bucket";
         MockMultipartFile file = new MockMultipartFile("file", "test.txt", "text/plain", "content".getBytes());
+        when(s3Client.putObject(any(PutObjectRequest.class), any(RequestBody.class)))
+                .thenReturn(PutObjectResponse.builder().eTag("\"etag\"").build());
 
-        awsStorageAccessStrategy.uploadFile(file, bucketName);
+        BucketFileModel uploadedFile = awsStorageAccessStrategy.uploadFile(file, bucketName);
 
         verify(s3Client).putObject(any(PutObjectRequest.class), any(RequestBody.class));
+        assertEquals("test.txt", uploadedFile.getFileName());
+        assertEquals("\"etag\"", uploadedFile.getEtag());
+        assertEquals(7L, uploadedFile.getFileSize());
+    }
+
+    @Test
+    void uploadFile_AboveThreshold_UsesMultipartUpload() throws IOException {
+        MockMultipartFile file = new MockMultipartFile("file", "large.bin", "application/octet-stream", new byte[8]);
+        uploadInParts(2);
+        when(s3Client.createMultipartUpload(any(CreateMultipartUploadRequest.class)))
+                .thenReturn(CreateMultipartUploadResponse.builder().uploadId("upload-id").build());
+        when(s3Client.uploadPart(any(UploadPartRequest.class), any(RequestBody.class)))
+                .thenReturn(UploadPartResponse.builder().eTag("part-etag").build());
+        when(s3Client.completeMultipartUpload(any(CompleteMultipartUploadRequest.class)))
+                .thenReturn(CompleteMultipartUploadResponse.builder().eTag("\"etag-2\"").build());
+
+        BucketFileModel uploadedFile = awsStorageAccessStrategy.uploadFile(file, "test-bucket");
+
+        assertEquals("\"etag-2\"", uploadedFile.getEtag());
+        ArgumentCaptor<CompleteMultipartUploadRequest> completeCaptor =
+                ArgumentCaptor.forClass(CompleteMultipartUploadRequest.class);
+        verify(s3Client).completeMultipartUpload(completeCaptor.capture());
+        assertEquals("upload-id", completeCaptor.getValue().uploadId());
+        assertEquals(List.of(1, 2), completeCaptor.getValue().multipartUpload().parts().stream()
+                .map(CompletedPart::partNumber)
+                .toList());
+        verify(s3Client, never()).putObject(any(PutObjectRequest.class), any(RequestBody.class));
+    }
+
+    @Test
+    void uploadFile_WhenPartFails_AbortsMultipartUpload() throws IOException {
+        MockMultipartFile file = new MockMultipartFile("file", "large.bin", "application/octet-stream", new byte[8]);
+        uploadInParts(2);
+        when(s3Client.createMultipartUpload(any(CreateMultipartUploadRequest.class)))
+                .thenReturn(CreateMultipartUploadResponse.builder().uploadId("upload-id").build());
+        when(s3Client.uploadPart(any(UploadPartRequest.class), any(RequestBody.class)))
+                .thenThrow(S3Exception.builder().message("part failed").build());
+
+        assertThrows(S3Exception.class, () -> awsStorageAccessStrategy.uploadFile(file, "test-bucket"));
+
+        verify(s3Client).abortMultipartUpload(any(AbortMultipartUploadRequest.class));
+        verify(s3Client, never()).completeMultipartUpload(any(CompleteMultipartUploadRequest.class));
+    }
+
+    private void uploadInParts(int partCount) throws IOException {
+        when(chunkedUploadEngine.isChunked(any())).thenReturn(true);
+        when(chunkedUploadEngine.upload(any(), anyInt(), any())).thenAnswer(invocation -> {
+            PartUploader<?> partUploader = invocation.getArgument(2);
+            List<Object> parts = new ArrayList<>();
+            for (int partNumber = 1; partNumber <= partCount; partNumber++) {
+                parts.add(partUploader.uploadPart(partNumber, new byte[4], 4));
+            }
+            return parts;
+        });
+    }
+
+    @Test
+    void deleteFiles_SendsOneQuietDeleteObjectsRequestAndReportsErrors() {
+        when(s3Client.deleteObjects(any(DeleteObjectsRequest.class))).thenReturn(DeleteObjectsResponse.builder()
+                .errors(S3Error.builder().key("locked.log").code("AccessDenied").message("Access Denied").build())
+                .build());
+
+        List<DeleteFailureModel> failures = awsStorageAccessStrategy.deleteFiles("bucket",
+                List.of("a.log", "locked.log"));
+
+        ArgumentCaptor<DeleteObjectsRequest> requestCaptor = ArgumentCaptor.forClass(DeleteObjectsRequest.class);
+        verify(s3Client).deleteObjects(requestCaptor.capture());
+        assertEquals("bucket", requestCaptor.getValue().bucket());
+        assertTrue(requestCaptor.getValue().delete().quiet());
+        assertEquals(List.of("a.log", "locked.log"),
+                requestCaptor.getValue().delete().objects().stream().map(ObjectIdentifier::key).toList());
+        assertEquals(1, failures.size());
+        assertEquals("locked.log", failures.getFirst().getFileName());
+        assertEquals("AccessDenied: Access Denied", failures.getFirst().getError());
+    }
+
+    @Test
+    void deleteFiles_BucketNotFound() {
+        when(s3Client.deleteObjects(any(DeleteObjectsRequest.class)))
+                .thenThrow(NoSuchBucketException.builder().message("missing").build());
+
+        assertThrows(BucketNotFoundException.class,
+                () -> awsStorageAccessStrategy.deleteFiles("missing", List.of("a.log")));
+    }
+
+    @Test
+    void copyFile_UsesCopyObjectForRegularObjects() {
+        when(s3Client.headObject(any(HeadObjectRequest.class)))
+                .thenReturn(HeadObjectResponse.builder().contentLength(10L).eTag("\"source\"").build());
+        when(s3Client.copyObject(any(CopyObjectRequest.class))).thenReturn(CopyObjectResponse.builder()
+                .copyObjectResult(CopyObjectResult.builder().eTag("\"copy\"").build())
+                .build());
+
+        BucketFileModel copiedFile = awsStorageAccessStrategy.copyFile("source-bucket", "a.log", "bucket", "b.log");
+
+        ArgumentCaptor<CopyObjectRequest> requestCaptor = ArgumentCaptor.forClass(CopyObjectRequest.class);
+        verify(s3Client).copyObject(requestCaptor.capture());
+        assertEquals("source-bucket", requestCaptor.getValue().sourceBucket());
+        assertEquals("a.log", requestCaptor.getValue().sourceKey());
+        assertEquals("\"source\"", requestCaptor.getValue().copySourceIfMatch());
+        assertEquals("bucket", requestCaptor.getValue().destinationBucket());
+        assertEquals("b.log", requestCaptor.getValue().destinationKey());
+        assertEquals("\"copy\"", copiedFile.getEtag());
+        assertEquals(10L, copiedFile.getFileSize());
+        verify(s3Client, never()).createMultipartUpload(any(CreateMultipartUploadRequest.class));
+    }
+
+    @Test
+    void copyFile_AboveCopyObjectLimit_CopiesPartsServerSide() throws IOException {
+        copyInParts();
+        long contentLength = 6L * 1024 * 1024 * 1024;
+        when(s3Client.headObject(any(HeadObjectRequest.class))).thenReturn(HeadObjectResponse.builder()
+                .contentLength(contentLength).eTag("\"source\"").contentType("text/plain").build());
+        when(s3Client.createMultipartUpload(any(CreateMultipartUploadRequest.class)))
+                .thenReturn(CreateMultipartUploadResponse.builder().uploadId("upload-id").build());
+        when(s3Client.uploadPartCopy(any(UploadPartCopyRequest.class))).thenReturn(UploadPartCopyResponse.builder()
+                .copyPartResult(CopyPartResult.builder().eTag("part-etag").build())
+                .build());
+        when(s3Client.completeMultipartUpload(any(CompleteMultipartUploadRequest.class)))
+                .thenReturn(CompleteMultipartUploadResponse.builder().eTag("\"copy-12\"").build());
+
+        BucketFileModel copiedFile = awsStorageAccessStrategy.copyFile("source-bucket", "big.bin", "bucket", "big.bin");
+
+        ArgumentCaptor<UploadPartCopyRequest> partCaptor = ArgumentCaptor.forClass(UploadPartCopyRequest.class);
+        verify(s3Client, times(12)).uploadPartCopy(partCaptor.capture());
+        assertEquals("bytes=0-536870911", partCaptor.getAllValues().getFirst().copySourceRange());
+        assertEquals("bytes=5905580032-6442450943", partCaptor.getAllValues().getLast().copySourceRange());
+        assertEquals(12, partCaptor.getAllValues().getLast().partNumber());
+        verify(s3Client, never()).copyObject(any(CopyObjectRequest.class));
+        assertEquals("\"copy-12\"", copiedFile.getEtag());
+    }
+
+    @Test
+    void copyFile_WhenPartCopyFails_AbortsTheMultipartUpload() throws IOException {
+        copyInParts();
+        when(s3Client.headObject(any(HeadObjectRequest.class))).thenReturn(HeadObjectResponse.builder()
+                .contentLength(6L * 1024 * 1024 * 1024).eTag("\"source\"").build());
+        when(s3Client.createMultipartUpload(any(CreateMultipartUploadRequest.class)))
+                .thenReturn(CreateMultipartUploadResponse.builder().uploadId("upload-id").build());
+        when(s3Client.uploadPartCopy(any(UploadPartCopyRequest.class)))
+                .thenThrow(S3Exception.builder().message("precondition failed").build());
+
+        assertThrows(S3Exception.class,
+                () -> awsStorageAccessStrategy.copyFile("source-bucket", "big.bin", "bucket", "big.bin"));
+
+        verify(s3Client).abortMultipartUpload(any(AbortMultipartUploadRequest.class));
+        verify(s3Client, never()).completeMultipartUpload(any(CompleteMultipartUploadRequest.class));
+    }
+
+    private void copyInParts() throws IOException {
+        when(chunkedUploadEngine.copy(anyString(), anyLong(), anyLong(), any())).thenAnswer(invocation -> {
+            long contentLength = invocation.getArgument(1);
+            long partSize = invocation.getArgument(2);
+            PartCopier<?> partCopier = invocation.getArgument(3);
+            List<Object> parts = new ArrayList<>();
+            for (long start = 0; start < contentLength; start += partSize) {
+                parts.add(partCopier.copyPart(parts.size() + 1, start, Math.min(start + partSize, contentLength) - 1));
+            }
+            return parts;
+        });
     }
 }
\ No newline at end of file
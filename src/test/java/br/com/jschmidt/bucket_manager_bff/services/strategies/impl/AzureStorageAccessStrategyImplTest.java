@@ -4,31 +4,58 @@ import br.com.jschmidt.bucket_manager_bff.enums.CloudProviderEnum;
 import br.com.jschmidt.bucket_manager_bff.exceptions.BucketNotFoundException;
 import br.com.jschmidt.bucket_manager_bff.exceptions.FileNotFoundException;
 import br.com.jschmidt.bucket_manager_bff.models.BucketFileModel;
+import br.com.jschmidt.bucket_manager_bff.models.BucketFilePageModel;
+import br.com.jschmidt.bucket_manager_bff.models.DeleteFailureModel;
+import br.com.jschmidt.bucket_manager_bff.models.FileListingRequestModel;
 import br.com.jschmidt.bucket_manager_bff.models.ResourceDownloadModel;
+import br.com.jschmidt.bucket_manager_bff.services.strategies.AbortableStream;
+import br.com.jschmidt.bucket_manager_bff.services.transfer.ChunkedUploadEngine;
+import br.com.jschmidt.bucket_manager_bff.services.transfer.PartUploader;
 import com.azure.core.http.rest.PagedIterable;
+import com.azure.core.http.rest.PagedResponse;
+import com.azure.core.http.rest.Response;
+import com.azure.core.util.Context;
+import com.azure.core.util.polling.LongRunningOperationStatus;
+import com.azure.core.util.polling.PollResponse;
+import com.azure.core.util.polling.SyncPoller;
 import com.azure.storage.blob.BlobClient;
 import com.azure.storage.blob.BlobContainerClient;
 import com.azure.storage.blob.BlobServiceClient;
+import com.azure.storage.blob.batch.BlobBatch;
+import com.azure.storage.blob.batch.BlobBatchClient;
 import com.azure.storage.blob.models.BlobHttpHeaders;
+import com.azure.storage.blob.models.BlobCopyInfo;
+import com.azure.storage.blob.models.BlobErrorCode;
 import com.azure.storage.blob.models.BlobItem;
 import com.azure.storage.blob.models.BlobItemProperties;
 import com.azure.storage.blob.models.BlobProperties;
+import com.azure.storage.blob.models.BlobStorageException;
+import com.azure.storage.blob.models.BlockBlobItem;
+import com.azure.storage.blob.models.DeleteSnapshotsOptionType;
+import com.azure.storage.blob.models.ListBlobsOptions;
+import com.azure.storage.blob.options.BlobBeginCopyOptions;
+import com.azure.storage.blob.options.BlobInputStreamOptions;
+import com.azure.storage.blob.options.BlobParallelUploadOptions;
+import com.azure.storage.blob.options.BlockBlobCommitBlockListOptions;
+import com.azure.storage.blob.specialized.BlobInputStream;
+import com.azure.storage.blob.specialized.BlockBlobClient;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.core.io.ByteArrayResource;
 import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockMultipartFile;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -46,6 +73,11 @@ class AzureStorageAccessStrategyImplTest {
     private BlobClient blobClient;
     @Mock
     private PagedIterable<BlobItem> pagedIterable;
+    @Mock
+    private BlobBatchClient blobBatchClient;
+
+    @Mock
+    private ChunkedUploadEngine chunkedUploadEngine;
 
     @InjectMocks
     private AzureStorageAccessStrategyImpl azureStrategy;
@@ -87,6 +119,75 @@ class AzureStorageAccessStrategyImplTest {
         assertThrows(BucketNotFoundException.class, () -> azureStrategy.getFilesFromBucket("non-existent"));
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    void getFilesPageFromBucket_Success() {
+        BlobItem prefixItem = mock(BlobItem.class);
+        BlobItem blobItem = mock(BlobItem.class);
+        BlobItemProperties properties = mock(BlobItemProperties.class);
+        PagedResponse<BlobItem> pagedResponse = mock(PagedResponse.class);
+
+        when(blobContainerClient.listBlobsByHierarchy(eq("/"), any(ListBlobsOptions.class), isNull()))
+                .thenReturn(pagedIterable);
+        when(pagedIterable.iterableByPage("token", 50)).thenReturn(List.of(pagedResponse));
+        when(pagedResponse.getValue()).thenReturn(List.of(prefixItem, blobItem));
+        when(pagedResponse.getContinuationToken()).thenReturn("next-token");
+        when(prefixItem.isPrefix()).thenReturn(true);
+        when(prefixItem.getName()).thenReturn("logs/2025/");
+        when(blobItem.getName()).thenReturn("logs/app.log");
+        when(blobItem.getProperties()).thenReturn(properties);
+
+        BucketFilePageModel page = azureStrategy.getFilesPageFromBucket("container",
+                FileListingRequestModel.builder()
+                        .prefix("logs/")
+                        .delimiter("/")
+                        .pageSize(50)
+                        .continuationToken("token")
+                        .build());
+
+        assertEquals("logs/app.log", page.getFiles().getFirst().getFileName());
+        assertEquals(List.of("logs/2025/"), page.getCommonPrefixes());
+        assertEquals("next-token", page.getNextContinuationToken());
+        verify(blobContainerClient, never()).exists();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void getFilesPageFromBucket_WhenDelimiterIsBlank_ListsFlat() {
+        PagedResponse<BlobItem> pagedResponse = mock(PagedResponse.class);
+
+        when(blobContainerClient.listBlobs(any(ListBlobsOptions.class), isNull())).thenReturn(pagedIterable);
+        when(pagedIterable.iterableByPage(null, 50)).thenReturn(List.of(pagedResponse));
+        when(pagedResponse.getValue()).thenReturn(List.of());
+
+        BucketFilePageModel page = azureStrategy.getFilesPageFromBucket("container",
+                FileListingRequestModel.builder()
+                        .delimiter("")
+                        .pageSize(50)
+                        .build());
+
+        assertTrue(page.getFiles().isEmpty());
+        verify(blobContainerClient, never()).listBlobsByHierarchy(any(), any(), any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void streamFilesFromBucket_Success() {
+        BlobItem blobItem = mock(BlobItem.class);
+        BlobItemProperties properties = mock(BlobItemProperties.class);
+        PagedResponse<BlobItem> pagedResponse = mock(PagedResponse.class);
+
+        when(blobContainerClient.listBlobs(any(ListBlobsOptions.class), isNull())).thenReturn(pagedIterable);
+        when(pagedIterable.streamByPage()).thenReturn(Stream.of(pagedResponse));
+        when(pagedResponse.getValue()).thenReturn(List.of(blobItem));
+        when(blobItem.getName()).thenReturn("logs/app.log");
+        when(blobItem.getProperties()).thenReturn(properties);
+
+        try (Stream<BucketFileModel> files = azureStrategy.streamFilesFromBucket("container", "logs/")) {
+            assertEquals(List.of("logs/app.log"), files.map(BucketFileModel::getFileName).toList());
+        }
+    }
+
     @Test
     void generatePresignedUrl_Success() {
         when(blobContainerClient.getBlobClient("test.txt")).thenReturn(blobClient);
@@ -109,24 +210,29 @@ class AzureStorageAccessStrategyImplTest {
     @Test
     void downloadFile_Success() throws IOException {
         String fileName = "test.txt";
-        byte[] content = "data".getBytes();
         BlobProperties properties = mock(BlobProperties.class);
+        BlobInputStream blobInputStream = mock(BlobInputStream.class);
 
         when(blobContainerClient.getBlobClient(fileName)).thenReturn(blobClient);
         when(blobClient.exists()).thenReturn(true);
         when(blobClient.getProperties()).thenReturn(properties);
+        when(properties.getETag()).thenReturn("\"etag\"");
+        when(blobClient.openInputStream(any(BlobInputStreamOptions.class))).thenReturn(blobInputStream);
         when(properties.getContentType()).thenReturn(MediaType.TEXT_PLAIN_VALUE);
-        doAnswer(invocation -> {
-            ByteArrayOutputStream stream = invocation.getArgument(0);
-            stream.write(content);
-            return null;
-        }).when(blobClient).downloadStream(any(ByteArrayOutputStream.class));
+        when(properties.getBlobSize()).thenReturn(4L);
 
         ResourceDownloadModel model = azureStrategy.downloadFile("container", fileName);
 
         assertEquals(fileName, model.getFileName());
         assertEquals(MediaType.TEXT_PLAIN_VALUE, model.getContentType());
-        assertArrayEquals(content, ((ByteArrayResource) model.getResource()).getByteArray());
+        assertEquals(4L, model.getContentLength());
+        verify(blobClient, never()).openInputStream(any(BlobInputStreamOptions.class));
+        InputStream content = model.getContent().getInputStream();
+        verify(blobClient).openInputStream(argThat((BlobInputStreamOptions options) ->
+                "\"etag\"".equals(options.getRequestConditions().getIfMatch())));
+        assertInstanceOf(AbortableStream.class, content);
+        ((AbortableStream) content).abort();
+        verify(blobInputStream).close();
     }
 
     @Test
@@ -141,11 +247,16 @@ class AzureStorageAccessStrategyImplTest {
         MockMultipartFile file = new MockMultipartFile("file", "test.txt", "text/plain", "content".getBytes());
         when(blobContainerClient.exists()).thenReturn(true);
         when(blobContainerClient.getBlobClient("test.txt")).thenReturn(blobClient);
+        when(blobClient.uploadWithResponse(any(BlobParallelUploadOptions.class), isNull(), any(Context.class)))
+                .thenReturn(uploadResponse("0x8D"));
 
-        azureStrategy.uploadFile(file, "container");
+        BucketFileModel uploadedFile = azureStrategy.uploadFile(file, "container");
 
-        verify(blobClient).upload(any(InputStream.class), eq(file.getSize()), eq(true));
-        verify(blobClient).setHttpHeaders(any(BlobHttpHeaders.class));
+        ArgumentCaptor<BlobParallelUploadOptions> optionsCaptor = ArgumentCaptor.forClass(BlobParallelUploadOptions.class);
+        verify(blobClient).uploadWithResponse(optionsCaptor.capture(), isNull(), any(Context.class));
+        assertEquals("text/plain", optionsCaptor.getValue().getHeaders().getContentType());
+        assertEquals("0x8D", uploadedFile.getEtag());
+        verify(blobClient, never()).setHttpHeaders(any(BlobHttpHeaders.class));
     }
 
     @Test
@@ -160,4 +271,140 @@ class AzureStorageAccessStrategyImplTest {
         MockMultipartFile file = new MockMultipartFile("file", null, "text/plain", "content".getBytes());
         assertThrows(IllegalArgumentException.class, () -> azureStrategy.uploadFile(file, "container"));
     }
+
+    @Test
+    void uploadFile_AboveThreshold_StagesAndCommitsBlocks() throws IOException {
+        MockMultipartFile file = new MockMultipartFile("file", "large.bin", "application/octet-stream", new byte[8]);
+        BlockBlobClient blockBlobClient = mock(BlockBlobClient.class);
+        when(blobContainerClient.exists()).thenReturn(true);
+        when(blobContainerClient.getBlobClient("large.bin")).thenReturn(blobClient);
+        when(blobClient.getBlockBlobClient()).thenReturn(blockBlobClient);
+        when(blockBlobClient.commitBlockListWithResponse(any(BlockBlobCommitBlockListOptions.class), isNull(),
+                any(Context.class))).thenReturn(uploadResponse("0x8E"));
+        uploadInParts(2);
+
+        BucketFileModel uploadedFile = azureStrategy.uploadFile(file, "container");
+
+        ArgumentCaptor<String> blockIdCaptor = ArgumentCaptor.forClass(String.class);
+        verify(blockBlobClient, times(2)).stageBlock(blockIdCaptor.capture(), any(InputStream.class), eq(4L));
+        ArgumentCaptor<BlockBlobCommitBlockListOptions> commitCaptor =
+                ArgumentCaptor.forClass(BlockBlobCommitBlockListOptions.class);
+        verify(blockBlobClient).commitBlockListWithResponse(commitCaptor.capture(), isNull(), any(Context.class));
+        assertEquals(blockIdCaptor.getAllValues(), commitCaptor.getValue().getBase64BlockIds());
+        assertEquals(blockIdCaptor.getAllValues().get(0).length(), blockIdCaptor.getAllValues().get(1).length());
+        assertEquals("0x8E", uploadedFile.getEtag());
+        verify(blobClient, never()).uploadWithResponse(any(BlobParallelUploadOptions.class), any(), any());
+    }
+
+    @SuppressWarnings("unchecked")
+    private Response<BlockBlobItem> uploadResponse(String etag) {
+        BlockBlobItem blockBlobItem = mock(BlockBlobItem.class);
+        when(blockBlobItem.getETag()).thenReturn(etag);
+        Response<BlockBlobItem> response = mock(Response.class);
+        when(response.getValue()).thenReturn(blockBlobItem);
+        return response;
+    }
+
+    private void uploadInParts(int partCount) throws IOException {
+        when(chunkedUploadEngine.isChunked(any())).thenReturn(true);
+        when(chunkedUploadEngine.upload(any(), anyInt(), any())).thenAnswer(invocation -> {
+            PartUploader<?> partUploader = invocation.getArgument(2);
+            List<Object> parts = new ArrayList<>();
+            for (int partNumber = 1; partNumber <= partCount; partNumber++) {
+                parts.add(partUploader.uploadPart(partNumber, new byte[4], 4));
+            }
+            return parts;
+        });
+    }
+
+    @Test
+    void deleteFiles_SubmitsOneBatchAndReportsFailedBlobs() {
+        BlobBatch blobBatch = mock(BlobBatch.class);
+        when(blobBatchClient.getBlobBatch()).thenReturn(blobBatch);
+        Response<Void> deleted = batchResponse(202);
+        Response<Void> missing = failedBatchResponse(404, BlobErrorCode.BLOB_NOT_FOUND);
+        Response<Void> denied = failedBatchResponse(403, BlobErrorCode.AUTHORIZATION_FAILURE);
+        when(blobBatch.deleteBlob("container", "a.log", DeleteSnapshotsOptionType.INCLUDE, null)).thenReturn(deleted);
+        when(blobBatch.deleteBlob("container", "gone.log", DeleteSnapshotsOptionType.INCLUDE, null)).thenReturn(missing);
+        when(blobBatch.deleteBlob("container", "locked.log", DeleteSnapshotsOptionType.INCLUDE, null)).thenReturn(denied);
+
+        List<DeleteFailureModel> failures = azureStrategy.deleteFiles("container",
+                List.of("a.log", "gone.log", "locked.log"));
+
+        verify(blobBatchClient).submitBatchWithResponse(eq(blobBatch), eq(false), isNull(), any(Context.class));
+        assertEquals(1, failures.size());
+        assertEquals("locked.log", failures.getFirst().getFileName());
+        assertTrue(failures.getFirst().getError().startsWith(BlobErrorCode.AUTHORIZATION_FAILURE.toString()));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Response<Void> batchResponse(int statusCode) {
+        Response<Void> response = mock(Response.class);
+        when(response.getStatusCode()).thenReturn(statusCode);
+        return response;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Response<Void> failedBatchResponse(int statusCode, BlobErrorCode errorCode) {
+        BlobStorageException exception = mock(BlobStorageException.class);
+        when(exception.getStatusCode()).thenReturn(statusCode);
+        lenient().when(exception.getErrorCode()).thenReturn(errorCode);
+        Response<Void> response = mock(Response.class);
+        when(response.getStatusCode()).thenThrow(exception);
+        return response;
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void copyFile_WaitsForServerSideCopy() {
+        BlobContainerClient sourceContainerClient = mock(BlobContainerClient.class);
+        BlobClient sourceBlobClient = mock(BlobClient.class);
+        when(blobServiceClient.getBlobContainerClient("source-container")).thenReturn(sourceContainerClient);
+        when(sourceContainerClient.getBlobClient("a.log")).thenReturn(sourceBlobClient);
+        BlobProperties sourceProperties = mock(BlobProperties.class);
+        when(sourceBlobClient.exists()).thenReturn(true);
+        when(sourceBlobClient.getProperties()).thenReturn(sourceProperties);
+        when(sourceProperties.getETag()).thenReturn("0x7E");
+        when(sourceBlobClient.getBlobUrl()).thenReturn("https://account.blob.core.windows.net/source-container/a.log");
+        when(blobContainerClient.exists()).thenReturn(true);
+        when(blobContainerClient.getBlobClient("b.log")).thenReturn(blobClient);
+        SyncPoller<BlobCopyInfo, Void> poller = mock(SyncPoller.class);
+        PollResponse<BlobCopyInfo> completed = new PollResponse<>(LongRunningOperationStatus.SUCCESSFULLY_COMPLETED, null);
+        when(poller.waitForCompletion()).thenReturn(completed);
+        when(blobClient.beginCopy(any(BlobBeginCopyOptions.class))).thenReturn(poller);
+        BlobProperties properties = mock(BlobProperties.class);
+        when(properties.getBlobSize()).thenReturn(10L);
+        when(properties.getETag()).thenReturn("0x8F");
+        when(blobClient.getProperties()).thenReturn(properties);
+
+        BucketFileModel copiedFile = azureStrategy.copyFile("source-container", "a.log", "container", "b.log");
+
+        assertEquals("b.log", copiedFile.getFileName());
+        assertEquals("0x8F", copiedFile.getEtag());
+        assertEquals(10L, copiedFile.getFileSize());
+        verify(blobClient).beginCopy(argThat((BlobBeginCopyOptions options) ->
+                "https://account.blob.core.windows.net/source-container/a.log".equals(options.getSourceUrl())
+                        && "0x7E".equals(options.getSourceRequestConditions().getIfMatch())));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void copyFile_FailedCopy_Throws() {
+        BlobContainerClient sourceContainerClient = mock(BlobContainerClient.class);
+        BlobClient sourceBlobClient = mock(BlobClient.class);
+        when(blobServiceClient.getBlobContainerClient("source-container")).thenReturn(sourceContainerClient);
+        when(sourceContainerClient.getBlobClient("a.log")).thenReturn(sourceBlobClient);
+        BlobProperties sourceProperties = mock(BlobProperties.class);
+        when(sourceBlobClient.exists()).thenReturn(true);
+        when(sourceBlobClient.getProperties()).thenReturn(sourceProperties);
+        when(blobContainerClient.exists()).thenReturn(true);
+        when(blobContainerClient.getBlobClient("b.log")).thenReturn(blobClient);
+        SyncPoller<BlobCopyInfo, Void> poller = mock(SyncPoller.class);
+        when(poller.waitForCompletion()).thenReturn(new PollResponse<>(LongRunningOperationStatus.FAILED, null));
+        when(blobClient.beginCopy(any(BlobBeginCopyOptions.class))).thenReturn(poller);
+
+        assertThrows(IllegalStateException.class,
+                () -> azureStrategy.copyFile("source-container", "a.log", "container", "b.log"));
+        verify(blobClient, never()).getProperties();
+    }
 }
\ No newline at end of file
@@ -4,28 +4,42 @@ import br.com.jschmidt.bucket_manager_bff.enums.CloudProviderEnum;
 import br.com.jschmidt.bucket_manager_bff.exceptions.BucketNotFoundException;
 import br.com.jschmidt.bucket_manager_bff.exceptions.FileNotFoundException;
 import br.com.jschmidt.bucket_manager_bff.models.BucketFileModel;
+import br.com.jschmidt.bucket_manager_bff.models.BucketFilePageModel;
+import br.com.jschmidt.bucket_manager_bff.models.DeleteFailureModel;
+import br.com.jschmidt.bucket_manager_bff.models.FileListingRequestModel;
 import br.com.jschmidt.bucket_manager_bff.models.ResourceDownloadModel;
+import br.com.jschmidt.bucket_manager_bff.services.transfer.ChunkedUploadEngine;
+import br.com.jschmidt.bucket_manager_bff.services.transfer.PartUploader;
 import com.google.api.gax.paging.Page;
+import com.google.cloud.ReadChannel;
 import com.google.cloud.storage.*;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.core.io.ByteArrayResource;
 import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockMultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URL;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -34,6 +48,9 @@ class GcpStorageAccessStrategyImplTest {
     @Mock
     private Storage storage;
 
+    @Mock
+    private ChunkedUploadEngine chunkedUploadEngine;
+
     @InjectMocks
     private GcpStorageAccessStrategyImpl gcpStrategy;
 
@@ -70,6 +87,83 @@ class GcpStorageAccessStrategyImplTest {
         assertThrows(BucketNotFoundException.class, () -> gcpStrategy.getFilesFromBucket("non-existent"));
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    void getFilesPageFromBucket_Success() {
+        Page<Blob> blobPage = mock(Page.class);
+        Blob directory = mock(Blob.class);
+        Blob blob = mock(Blob.class);
+
+        when(storage.list(eq("test-bucket"), any(Storage.BlobListOption[].class))).thenReturn(blobPage);
+        when(blobPage.getValues()).thenReturn(List.of(directory, blob));
+        when(blobPage.getNextPageToken()).thenReturn("next-token");
+        when(directory.isDirectory()).thenReturn(true);
+        when(directory.getName()).thenReturn("logs/2025/");
+        when(blob.getName()).thenReturn("logs/app.log");
+
+        BucketFilePageModel page = gcpStrategy.getFilesPageFromBucket("test-bucket",
+                FileListingRequestModel.builder()
+                        .prefix("logs/")
+                        .delimiter("/")
+                        .pageSize(50)
+                        .continuationToken("token")
+                        .build());
+
+        assertEquals("logs/app.log", page.getFiles().getFirst().getFileName());
+        assertEquals(List.of("logs/2025/"), page.getCommonPrefixes());
+        assertEquals("next-token", page.getNextContinuationToken());
+    }
+
+    @Test
+    void getFilesPageFromBucket_WhenBucketNotFound_ThrowsException() {
+        when(storage.list(eq("non-existent"), any(Storage.BlobListOption[].class)))
+                .thenThrow(new StorageException(404, "Not Found"));
+
+        FileListingRequestModel listingRequest = FileListingRequestModel.builder().pageSize(10).build();
+        assertThrows(BucketNotFoundException.class,
+                () -> gcpStrategy.getFilesPageFromBucket("non-existent", listingRequest));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void streamFilesFromBucket_Success() {
+        Page<Blob> blobPage = mock(Page.class);
+        Blob blob = mock(Blob.class);
+
+        when(storage.list(eq("test-bucket"), any(Storage.BlobListOption[].class))).thenReturn(blobPage);
+        when(blobPage.iterateAll()).thenReturn(List.of(blob));
+        when(blob.getName()).thenReturn("logs/app.log");
+
+        try (Stream<BucketFileModel> files = gcpStrategy.streamFilesFromBucket("test-bucket", "logs/")) {
+            assertEquals(List.of("logs/app.log"), files.map(BucketFileModel::getFileName).toList());
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void listings_LeaveOutCompositeUploadParts() {
+        Page<Blob> blobPage = mock(Page.class);
+        Blob stagingDirectory = mock(Blob.class);
+        Blob part = mock(Blob.class);
+        Blob blob = mock(Blob.class);
+
+        when(storage.list(eq("test-bucket"), any(Storage.BlobListOption[].class))).thenReturn(blobPage);
+        when(blobPage.getValues()).thenReturn(List.of(stagingDirectory, blob));
+        when(blobPage.iterateAll()).thenReturn(List.of(part, blob));
+        when(stagingDirectory.getName()).thenReturn(".composite-uploads/");
+        when(part.getName()).thenReturn(".composite-uploads/1234/00001");
+        when(blob.getName()).thenReturn("app.log");
+
+        BucketFilePageModel page = gcpStrategy.getFilesPageFromBucket("test-bucket",
+                FileListingRequestModel.builder().delimiter("/").pageSize(50).build());
+
+        assertEquals(List.of("app.log"), page.getFiles().stream().map(BucketFileModel::getFileName).toList());
+        assertTrue(page.getCommonPrefixes().isEmpty());
+        try (Stream<BucketFileModel> files = gcpStrategy.streamFilesFromBucket("test-bucket", null)) {
+            assertEquals(List.of("app.log"), files.map(BucketFileModel::getFileName).toList());
+        }
+    }
+
     @Test
     void generatePresignedUrl_Success() throws Exception {
         String bucketName = "test-bucket";
@@ -90,16 +184,27 @@ class GcpStorageAccessStrategyImplTest {
         String fileName = "test.txt";
         byte[] content = "data".getBytes();
         Blob blob = mock(Blob.class);
+        ReadChannel readChannel = mock(ReadChannel.class);
 
         when(storage.get(any(BlobId.class))).thenReturn(blob);
-        when(blob.getContent()).thenReturn(content);
+        when(blob.getSize()).thenReturn((long) content.length);
         when(blob.getContentType()).thenReturn(MediaType.TEXT_PLAIN_VALUE);
+        when(blob.reader()).thenReturn(readChannel);
+        when(readChannel.read(any(ByteBuffer.class))).thenAnswer(invocation -> {
+            invocation.<ByteBuffer>getArgument(0).put(content);
+            return content.length;
+        }).thenReturn(-1);
 
         ResourceDownloadModel model = gcpStrategy.downloadFile(bucketName, fileName);
 
         assertEquals(fileName, model.getFileName());
         assertEquals(MediaType.TEXT_PLAIN_VALUE, model.getContentType());
-        assertArrayEquals(content, ((ByteArrayResource) model.getResource()).getByteArray());
+        assertEquals(content.length, model.getContentLength());
+        verify(blob, never()).reader();
+
+        try (InputStream inputStream = model.getContent().getInputStream()) {
+            assertArrayEquals(content, inputStream.readAllBytes());
+        }
     }
 
     @Test
@@ -112,15 +217,18 @@ class GcpStorageAccessStrategyImplTest {
     void uploadFile_Success() throws IOException {
         MockMultipartFile file = new MockMultipartFile("file", "test.txt", "text/plain", "content".getBytes());
         String bucketName = "test-bucket";
-        byte[] bytes = file.getBytes();
-
-        gcpStrategy.uploadFile(file, bucketName);
-
         BlobInfo blobInfo = BlobInfo.newBuilder(BlobId.of(bucketName, file.getOriginalFilename()))
                 .setContentType(file.getContentType())
                 .build();
+        Blob blob = mock(Blob.class);
+        when(blob.getName()).thenReturn("test.txt");
+        when(blob.getEtag()).thenReturn("CJjB7c2");
+        when(storage.createFrom(eq(blobInfo), any(InputStream.class))).thenReturn(blob);
 
-        storage.create(blobInfo, bytes);
+        BucketFileModel uploadedFile = gcpStrategy.uploadFile(file, bucketName);
+
+        assertEquals("test.txt", uploadedFile.getFileName());
+        assertEquals("CJjB7c2", uploadedFile.getEtag());
     }
 
     @Test
@@ -128,4 +236,102 @@ class GcpStorageAccessStrategyImplTest {
         MockMultipartFile file = new MockMultipartFile("file", null, "text/plain", "content".getBytes());
         assertThrows(IllegalArgumentException.class, () -> gcpStrategy.uploadFile(file, "bucket"));
     }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void uploadFile_AboveThreshold_ComposesPartsAndDeletesThem() throws IOException {
+        MockMultipartFile file = new MockMultipartFile("file", "large.bin", "application/octet-stream", new byte[8]);
+        uploadInParts(40);
+        Blob composedBlob = mock(Blob.class);
+        when(composedBlob.getEtag()).thenReturn("CKfB7c2");
+        when(storage.compose(any(Storage.ComposeRequest.class))).thenReturn(composedBlob);
+
+        BucketFileModel uploadedFile = gcpStrategy.uploadFile(file, "bucket");
+
+        assertEquals("CKfB7c2", uploadedFile.getEtag());
+        verify(storage, times(40)).create(any(BlobInfo.class), any(byte[].class), eq(0), eq(4));
+        ArgumentCaptor<Storage.ComposeRequest> composeCaptor = ArgumentCaptor.forClass(Storage.ComposeRequest.class);
+        verify(storage, times(3)).compose(composeCaptor.capture());
+        Storage.ComposeRequest finalCompose = composeCaptor.getAllValues().get(2);
+        assertEquals("large.bin", finalCompose.getTarget().getName());
+        assertEquals(2, finalCompose.getSourceBlobs().size());
+        ArgumentCaptor<Iterable<BlobId>> deleteCaptor = ArgumentCaptor.forClass(Iterable.class);
+        verify(storage).delete(deleteCaptor.capture());
+        assertEquals(42, ((List<BlobId>) deleteCaptor.getValue()).size());
+        verify(storage, never()).createFrom(any(BlobInfo.class), any(InputStream.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void uploadFile_WhenComposeAndCleanupFail_ReportsTheComposeFailure() throws IOException {
+        MockMultipartFile file = new MockMultipartFile("file", "large.bin", "application/octet-stream", new byte[8]);
+        uploadInParts(2);
+        when(storage.compose(any(Storage.ComposeRequest.class))).thenThrow(new StorageException(412, "Precondition"));
+        when(storage.delete(any(Iterable.class))).thenThrow(new StorageException(503, "Unavailable"));
+
+        StorageException exception = assertThrows(StorageException.class, () -> gcpStrategy.uploadFile(file, "bucket"));
+
+        assertEquals(412, exception.getCode());
+    }
+
+    private void uploadInParts(int partCount) throws IOException {
+        when(chunkedUploadEngine.isChunked(any())).thenReturn(true);
+        when(chunkedUploadEngine.upload(any(), anyInt(), any())).thenAnswer(invocation -> {
+            PartUploader<?> partUploader = invocation.getArgument(2);
+            List<Object> parts = new ArrayList<>();
+            for (int partNumber = 1; partNumber <= partCount; partNumber++) {
+                parts.add(partUploader.uploadPart(partNumber, new byte[4], 4));
+            }
+            return parts;
+        });
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void deleteFiles_SubmitsOneBatchAndReportsFailedObjects() {
+        StorageBatch storageBatch = mock(StorageBatch.class);
+        StorageBatchResult<Boolean> deleted = mock(StorageBatchResult.class);
+        StorageBatchResult<Boolean> missing = mock(StorageBatchResult.class);
+        StorageBatchResult<Boolean> denied = mock(StorageBatchResult.class);
+        when(storage.batch()).thenReturn(storageBatch);
+        when(storageBatch.delete(BlobId.of("bucket", "a.log"))).thenReturn(deleted);
+        when(storageBatch.delete(BlobId.of("bucket", "gone.log"))).thenReturn(missing);
+        when(storageBatch.delete(BlobId.of("bucket", "locked.log"))).thenReturn(denied);
+        when(deleted.get()).thenReturn(true);
+        when(missing.get()).thenReturn(false);
+        when(denied.get()).thenThrow(new StorageException(403, "Forbidden"));
+
+        List<DeleteFailureModel> failures = gcpStrategy.deleteFiles("bucket",
+                List.of("a.log", "gone.log", "locked.log"));
+
+        verify(storageBatch).submit();
+        assertEquals(1, failures.size());
+        assertEquals("locked.log", failures.getFirst().getFileName());
+        assertEquals("403: Forbidden", failures.getFirst().getError());
+    }
+
+    @Test
+    void copyFile_RewritesObjectWithinStorage() {
+        CopyWriter copyWriter = mock(CopyWriter.class);
+        Blob copiedBlob = mock(Blob.class);
+        when(copiedBlob.getName()).thenReturn("b.log");
+        when(copiedBlob.getEtag()).thenReturn("CKfB7c2");
+        when(copyWriter.getResult()).thenReturn(copiedBlob);
+        when(storage.copy(any(Storage.CopyRequest.class))).thenReturn(copyWriter);
+
+        BucketFileModel copiedFile = gcpStrategy.copyFile("source-bucket", "a.log", "bucket", "b.log");
+
+        ArgumentCaptor<Storage.CopyRequest> requestCaptor = ArgumentCaptor.forClass(Storage.CopyRequest.class);
+        verify(storage).copy(requestCaptor.capture());
+        assertEquals(BlobId.of("source-bucket", "a.log"), requestCaptor.getValue().getSource());
+        assertEquals("b.log", requestCaptor.getValue().getTarget().getName());
+        assertEquals("CKfB7c2", copiedFile.getEtag());
+    }
+
+    @Test
+    void copyFile_SourceNotFound() {
+        when(storage.copy(any(Storage.CopyRequest.class))).thenThrow(new StorageException(404, "Not Found"));
+
+        assertThrows(FileNotFoundException.class, () -> gcpStrategy.copyFile("source-bucket", "a.log", "bucket", "b.log"));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,197 @@
+package br.com.jschmidt.bucket_manager_bff.services.strategies.impl;
+
+import br.com.jschmidt.bucket_manager_bff.exceptions.BucketNotFoundException;
+import br.com.jschmidt.bucket_manager_bff.exceptions.FileNotFoundException;
+import br.com.jschmidt.bucket_manager_bff.exceptions.OperationNotSupportedException;
+import br.com.jschmidt.bucket_manager_bff.models.BucketFileModel;
+import br.com.jschmidt.bucket_manager_bff.models.BucketFilePageModel;
+import br.com.jschmidt.bucket_manager_bff.models.DeleteFailureModel;
+import br.com.jschmidt.bucket_manager_bff.models.FileListingRequestModel;
+import br.com.jschmidt.bucket_manager_bff.models.ResourceDownloadModel;
+import br.com.jschmidt.bucket_manager_bff.models.ResourceUploadModel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalStorageAccessStrategyImplTest {
+
+    @TempDir
+    Path rootDirectory;
+
+    private LocalStorageAccessStrategyImpl strategy;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Files.createDirectories(rootDirectory.resolve("bucket"));
+        Files.createDirectories(rootDirectory.resolve("backup"));
+        strategy = new LocalStorageAccessStrategyImpl(rootDirectory);
+    }
+
+    @Test
+    void uploadFile_WritesAtomicallyIntoTheBucketDirectory() throws IOException {
+        BucketFileModel uploadedFile = strategy.uploadFile(upload("logs/build.log", "content"), "bucket");
+
+        assertEquals("content", Files.readString(rootDirectory.resolve("bucket/logs/build.log")));
+        assertEquals(7L, uploadedFile.getFileSize());
+        assertNotNull(uploadedFile.getEtag());
+        try (var staged = Files.list(rootDirectory.resolve("bucket/.uploads"))) {
+            assertEquals(0, staged.count());
+        }
+    }
+
+    @Test
+    void downloadFile_ServesContentRangesAndLocalFile() throws IOException {
+        write("bucket/data.txt", "0123456789");
+
+        ResourceDownloadModel model = strategy.downloadFile("bucket", "data.txt");
+
+        assertEquals(rootDirectory.resolve("bucket/data.txt"), model.getLocalFile());
+        assertEquals(10L, model.getContentLength());
+        assertEquals("text/plain", model.getContentType());
+        try (InputStream content = model.getContent().getInputStream();
+             InputStream range = model.getRangedContent().getInputStream(2, 5)) {
+            assertEquals("0123456789", new String(content.readAllBytes(), StandardCharsets.US_ASCII));
+            assertEquals("2345", new String(range.readAllBytes(), StandardCharsets.US_ASCII));
+        }
+    }
+
+    @Test
+    void downloadFile_MissingFileOrBucket_Throws() {
+        assertThrows(FileNotFoundException.class, () -> strategy.downloadFile("bucket", "missing.txt"));
+        assertThrows(BucketNotFoundException.class, () -> strategy.downloadFile("missing", "file.txt"));
+    }
+
+    @Test
+    void fileNamesOutsideTheBucket_AreRejected() throws IOException {
+        write("backup/secret.txt", "secret");
+
+        assertThrows(IllegalArgumentException.class, () -> strategy.downloadFile("bucket", "../backup/secret.txt"));
+        assertThrows(IllegalArgumentException.class,
+                () -> strategy.downloadFile("bucket", rootDirectory.resolve("backup/secret.txt").toString()));
+        assertThrows(IllegalArgumentException.class, () -> strategy.uploadFile(upload("../escape.txt", "x"), "bucket"));
+        assertThrows(IllegalArgumentException.class, () -> strategy.getFilesFromBucket(".."));
+        assertFalse(Files.exists(rootDirectory.resolve("escape.txt")));
+    }
+
+    @Test
+    void uploadFile_WhenBodyIsShorterThanDeclared_KeepsTheExistingFile() throws IOException {
+        write("bucket/data.txt", "original");
+        ResourceUploadModel truncated = upload("data.txt", "short");
+        truncated.setContentLength(10L);
+
+        assertThrows(IllegalArgumentException.class, () -> strategy.uploadFile(truncated, "bucket"));
+
+        assertEquals("original", Files.readString(rootDirectory.resolve("bucket/data.txt")));
+        try (var staged = Files.list(rootDirectory.resolve("bucket/.uploads"))) {
+            assertEquals(0, staged.count());
+        }
+    }
+
+    @Test
+    void symbolicLinks_AreNeitherFollowedNorListed() throws IOException {
+        write("backup/secret.txt", "secret");
+        write("bucket/a.txt", "a");
+        Files.createSymbolicLink(rootDirectory.resolve("bucket/secret.txt"), rootDirectory.resolve("backup/secret.txt"));
+        Files.createSymbolicLink(rootDirectory.resolve("bucket/backup"), rootDirectory.resolve("backup"));
+
+        assertThrows(IllegalArgumentException.class, () -> strategy.downloadFile("bucket", "secret.txt"));
+        assertThrows(IllegalArgumentException.class, () -> strategy.downloadFile("bucket", "backup/secret.txt"));
+        assertThrows(IllegalArgumentException.class, () -> strategy.uploadFile(upload("backup/x.txt", "x"), "bucket"));
+        assertEquals(List.of("a.txt"), strategy.getFilesFromBucket("bucket").stream()
+                .map(BucketFileModel::getFileName)
+                .toList());
+        assertFalse(Files.exists(rootDirectory.resolve("backup/x.txt")));
+    }
+
+    @Test
+    void generatePresignedUrl_IsNotSupported() {
+        assertThrows(OperationNotSupportedException.class, () -> strategy.generatePresignedUrl("bucket", "a.txt"));
+    }
+
+    @Test
+    void getFilesFromBucket_ListsKeysInLexicographicOrder() throws IOException {
+        write("bucket/b.txt", "b");
+        write("bucket/a/z.txt", "z");
+        write("bucket/a-c.txt", "c");
+        Files.createDirectories(rootDirectory.resolve("bucket/.uploads"));
+        write("bucket/.uploads/upload-1.tmp", "partial");
+
+        List<String> fileNames = strategy.getFilesFromBucket("bucket").stream()
+                .map(BucketFileModel::getFileName)
+                .toList();
+
+        assertEquals(List.of("a-c.txt", "a/z.txt", "b.txt"), fileNames);
+    }
+
+    @Test
+    void getFilesPageFromBucket_GroupsByDelimiterAndContinues() throws IOException {
+        write("bucket/logs/2025/01.log", "1");
+        write("bucket/logs/2025/02.log", "2");
+        write("bucket/logs/2026/01.log", "3");
+        write("bucket/logs/latest.log", "4");
+
+        BucketFilePageModel firstPage = strategy.getFilesPageFromBucket("bucket", FileListingRequestModel.builder()
+                .prefix("logs/")
+                .delimiter("/")
+                .pageSize(2)
+                .build());
+        BucketFilePageModel secondPage = strategy.getFilesPageFromBucket("bucket", FileListingRequestModel.builder()
+                .prefix("logs/")
+                .delimiter("/")
+                .pageSize(2)
+                .continuationToken(firstPage.getNextContinuationToken())
+                .build());
+
+        assertEquals(List.of("logs/2025/", "logs/2026/"), firstPage.getCommonPrefixes());
+        assertTrue(firstPage.getFiles().isEmpty());
+        assertEquals("logs/2026/", firstPage.getNextContinuationToken());
+        assertEquals(List.of("logs/latest.log"), secondPage.getFiles().stream().map(BucketFileModel::getFileName).toList());
+        assertNull(secondPage.getNextContinuationToken());
+    }
+
+    @Test
+    void copyFile_CopiesAcrossBuckets() throws IOException {
+        write("bucket/report.csv", "a,b");
+
+        strategy.copyFile("bucket", "report.csv", "backup", "2025/report.csv");
+
+        assertEquals("a,b", Files.readString(rootDirectory.resolve("backup/2025/report.csv")));
+        assertThrows(FileNotFoundException.class, () -> strategy.copyFile("bucket", "missing.csv", "backup", "x.csv"));
+    }
+
+    @Test
+    void deleteFiles_RemovesFilesAndIgnoresMissingOnes() throws IOException {
+        write("bucket/a.txt", "a");
+
+        List<DeleteFailureModel> failures = strategy.deleteFiles("bucket", List.of("a.txt", "missing.txt", "../x"));
+
+        assertFalse(Files.exists(rootDirectory.resolve("bucket/a.txt")));
+        assertEquals(List.of("../x"), failures.stream().map(DeleteFailureModel::getFileName).toList());
+    }
+
+    private void write(String path, String content) throws IOException {
+        Path file = rootDirectory.resolve(path);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content);
+    }
+
+    private ResourceUploadModel upload(String fileName, String content) {
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        return ResourceUploadModel.builder()
+                .content(() -> new ByteArrayInputStream(bytes))
+                .contentLength((long) bytes.length)
+                .fileName(fileName)
+                .contentType("text/plain")
+                .build();
+    }
+}
\ No newline at end of file
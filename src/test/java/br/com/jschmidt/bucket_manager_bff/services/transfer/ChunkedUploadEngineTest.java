@@ -0,0 +1,146 @@
+package br.com.jschmidt.bucket_manager_bff.services.transfer;
+
+import br.com.jschmidt.bucket_manager_bff.models.ResourceUploadModel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChunkedUploadEngineTest {
+
+    private static final byte[] CONTENT = "0123456789".getBytes(StandardCharsets.US_ASCII);
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+    private final ChunkedUploadEngine engine =
+            new ChunkedUploadEngine(DataSize.ofBytes(5), DataSize.ofBytes(3), 2, 3, executor);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void isChunked_OnlyAboveThreshold() {
+        assertFalse(engine.isChunked(upload(new byte[5])));
+        assertTrue(engine.isChunked(upload(new byte[6])));
+    }
+
+    @Test
+    void upload_SplitsContentIntoOrderedPartsWithinConcurrencyLimit() throws IOException {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maximumRunning = new AtomicInteger();
+
+        List<String> parts = engine.upload(upload(CONTENT), 10, (partNumber, buffer, length) -> {
+            maximumRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(20);
+                return partNumber + ":" + new String(buffer, 0, length, StandardCharsets.US_ASCII);
+            } catch (InterruptedException e) {
+                throw new IOException(e);
+            } finally {
+                running.decrementAndGet();
+            }
+        });
+
+        assertEquals(List.of("1:012", "2:345", "3:678", "4:9"), parts);
+        assertTrue(maximumRunning.get() <= 2);
+    }
+
+    @Test
+    void upload_WhenPartFails_RethrowsFailureAndReleasesBuffers() throws IOException {
+        IOException exception = assertThrows(IOException.class, () ->
+                engine.upload(upload(CONTENT), 10, (partNumber, buffer, length) -> {
+                    if (partNumber == 2) {
+                        throw new IOException("part failed");
+                    }
+                    return partNumber;
+                }));
+        assertEquals("part failed", exception.getMessage());
+
+        // Every buffer must be back in the pool, otherwise this upload would block forever.
+        assertEquals(List.of(1, 2, 3, 4), engine.upload(upload(CONTENT), 10, (partNumber, buffer, length) -> partNumber));
+    }
+
+    @Test
+    void copy_SplitsRangesIntoOrderedPartsWithinConcurrencyLimit() throws IOException {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maximumRunning = new AtomicInteger();
+
+        List<String> parts = engine.copy("file.bin", 10, 4, (partNumber, start, end) -> {
+            maximumRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(20);
+                return partNumber + ":" + start + "-" + end;
+            } catch (InterruptedException e) {
+                throw new IOException(e);
+            } finally {
+                running.decrementAndGet();
+            }
+        });
+
+        assertEquals(List.of("1:0-3", "2:4-7", "3:8-9"), parts);
+        assertTrue(maximumRunning.get() <= 2);
+    }
+
+    @Test
+    void copy_WhenPartFails_WaitsForRunningPartsAndRethrows() {
+        AtomicInteger running = new AtomicInteger();
+
+        IOException exception = assertThrows(IOException.class, () ->
+                engine.copy("file.bin", 10, 2, (partNumber, start, end) -> {
+                    running.incrementAndGet();
+                    try {
+                        if (partNumber == 2) {
+                            throw new IOException("part failed");
+                        }
+                        Thread.sleep(20);
+                        return partNumber;
+                    } catch (InterruptedException e) {
+                        throw new IOException(e);
+                    } finally {
+                        running.decrementAndGet();
+                    }
+                }));
+
+        assertEquals("part failed", exception.getMessage());
+        assertEquals(0, running.get());
+    }
+
+    @Test
+    void upload_WhenPartLimitIsExceeded_UsesLargerParts() throws IOException {
+        List<String> parts = engine.upload(upload(CONTENT), 2, (partNumber, buffer, length) ->
+                new String(buffer, 0, length, StandardCharsets.US_ASCII));
+
+        assertEquals(List.of("01234", "56789"), parts);
+        // The larger buffers are not pooled, the next upload gets default sized parts again.
+        assertEquals(4, engine.upload(upload(CONTENT), 10, (partNumber, buffer, length) -> partNumber).size());
+    }
+
+    @Test
+    void upload_WhenBodyIsShorterThanDeclared_Throws() {
+        ResourceUploadModel truncated = upload(CONTENT);
+        truncated.setContentLength(CONTENT.length + 5);
+
+        IOException exception = assertThrows(IOException.class,
+                () -> engine.upload(truncated, 10, (partNumber, buffer, length) -> partNumber));
+
+        assertEquals("Upload of file.bin has 10 bytes, expected 15", exception.getMessage());
+    }
+
+    private ResourceUploadModel upload(byte[] content) {
+        return ResourceUploadModel.builder()
+                .content(() -> new ByteArrayInputStream(content))
+                .contentLength(content.length)
+                .fileName("file.bin")
+                .build();
+    }
+}
@@ -0,0 +1,82 @@
+package br.com.jschmidt.bucket_manager_bff.services.transfer;
+
+import br.com.jschmidt.bucket_manager_bff.models.RangedInputStreamSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelRangedInputStreamTest {
+
+    private static final byte[] CONTENT = "abcdefghijklmnopqrstuvwxyz".getBytes(StandardCharsets.US_ASCII);
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+    private final List<String> requestedRanges = new CopyOnWriteArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void read_StitchesChunksInOrderEvenWhenTheyCompleteOutOfOrder() throws IOException {
+        RangedInputStreamSource source = (start, end) -> {
+            requestedRanges.add(start + "-" + end);
+            sleep(start % 3 == 0 ? 30 : 0);
+            return new ByteArrayInputStream(Arrays.copyOfRange(CONTENT, (int) start, (int) end + 1));
+        };
+
+        try (InputStream inputStream = new ParallelRangedInputStream(source, CONTENT.length, 4, 3, executor)) {
+            assertArrayEquals(CONTENT, inputStream.readAllBytes());
+        }
+        assertEquals(7, requestedRanges.size());
+        assertTrue(requestedRanges.contains("24-25"));
+    }
+
+    @Test
+    void constructor_OnlyFetchesTheWindowAhead() throws IOException {
+        AtomicInteger opened = new AtomicInteger();
+        RangedInputStreamSource source = (start, end) -> {
+            opened.incrementAndGet();
+            return new ByteArrayInputStream(Arrays.copyOfRange(CONTENT, (int) start, (int) end + 1));
+        };
+
+        try (InputStream inputStream = new ParallelRangedInputStream(source, CONTENT.length, 4, 2, executor)) {
+            assertEquals('a', inputStream.read());
+            sleep(50);
+            assertEquals(3, opened.get());
+        }
+    }
+
+    @Test
+    void read_WhenProviderReturnsShortRange_ThrowsEofException() {
+        RangedInputStreamSource source = (start, end) ->
+                new ByteArrayInputStream(Arrays.copyOfRange(CONTENT, (int) start, (int) end));
+
+        assertThrows(EOFException.class, () -> {
+            try (InputStream inputStream = new ParallelRangedInputStream(source, CONTENT.length, 4, 2, executor)) {
+                inputStream.readAllBytes();
+            }
+        });
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package br.com.jschmidt.bucket_manager_bff.services.transfer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WindowedStreamsTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(8);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void mapConcurrently_EmitsResultsInSourceOrder() {
+        try (Stream<Integer> results = WindowedStreams.mapConcurrently(IntStream.range(0, 20).boxed(), 4, executor,
+                element -> {
+                    sleep(ThreadLocalRandom.current().nextInt(10));
+                    return element * 2;
+                })) {
+            assertEquals(IntStream.range(0, 20).map(element -> element * 2).boxed().toList(), results.toList());
+        }
+    }
+
+    @Test
+    void mapConcurrently_KeepsAtMostTheWindowInFlight() {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maximumRunning = new AtomicInteger();
+
+        try (Stream<Integer> results = WindowedStreams.mapConcurrently(IntStream.range(0, 20).boxed(), 3, executor,
+                element -> {
+                    maximumRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    sleep(10);
+                    running.decrementAndGet();
+                    return element;
+                })) {
+            assertEquals(20, results.count());
+        }
+
+        assertTrue(maximumRunning.get() <= 3);
+        assertTrue(maximumRunning.get() > 1);
+    }
+
+    @Test
+    void mapConcurrently_WhenMapperFails_PropagatesTheFailure() {
+        try (Stream<Integer> results = WindowedStreams.mapConcurrently(Stream.of(1, 2, 3), 2, executor,
+                element -> {
+                    if (element == 2) {
+                        throw new IllegalStateException("element failed");
+                    }
+                    return element;
+                })) {
+            CompletionException exception = assertThrows(CompletionException.class, results::toList);
+            assertInstanceOf(IllegalStateException.class, exception.getCause());
+            assertEquals("element failed", exception.getCause().getMessage());
+        }
+    }
+
+    @Test
+    void mapConcurrently_OnClose_ClosesTheSourceAndSkipsQueuedElements() {
+        AtomicBoolean sourceClosed = new AtomicBoolean();
+        AtomicInteger mapped = new AtomicInteger();
+        Stream<Integer> source = IntStream.range(0, 100).boxed().onClose(() -> sourceClosed.set(true));
+
+        try (Stream<Integer> results = WindowedStreams.mapConcurrently(source, 2, executor, element -> {
+            mapped.incrementAndGet();
+            return element;
+        })) {
+            assertEquals(List.of(0, 1), results.limit(2).toList());
+        }
+
+        assertTrue(sourceClosed.get());
+        assertTrue(mapped.get() <= 4);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
\ No newline at end of file